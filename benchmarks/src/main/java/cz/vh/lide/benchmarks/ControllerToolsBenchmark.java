@@ -0,0 +1,94 @@
+package cz.vh.lide.benchmarks;
+
+import cz.vh.lide.ws.controller.tools.ControllerTools;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * List-endpoint helpers of {@link ControllerTools}: sort parsing and `Link` pagination headers.
+ * <p>
+ * The headers are built from the current request, so each benchmark thread binds a mock
+ * {@code GET /api/persons?page=3&size=20&sort=lastName,asc} request to its request context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerToolsBenchmark {
+
+  private static final int SIZE = 20;
+
+  private final List<String> singleSort = List.of("lastName,asc");
+  private final List<String> multiSort = List.of("lastName,asc", "firstName,desc", " birthDate ");
+  private Page<String> middlePage;
+  private Page<String> firstPage;
+  private Slice<String> slice;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var request = new MockHttpServletRequest("GET", "/api/persons");
+    request.setQueryString("page=3&size=20&sort=lastName,asc");
+    request.addParameter("page", "3");
+    request.addParameter("size", "20");
+    request.addParameter("sort", "lastName,asc");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    middlePage = new PageImpl<>(List.of(), PageRequest.of(3, SIZE), 1_000);
+    firstPage = new PageImpl<>(List.of(), PageRequest.of(0, SIZE), 1_000);
+    slice = new SliceImpl<>(List.of(), PageRequest.of(3, SIZE), true);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public Sort parseSortSingle() {
+    return ControllerTools.parseSort(singleSort);
+  }
+
+  @Benchmark
+  public Sort parseSortMulti() {
+    return ControllerTools.parseSort(multiSort);
+  }
+
+  @Benchmark
+  public HttpHeaders pageHeadersFirst() {
+    return ControllerTools.buildPaginationHeaders(firstPage, SIZE);
+  }
+
+  @Benchmark
+  public HttpHeaders pageHeadersMiddle() {
+    return ControllerTools.buildPaginationHeaders(middlePage, SIZE);
+  }
+
+  @Benchmark
+  public HttpHeaders sliceHeaders() {
+    return ControllerTools.buildPaginationHeaders(slice, SIZE, 1_000L);
+  }
+}
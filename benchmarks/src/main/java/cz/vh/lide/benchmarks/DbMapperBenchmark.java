@@ -0,0 +1,125 @@
+package cz.vh.lide.benchmarks;
+
+import cz.vh.lide.db.dto.EntryDto;
+import cz.vh.lide.db.dto.PersonDto;
+import cz.vh.lide.db.dto.PersonTagDto;
+import cz.vh.lide.db.entity.Entry;
+import cz.vh.lide.db.entity.EntryTag;
+import cz.vh.lide.db.entity.MediaEntry;
+import cz.vh.lide.db.entity.Person;
+import cz.vh.lide.db.entity.PersonEntry;
+import cz.vh.lide.db.entity.PersonRelation;
+import cz.vh.lide.db.entity.PersonTag;
+import cz.vh.lide.db.entity.Tag;
+import cz.vh.lide.db.mapper.DbMapper;
+import cz.vh.lide.db.mapper.DbMapperImpl;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MapStruct entity to DTO mappings ({@link DbMapper}) as used by detail and list endpoints:
+ * one aggregate with shallow link lists, a page of such aggregates, and a bare shallow list.
+ * <p>
+ * {@code links} is the number of links per collection of each mapped entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DbMapperBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  @Param({"0", "10", "100"})
+  public int links;
+
+  private final DbMapper mapper = new DbMapperImpl();
+  private Person person;
+  private Entry entry;
+  private List<Person> page;
+
+  @Setup
+  public void setup() {
+    person = person(0);
+    entry = entry();
+    page = new ArrayList<>(PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      page.add(person(i));
+    }
+  }
+
+  @Benchmark
+  public PersonDto personDto() {
+    return mapper.toPersonDto(person);
+  }
+
+  @Benchmark
+  public EntryDto entryDto() {
+    return mapper.toEntryDto(entry);
+  }
+
+  @Benchmark
+  public PersonDto personShallowDto() {
+    return mapper.toPersonShallowDto(person);
+  }
+
+  @Benchmark
+  public List<PersonDto> personPage() {
+    return page.stream().map(mapper::toPersonDto).toList();
+  }
+
+  @Benchmark
+  public List<PersonTagDto> personTagShallowList() {
+    return mapper.toPersonTagDtoList(person.getPersonTags());
+  }
+
+  private Person person(int index) {
+    var result = new Person(UUID.randomUUID(), "Jan" + index, "Novák", "honza",
+        LocalDate.of(1980, 1, 1).plusDays(index), "+420 777 000 000", "jan" + index + "@example.cz",
+        "note", null, null, null, null);
+    var other = new Person(UUID.randomUUID(), "Eva", "Nová", null, null, null, null, null,
+        null, null, null, null);
+    var tag = new Tag(UUID.randomUUID(), "rodina", null, null);
+    var target = new Entry(UUID.randomUUID(), "note", "title", "content", Instant.now(), null, null, null);
+    for (int i = 0; i < links; i++) {
+      result.getPersonEntries().add(new PersonEntry(UUID.randomUUID(), "author", result, target));
+      result.getPersonTags().add(new PersonTag(UUID.randomUUID(), result, tag));
+      result.getRelationsOut().add(new PersonRelation(UUID.randomUUID(), "friend", null,
+          LocalDate.of(2000, 1, 1), null, result, other));
+      result.getRelationsIn().add(new PersonRelation(UUID.randomUUID(), "sibling", null,
+          null, null, other, result));
+    }
+    return result;
+  }
+
+  private Entry entry() {
+    var result = new Entry(UUID.randomUUID(), "note", "title", "content ".repeat(50), Instant.now(),
+        null, null, null);
+    var author = new Person(UUID.randomUUID(), "Jan", "Novák", null, null, null, null, null,
+        null, null, null, null);
+    var tag = new Tag(UUID.randomUUID(), "rodina", null, null);
+    for (int i = 0; i < links; i++) {
+      result.getEntryTags().add(new EntryTag(UUID.randomUUID(), result, tag));
+      result.getPersonEntries().add(new PersonEntry(UUID.randomUUID(), "author", author, result));
+      result.getMediaEntries().add(new MediaEntry(UUID.randomUUID(), "caption", i, null, result));
+    }
+    return result;
+  }
+}
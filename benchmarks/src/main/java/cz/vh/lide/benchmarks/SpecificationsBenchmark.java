@@ -0,0 +1,205 @@
+package cz.vh.lide.benchmarks;
+
+import cz.vh.lide.db.entity.Entry;
+import cz.vh.lide.db.entity.EntryTag;
+import cz.vh.lide.db.entity.Media;
+import cz.vh.lide.db.entity.MediaEntry;
+import cz.vh.lide.db.entity.Person;
+import cz.vh.lide.db.entity.PersonEntry;
+import cz.vh.lide.db.entity.PersonRelation;
+import cz.vh.lide.db.entity.PersonTag;
+import cz.vh.lide.db.entity.Tag;
+import cz.vh.lide.db.filter.EntryFilter;
+import cz.vh.lide.db.filter.EntryTagFilter;
+import cz.vh.lide.db.filter.MediaEntryFilter;
+import cz.vh.lide.db.filter.MediaFilter;
+import cz.vh.lide.db.filter.PersonEntryFilter;
+import cz.vh.lide.db.filter.PersonFilter;
+import cz.vh.lide.db.filter.PersonRelationFilter;
+import cz.vh.lide.db.filter.PersonTagFilter;
+import cz.vh.lide.db.filter.TagFilter;
+import cz.vh.lide.db.specification.EntrySpecifications;
+import cz.vh.lide.db.specification.EntryTagSpecifications;
+import cz.vh.lide.db.specification.MediaEntrySpecifications;
+import cz.vh.lide.db.specification.MediaSpecifications;
+import cz.vh.lide.db.specification.PersonEntrySpecifications;
+import cz.vh.lide.db.specification.PersonRelationSpecifications;
+import cz.vh.lide.db.specification.PersonSpecifications;
+import cz.vh.lide.db.specification.PersonTagSpecifications;
+import cz.vh.lide.db.specification.TagSpecifications;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.SelectionQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@code *Specifications.build} with filters as the list endpoints pass them (text search, ranges,
+ * id lists), rendered the way the repositories do it: {@code toPredicate} against a Hibernate
+ * CriteriaBuilder and CriteriaQuery, then {@code createSelectionQuery} (copy and validation of the SQM tree).
+ * <p>
+ * The session factory maps the application entities on an in-memory H2 database without schema;
+ * nothing is executed, so SQL translation (done on the first execution) is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpecificationsBenchmark {
+
+  private SessionFactory sessionFactory;
+  private Session session;
+  private CriteriaBuilder cb;
+  private PersonFilter personFilter;
+  private PersonFilter personTextFilter;
+  private EntryFilter entryFilter;
+  private TagFilter tagFilter;
+  private MediaFilter mediaFilter;
+  private PersonRelationFilter personRelationFilter;
+  private PersonEntryFilter personEntryFilter;
+  private PersonTagFilter personTagFilter;
+  private EntryTagFilter entryTagFilter;
+  private MediaEntryFilter mediaEntryFilter;
+
+  @Setup
+  public void setup() {
+    sessionFactory = new Configuration()
+        .addAnnotatedClass(Person.class)
+        .addAnnotatedClass(Entry.class)
+        .addAnnotatedClass(Tag.class)
+        .addAnnotatedClass(Media.class)
+        .addAnnotatedClass(PersonRelation.class)
+        .addAnnotatedClass(PersonEntry.class)
+        .addAnnotatedClass(PersonTag.class)
+        .addAnnotatedClass(EntryTag.class)
+        .addAnnotatedClass(MediaEntry.class)
+        .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:specifications")
+        .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+        .setProperty(AvailableSettings.HBM2DDL_AUTO, "none")
+        .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+        .buildSessionFactory();
+    session = sessionFactory.openSession();
+    cb = session.getCriteriaBuilder();
+
+    var ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    personFilter = PersonFilter.builder()
+        .firstNameContains("Jan")
+        .lastNameContains("Nov_k")
+        .emailContains("@example.cz")
+        .bornFrom(LocalDate.of(1950, 1, 1))
+        .bornTo(LocalDate.of(2000, 12, 31))
+        .build();
+    personTextFilter = PersonFilter.builder().textContains(" Novák ").build();
+    entryFilter = EntryFilter.builder()
+        .type("note")
+        .textContains("sněžka")
+        .occurredFrom(Instant.parse("2020-01-01T00:00:00Z"))
+        .occurredTo(Instant.parse("2024-01-01T00:00:00Z"))
+        .build();
+    tagFilter = TagFilter.builder().nameContains("rodina").build();
+    mediaFilter = MediaFilter.builder()
+        .mediaType("photo")
+        .titleContains("dovolená")
+        .takenFrom(Instant.parse("2020-01-01T00:00:00Z"))
+        .build();
+    personRelationFilter = PersonRelationFilter.builder()
+        .fromPersonId(ids.get(0))
+        .types(List.of("friend", "sibling"))
+        .build();
+    personEntryFilter = PersonEntryFilter.builder().personIds(ids).role("author").build();
+    personTagFilter = PersonTagFilter.builder().personId(ids.get(0)).build();
+    entryTagFilter = EntryTagFilter.builder().tagIds(ids).build();
+    mediaEntryFilter = MediaEntryFilter.builder().entryId(ids.get(0)).build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    session.close();
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public SelectionQuery<Person> personNoFilter() {
+    return render(Person.class, PersonSpecifications.build(null));
+  }
+
+  @Benchmark
+  public SelectionQuery<Person> person() {
+    return render(Person.class, PersonSpecifications.build(personFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<Person> personText() {
+    return render(Person.class, PersonSpecifications.build(personTextFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<Entry> entry() {
+    return render(Entry.class, EntrySpecifications.build(entryFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<Tag> tag() {
+    return render(Tag.class, TagSpecifications.build(tagFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<Media> media() {
+    return render(Media.class, MediaSpecifications.build(mediaFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<PersonRelation> personRelation() {
+    return render(PersonRelation.class, PersonRelationSpecifications.build(personRelationFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<PersonEntry> personEntry() {
+    return render(PersonEntry.class, PersonEntrySpecifications.build(personEntryFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<PersonTag> personTag() {
+    return render(PersonTag.class, PersonTagSpecifications.build(personTagFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<EntryTag> entryTag() {
+    return render(EntryTag.class, EntryTagSpecifications.build(entryTagFilter));
+  }
+
+  @Benchmark
+  public SelectionQuery<MediaEntry> mediaEntry() {
+    return render(MediaEntry.class, MediaEntrySpecifications.build(mediaEntryFilter));
+  }
+
+  private <T> SelectionQuery<T> render(Class<T> type, Specification<T> spec) {
+    var query = cb.createQuery(type);
+    var root = query.from(type);
+    var predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    return session.createSelectionQuery(query.select(root));
+  }
+}
@@ -0,0 +1,50 @@
+package cz.vh.lide.benchmarks;
+
+import cz.vh.lide.core.tools.StringNormalization;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link StringNormalization#normalize(String)} on tag-name sized and text-sized input.
+ * <p>
+ * {@code input}: {@code clean} (already normalized), {@code messy} (padding, upper case, repeated
+ * whitespace), {@code text} (a paragraph with line breaks).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringNormalizationBenchmark {
+
+  @Param({"clean", "messy", "text"})
+  public String input;
+
+  private String value;
+
+  @Setup
+  public void setup() {
+    value = switch (input) {
+      case "clean" -> "rodina a přátelé";
+      case "messy" -> "   Rodina \t a   PŘÁTELÉ  ";
+      case "text" -> "Výlet  na Sněžku,\n\tspolu s  Evou a Janem. ".repeat(20);
+      default -> throw new IllegalArgumentException("Unknown input: " + input);
+    };
+  }
+
+  @Benchmark
+  public String normalize() {
+    return StringNormalization.normalize(value);
+  }
+}
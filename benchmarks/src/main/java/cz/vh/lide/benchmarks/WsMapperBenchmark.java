@@ -0,0 +1,120 @@
+package cz.vh.lide.benchmarks;
+
+import cz.vh.lide.db.dto.EntryDto;
+import cz.vh.lide.db.dto.PersonDto;
+import cz.vh.lide.db.dto.TagDto;
+import cz.vh.lide.ws.dto.BindingDtos;
+import cz.vh.lide.ws.dto.EntryDtos;
+import cz.vh.lide.ws.dto.PersonDtos;
+import cz.vh.lide.ws.dto.TagDtos;
+import cz.vh.lide.ws.mapper.WsMapper;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Web-layer conversions ({@link WsMapper}): DTO to view for list responses and create requests
+ * with inline bindings to DTO.
+ * <p>
+ * {@code links} is the number of inline bindings per collection of each create request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WsMapperBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  @Param({"0", "10", "100"})
+  public int links;
+
+  private List<PersonDto> page;
+  private EntryDto entryDto;
+  private PersonDtos.PersonCreate personCreate;
+  private EntryDtos.EntryCreate entryCreate;
+  private TagDtos.TagCreate tagCreate;
+
+  @Setup
+  public void setup() {
+    page = new ArrayList<>(PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      page.add(PersonDto.builder()
+          .id(UUID.randomUUID())
+          .firstName("Jan" + i)
+          .lastName("Novák")
+          .birthDate(LocalDate.of(1980, 1, 1).plusDays(i))
+          .email("jan" + i + "@example.cz")
+          .build());
+    }
+    entryDto = EntryDto.builder()
+        .id(UUID.randomUUID())
+        .type("note")
+        .title("title")
+        .content("content ".repeat(50))
+        .occurredAt(Instant.now())
+        .build();
+
+    var personId = UUID.randomUUID();
+    var entryId = UUID.randomUUID();
+    var personEntries = new ArrayList<BindingDtos.PersonEntryCreate>();
+    var personTags = new ArrayList<BindingDtos.PersonTagCreate>();
+    var relations = new ArrayList<BindingDtos.PersonRelationCreate>();
+    var entryTags = new ArrayList<BindingDtos.EntryTagCreate>();
+    var mediaEntries = new ArrayList<BindingDtos.MediaEntryCreate>();
+    for (int i = 0; i < links; i++) {
+      personEntries.add(new BindingDtos.PersonEntryCreate(personId, UUID.randomUUID(), "author"));
+      personTags.add(new BindingDtos.PersonTagCreate(personId, UUID.randomUUID()));
+      relations.add(new BindingDtos.PersonRelationCreate(personId, UUID.randomUUID(), "friend", null,
+          LocalDate.of(2000, 1, 1), null));
+      entryTags.add(new BindingDtos.EntryTagCreate(entryId, UUID.randomUUID()));
+      mediaEntries.add(new BindingDtos.MediaEntryCreate(UUID.randomUUID(), entryId, "caption", i));
+    }
+    personCreate = new PersonDtos.PersonCreate("Jan", "Novák", "honza", LocalDate.of(1980, 1, 1),
+        "+420 777 000 000", "jan@example.cz", "note", personEntries, personTags, relations, relations);
+    entryCreate = new EntryDtos.EntryCreate("note", "title", "content", Instant.now(),
+        entryTags, personEntries, mediaEntries);
+    tagCreate = new TagDtos.TagCreate("  Rodina   a  Přátelé ", entryTags, personTags);
+  }
+
+  @Benchmark
+  public List<PersonDtos.PersonView> personViewPage() {
+    return page.stream().map(WsMapper::toPersonView).toList();
+  }
+
+  @Benchmark
+  public EntryDtos.EntryView entryView() {
+    return WsMapper.toEntryView(entryDto);
+  }
+
+  @Benchmark
+  public PersonDto personCreate() {
+    return WsMapper.toPersonDto(personCreate);
+  }
+
+  @Benchmark
+  public EntryDto entryCreate() {
+    return WsMapper.toEntryDto(entryCreate);
+  }
+
+  @Benchmark
+  public TagDto tagCreate() {
+    return WsMapper.toTagDto(tagCreate);
+  }
+}
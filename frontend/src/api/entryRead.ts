@@ -1,4 +1,4 @@
-import { apiGet } from "./http";
+import { apiGet, apiPostJson } from "./http";
 import { API_ENDPOINTS } from "@/lib/constants";
 import type { TagDto } from "./tags";
 
@@ -45,3 +45,11 @@ export type EntryDetailView = {
 export function getEntryDetail(entryId: string) {
   return apiGet<EntryDetailView>(`${API_ENDPOINTS.ENTRY_READ}/${entryId}`);
 }
+
+/**
+ * Gets detailed entry views for many ids in one request (max 200 ids).
+ * Missing or deleted entries are omitted; order follows `entryIds`.
+ */
+export function getEntryDetailBatch(entryIds: string[]) {
+  return apiPostJson<EntryDetailView[]>(`${API_ENDPOINTS.ENTRY_READ}/batch`, entryIds);
+}
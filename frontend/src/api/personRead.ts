@@ -1,4 +1,4 @@
-import { apiGet } from "./http";
+import { apiGet, apiPostJson } from "./http";
 
 export type TagDto = { id: string; name: string };
 
@@ -41,3 +41,11 @@ export type PersonRead = {
 export function getPersonRead(personId: string) {
   return apiGet<PersonRead>(`/api/personread/${personId}`);
 }
+
+/**
+ * Loads person read views for many ids in one request (max 200 ids).
+ * Missing or deleted persons are omitted; order follows `personIds`.
+ */
+export function getPersonReadBatch(personIds: string[]) {
+  return apiPostJson<PersonRead[]>(`/api/personread/batch`, personIds);
+}
@@ -0,0 +1,21 @@
+import { apiGet } from "./http";
+
+export type SearchType = "person" | "entry" | "media" | "tag";
+
+export type SearchHit = {
+  type: SearchType;
+  id: string;
+  title?: string | null;
+  snippet?: string | null; // bezpečné HTML: text escapovaný na serveru, shoda zvýrazněná pomocí <b>...</b>
+  rank: number;
+};
+
+/**
+ * Global ranked search across persons, entries, media and tags in one request.
+ * Every word of `q` must match as a prefix; `types` narrows the searched entities.
+ */
+export function searchAll(q: string, limit = 20, types?: SearchType[]) {
+  const params = new URLSearchParams({ q, limit: String(limit) });
+  types?.forEach((t) => params.append("types", t));
+  return apiGet<SearchHit[]>(`/api/search?${params.toString()}`);
+}
@@ -0,0 +1,150 @@
+package cz.vh.lide.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Closed-loop HTTP driver shared by the load tests: {@code concurrency} clients (one virtual
+ * thread each) send GET requests back to back; latencies of successful responses after the
+ * warm-up are recorded.
+ */
+final class ClosedLoop {
+
+  private ClosedLoop() {
+  }
+
+  /** Creates the HTTP client used by all drivers. */
+  static HttpClient client() {
+    return HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+  }
+
+  /**
+   * Runs one measurement.
+   *
+   * @param client HTTP client
+   * @param targets picks the next request URI; gets the client's own random generator
+   * @param concurrency number of clients
+   * @param warmup phase whose results are discarded
+   * @param duration measured phase
+   * @param seed base seed; client {@code i} uses {@code seed + i}, so target sequences are repeatable
+   *
+   * @return sorted latencies and error count of the measured phase
+   */
+  static Result run(HttpClient client, Function<SplittableRandom, URI> targets, int concurrency,
+      Duration warmup, Duration duration, long seed) {
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long measureTo = measureFrom + duration.toNanos();
+    var errors = new AtomicLong();
+    var recorders = new ArrayList<LatencyRecorder>();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        var recorder = new LatencyRecorder();
+        var random = new SplittableRandom(seed + i);
+        recorders.add(recorder);
+        clients.execute(() -> loop(client, targets, random, recorder, errors, measureFrom, measureTo));
+      }
+    }
+    return new Result(LatencyRecorder.merge(recorders), errors.get(), duration);
+  }
+
+  private static void loop(HttpClient client, Function<SplittableRandom, URI> targets,
+      SplittableRandom random, LatencyRecorder recorder, AtomicLong errors, long measureFrom, long measureTo) {
+    while (true) {
+      var request = HttpRequest.newBuilder(targets.apply(random))
+          .timeout(Duration.ofSeconds(30))
+          .GET()
+          .build();
+      long sent = System.nanoTime();
+      if (sent >= measureTo) {
+        return;
+      }
+      boolean ok;
+      try {
+        ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+      } catch (IOException e) {
+        ok = false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (sent >= measureFrom) {
+        if (ok) {
+          recorder.record(System.nanoTime() - sent);
+        } else {
+          errors.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  /**
+   * Outcome of one measurement.
+   *
+   * @param latencies sorted latencies of successful requests in nanoseconds
+   * @param errors failed requests (non-200 status or I/O error)
+   * @param duration measured phase
+   */
+  record Result(long[] latencies, long errors, Duration duration) {
+
+    double throughput() {
+      return latencies.length / (duration.toNanos() / 1e9);
+    }
+
+    /** Latency percentile in milliseconds (nearest rank). */
+    double percentile(double quantile) {
+      if (latencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(quantile * latencies.length) - 1;
+      return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+    }
+
+    String summary() {
+      return "requests=%d errors=%d throughput=%.1f req/s p50=%.1f p90=%.1f p99=%.1f max=%.1f ms".formatted(
+          latencies.length, errors, throughput(),
+          percentile(0.50), percentile(0.90), percentile(0.99), percentile(1.0));
+    }
+  }
+
+  /** Latencies of one client thread; merged after the run. */
+  static final class LatencyRecorder {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = nanos;
+    }
+
+    static long[] merge(List<LatencyRecorder> recorders) {
+      long[] all = new long[recorders.stream().mapToInt(r -> r.size).sum()];
+      int offset = 0;
+      for (var recorder : recorders) {
+        System.arraycopy(recorder.values, 0, all, offset, recorder.size);
+        offset += recorder.size;
+      }
+      Arrays.sort(all);
+      return all;
+    }
+  }
+}
@@ -0,0 +1,462 @@
+package cz.vh.lide.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Loads a synthetic, production-sized dataset with {@code COPY ... FROM STDIN} into a database
+ * whose schema was created by the application's Liquibase changelogs.
+ * <p>
+ * Link fan-out follows a power law: the number of links per source row is drawn from a discrete
+ * Pareto distribution ({@code alpha}), and link targets are skewed towards low indexes, so a few
+ * persons, entries and tags are hot while most have a handful of links. Output is deterministic
+ * for a given {@code seed} and row counts.
+ * <p>
+ * Entity tables are loaded in parallel, then the link tables in parallel, each table by one
+ * {@code COPY} on its own connection. Afterwards {@code search_document} is rebuilt with the backfill
+ * statement read from the application's changelog 006 (so both stay one definition) and the tables
+ * are analyzed.
+ * <p>
+ * Arguments ({@code --name=value}): {@code jdbcUrl} (jdbc:postgresql://localhost:5433/db_lide),
+ * {@code user} (app_lide), {@code password} (change_me), {@code persons} (1000000),
+ * {@code entries} (2 x persons), {@code media} (persons / 2), {@code tags} (2000),
+ * {@code alpha} (2.5), {@code seed} (42), {@code truncate} (false; required to load into a
+ * non-empty database), {@code changelog} (src/main/resources/db/changelog/006-search-document.yaml).
+ */
+public final class DataGenerator {
+
+  static final String[] WORDS = {
+      "výlet", "hory", "sněžka", "chata", "léto", "zima", "moře", "škola", "práce", "rodina",
+      "narozeniny", "svatba", "oslava", "dovolená", "babička", "děda", "recept", "koláč", "zahrada", "pes",
+      "kočka", "kolo", "běh", "fotbal", "koncert", "divadlo", "kino", "kniha", "město", "vesnice",
+      "praha", "brno", "ostrava", "plzeň", "olomouc", "řeka", "les", "houby", "ryby", "pivo",
+      "vánoce", "velikonoce", "silvestr", "návštěva", "stěhování",
+      "nemocnice", "maturita", "promoce", "auto", "vlak"};
+
+  private static final String[] FIRST_NAMES = {
+      "Jan", "Petr", "Pavel", "Martin", "Tomáš", "Jiří", "Josef", "Lukáš", "Jakub", "David",
+      "Marie", "Jana", "Eva", "Hana", "Anna", "Lenka", "Kateřina", "Lucie", "Věra", "Alena"};
+
+  private static final String[] LAST_NAMES = {
+      "Novák", "Svoboda", "Novotný", "Dvořák", "Černý", "Procházka", "Kučera", "Veselý", "Horák", "Němec",
+      "Marek", "Pospíšil", "Pokorný", "Hájek", "Král", "Jelínek", "Růžička", "Beneš", "Fiala", "Sedláček"};
+
+  private static final String[] ENTRY_TYPES = {"memory", "story", "note"};
+  private static final String[] ROLES = {"author", "participant", "mentioned"};
+  private static final String[] RELATION_TYPES = {"friend", "sibling", "parent", "colleague", "neighbour"};
+  private static final String[] MEDIA_TYPES = {"photo", "video", "doc"};
+  private static final String[] MIME_TYPES = {"image/jpeg", "video/mp4", "application/pdf"};
+
+  private static final OffsetDateTime EPOCH = OffsetDateTime.of(1990, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final long SPAN_SECONDS = 35L * 365 * 24 * 3600;
+
+  /** Changelog with the {@code search_document} backfill; paths are relative to the repository root. */
+  static final String DEFAULT_CHANGELOG = "src/main/resources/db/changelog/006-search-document.yaml";
+  private static final String BACKFILL_CHANGESET = "006-002-backfill-search-document";
+
+  /** Table of generated rows; the ordinal is part of generated ids. */
+  enum Table {
+    PERSON, ENTRY, MEDIA, TAG
+  }
+
+  /**
+   * Dataset size and shape.
+   *
+   * @param persons person rows
+   * @param entries entry rows
+   * @param media media rows
+   * @param tags tag rows
+   * @param alpha power-law exponent of link fan-out (greater than 2; lower means heavier tail)
+   * @param seed seed of all generated values and ids
+   */
+  record Shape(long persons, long entries, long media, long tags, double alpha, long seed) {
+
+    static Shape parse(Map<String, String> options, long defaultPersons) {
+      long persons = Long.parseLong(options.getOrDefault("persons", String.valueOf(defaultPersons)));
+      return new Shape(
+          persons,
+          Long.parseLong(options.getOrDefault("entries", String.valueOf(persons * 2))),
+          Long.parseLong(options.getOrDefault("media", String.valueOf(persons / 2))),
+          Long.parseLong(options.getOrDefault("tags", "2000")),
+          Double.parseDouble(options.getOrDefault("alpha", "2.5")),
+          Long.parseLong(options.getOrDefault("seed", "42")));
+    }
+  }
+
+  private final String jdbcUrl;
+  private final String user;
+  private final String password;
+  private final Shape shape;
+  private final Path changelog;
+
+  DataGenerator(String jdbcUrl, String user, String password, Shape shape, Path changelog) {
+    this.jdbcUrl = jdbcUrl;
+    this.user = user;
+    this.password = password;
+    this.shape = shape;
+    this.changelog = changelog;
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = ReadLoadTest.parse(args);
+    var shape = Shape.parse(options, 1_000_000);
+    var generator = new DataGenerator(
+        options.getOrDefault("jdbcUrl", "jdbc:postgresql://localhost:5433/db_lide"),
+        options.getOrDefault("user", "app_lide"),
+        options.getOrDefault("password", "change_me"),
+        shape,
+        Path.of(options.getOrDefault("changelog", DEFAULT_CHANGELOG)));
+    generator.load(Boolean.parseBoolean(options.getOrDefault("truncate", "false")));
+  }
+
+  /**
+   * Loads the dataset.
+   *
+   * @param truncate clear all application tables first; without it the database must be empty
+   */
+  void load(boolean truncate) throws SQLException, IOException, InterruptedException {
+    if (shape.alpha() <= 2) {
+      throw new IllegalArgumentException("alpha must be greater than 2");
+    }
+    var searchDocumentSql = backfillSql(changelog);
+    long started = System.nanoTime();
+    try (var connection = connect()) {
+      if (truncate) {
+        execute(connection, "TRUNCATE TABLE media_entry, entry_tag, person_entry, person_tag, person_relation,"
+            + " media, entry, tag, person, search_document");
+      } else if (hasRows(connection)) {
+        throw new IllegalStateException("Database is not empty; use --truncate=true to replace its data");
+      }
+    }
+    System.out.printf("generating %s%n", shape);
+
+    parallel(List.of(
+        () -> copy("person", "id, first_name, last_name, nickname, birth_date, phone, email, note",
+            shape.persons(), this::person),
+        () -> copy("entry", "id, type, title, content, occurred_at", shape.entries(), this::entry),
+        () -> copy("media", "id, media_type, mime_type, uri, title, note, taken_at", shape.media(), this::media),
+        () -> copy("tag", "id, name", shape.tags(), this::tag)));
+
+    parallel(List.of(
+        () -> copy("person_tag", "person_id, tag_id", shape.persons(),
+            (i, random, out) -> links(out, random, Table.PERSON, i, Table.TAG, shape.tags(), 1.0, 100)),
+        () -> copy("entry_tag", "entry_id, tag_id", shape.entries(),
+            (i, random, out) -> links(out, random, Table.ENTRY, i, Table.TAG, shape.tags(), 1.0, 50)),
+        () -> copy("person_entry", "person_id, entry_id, role", shape.entries(), this::personEntries),
+        () -> copy("media_entry", "media_id, entry_id, caption, sort_order", shape.media(), this::mediaEntries),
+        () -> copy("person_relation", "from_person_id, to_person_id, type, valid_from", shape.persons(),
+            this::relations)));
+
+    try (var connection = connect()) {
+      timed("search_document", () -> execute(connection, searchDocumentSql));
+      timed("analyze", () -> execute(connection, "ANALYZE"));
+    }
+    System.out.printf("done in %.1f s%n", (System.nanoTime() - started) / 1e9);
+  }
+
+  /**
+   * Reads the {@code search_document} backfill statement from the application's changelog.
+   *
+   * @param changelog changelog 006 (YAML)
+   *
+   * @return SQL of the backfill change set
+   */
+  static String backfillSql(Path changelog) throws IOException {
+    var root = new YAMLMapper().readTree(changelog.toFile());
+    for (JsonNode entry : root.path("databaseChangeLog")) {
+      var changeSet = entry.path("changeSet");
+      if (BACKFILL_CHANGESET.equals(changeSet.path("id").asText())) {
+        for (JsonNode change : changeSet.path("changes")) {
+          var sql = change.path("sql").path("sql").asText(null);
+          if (sql != null) {
+            return sql;
+          }
+        }
+      }
+    }
+    throw new IllegalStateException(
+        "Change set " + BACKFILL_CHANGESET + " with an sql change not found in " + changelog);
+  }
+
+  /** Id of the {@code index}-th generated row of a table: a bijective mix of seed, table and index. */
+  UUID id(Table table, long index) {
+    long msb = mix(shape.seed() * 31 + table.ordinal());
+    long lsb = mix(index ^ msb);
+    return new UUID(msb, lsb);
+  }
+
+  private void person(long i, SplittableRandom random, RowWriter out) throws IOException {
+    var first = pick(random, FIRST_NAMES);
+    var last = pick(random, LAST_NAMES);
+    out.row(id(Table.PERSON, i), first, last,
+        random.nextInt(4) == 0 ? first.toLowerCase() + i % 100 : null,
+        random.nextInt(5) == 0 ? null : LocalDate.of(1930, 1, 1).plusDays(random.nextInt(90 * 365)),
+        random.nextInt(3) == 0 ? null : "+420 %03d %03d %03d".formatted(
+            600 + random.nextInt(200), random.nextInt(1000), random.nextInt(1000)),
+        random.nextInt(3) == 0 ? null : ascii(first + "." + last + "." + i + "@example.cz"),
+        random.nextInt(2) == 0 ? null : words(random, 3 + random.nextInt(10)));
+  }
+
+  private void entry(long i, SplittableRandom random, RowWriter out) throws IOException {
+    out.row(id(Table.ENTRY, i), pick(random, ENTRY_TYPES), capitalize(words(random, 2 + random.nextInt(5))),
+        capitalize(words(random, 20 + random.nextInt(280))) + ".", timestamp(random));
+  }
+
+  private void media(long i, SplittableRandom random, RowWriter out) throws IOException {
+    int type = random.nextInt(MEDIA_TYPES.length);
+    out.row(id(Table.MEDIA, i), MEDIA_TYPES[type], MIME_TYPES[type], "/media/%d/%s.bin".formatted(i % 1000, i),
+        capitalize(words(random, 1 + random.nextInt(4))),
+        random.nextInt(2) == 0 ? null : words(random, 5 + random.nextInt(20)), timestamp(random));
+  }
+
+  private void tag(long i, SplittableRandom random, RowWriter out) throws IOException {
+    var name = i < WORDS.length ? WORDS[(int) i] : WORDS[(int) (i % WORDS.length)] + "-" + i / WORDS.length;
+    out.row(id(Table.TAG, i), name);
+  }
+
+  private void personEntries(long i, SplittableRandom random, RowWriter out) throws IOException {
+    var taken = new HashSet<Long>();
+    int count = 1 + fanOut(random, 0.5, 200);
+    for (int k = 0; k < count; k++) {
+      long person = target(random, shape.persons());
+      if (taken.add(person)) {
+        out.row(id(Table.PERSON, person), id(Table.ENTRY, i), k == 0 ? "author" : pick(random, ROLES));
+      }
+    }
+  }
+
+  private void mediaEntries(long i, SplittableRandom random, RowWriter out) throws IOException {
+    var taken = new HashSet<Long>();
+    int count = 1 + fanOut(random, 0.5, 20);
+    for (int k = 0; k < count; k++) {
+      long entry = random.nextLong(shape.entries());
+      if (taken.add(entry)) {
+        out.row(id(Table.MEDIA, i), id(Table.ENTRY, entry), random.nextInt(2) == 0 ? null : words(random, 3), k);
+      }
+    }
+  }
+
+  private void relations(long i, SplittableRandom random, RowWriter out) throws IOException {
+    var taken = new HashSet<Long>();
+    taken.add(i);
+    int count = fanOut(random, 2.0, 500);
+    for (int k = 0; k < count; k++) {
+      long to = target(random, shape.persons());
+      if (taken.add(to)) {
+        out.row(id(Table.PERSON, i), id(Table.PERSON, to), pick(random, RELATION_TYPES),
+            random.nextInt(3) == 0 ? LocalDate.of(1960, 1, 1).plusDays(random.nextInt(60 * 365)) : null);
+      }
+    }
+  }
+
+  private void links(RowWriter out, SplittableRandom random, Table source, long index, Table targetTable,
+      long targets, double scale, int max) throws IOException {
+    var taken = new HashSet<Long>();
+    int count = fanOut(random, scale, (int) Math.min(max, targets));
+    for (int k = 0; k < count; k++) {
+      long target = target(random, targets);
+      if (taken.add(target)) {
+        out.row(id(source, index), id(targetTable, target));
+      }
+    }
+  }
+
+  /**
+   * Links of one source row: discrete Pareto with mean of about {@code scale * 2} for alpha 2.5
+   * and a heavy tail up to {@code max}.
+   */
+  private int fanOut(SplittableRandom random, double scale, int max) {
+    double pareto = Math.pow(1 - random.nextDouble(), -1 / (shape.alpha() - 1)) - 1;
+    return (int) Math.min(max, Math.floor(scale * pareto));
+  }
+
+  /** Link target biased towards low indexes (popular rows), cubic skew. */
+  private static long target(SplittableRandom random, long count) {
+    double u = random.nextDouble();
+    return Math.min(count - 1, (long) (count * u * u * u));
+  }
+
+  private long copy(String table, String columns, long count, RowGenerator generator)
+      throws SQLException, IOException {
+    long started = System.nanoTime();
+    var random = new SplittableRandom(mix(shape.seed() ^ table.hashCode()));
+    long rows;
+    try (var connection = connect()) {
+      execute(connection, "SET synchronous_commit = off");
+      var sql = "COPY %s (%s) FROM STDIN".formatted(table, columns);
+      try (var out = new RowWriter(new BufferedWriter(new OutputStreamWriter(
+          new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, 1 << 16),
+          StandardCharsets.UTF_8), 1 << 16))) {
+        for (long i = 0; i < count; i++) {
+          generator.write(i, random, out);
+        }
+        rows = out.rows();
+      }
+    }
+    double seconds = (System.nanoTime() - started) / 1e9;
+    System.out.printf("%-16s %,12d rows %8.1f s %,10.0f rows/s%n",
+        table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    return rows;
+  }
+
+  private static void parallel(List<Callable<Long>> tasks) throws InterruptedException {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var futures = new ArrayList<Future<Long>>();
+      for (var task : tasks) {
+        futures.add(executor.submit(task));
+      }
+      for (var future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          futures.forEach(f -> f.cancel(true));
+          throw new IllegalStateException("Load failed", e.getCause());
+        }
+      }
+    }
+  }
+
+  private Connection connect() throws SQLException {
+    return DriverManager.getConnection(jdbcUrl, user, password);
+  }
+
+  private static boolean hasRows(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+        var rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM person) OR EXISTS (SELECT 1 FROM entry)")) {
+      return rs.next() && rs.getBoolean(1);
+    }
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private static void timed(String label, SqlAction action) throws SQLException {
+    long started = System.nanoTime();
+    action.run();
+    System.out.printf("%-16s %8.1f s%n", label, (System.nanoTime() - started) / 1e9);
+  }
+
+  private static String words(SplittableRandom random, int count) {
+    var text = new StringBuilder(count * 8);
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        text.append(' ');
+      }
+      // Zipf-like word frequency: common words dominate, so search terms have realistic hit counts
+      double u = random.nextDouble();
+      text.append(WORDS[(int) (WORDS.length * u * u)]);
+    }
+    return text.toString();
+  }
+
+  private static String capitalize(String text) {
+    return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+  }
+
+  private static String ascii(String text) {
+    return Normalizer.normalize(text, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .toLowerCase();
+  }
+
+  private static String pick(SplittableRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static OffsetDateTime timestamp(SplittableRandom random) {
+    return EPOCH.plusSeconds(random.nextLong(SPAN_SECONDS));
+  }
+
+  /** Stafford variant 13 of the 64-bit finalizer (bijective). */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  @FunctionalInterface
+  private interface RowGenerator {
+    void write(long index, SplittableRandom random, RowWriter out) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface SqlAction {
+    void run() throws SQLException;
+  }
+
+  /** Writes rows in the {@code COPY} text format (tab separated, {@code \N} for null). */
+  private static final class RowWriter implements AutoCloseable {
+
+    private final Writer out;
+    private long rows;
+
+    RowWriter(Writer out) {
+      this.out = out;
+    }
+
+    void row(Object... values) throws IOException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          out.write('\t');
+        }
+        if (values[i] == null) {
+          out.write("\\N");
+        } else {
+          escape(values[i].toString());
+        }
+      }
+      out.write('\n');
+      rows++;
+    }
+
+    long rows() {
+      return rows;
+    }
+
+    private void escape(String value) throws IOException {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '\\' -> out.write("\\\\");
+          case '\t' -> out.write("\\t");
+          case '\n' -> out.write("\\n");
+          case '\r' -> out.write("\\r");
+          default -> out.write(c);
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package cz.vh.lide.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * End-to-end load run on a throwaway database: starts PostgreSQL in a Testcontainers container,
+ * starts the application jar against it once so Liquibase creates the schema, loads the synthetic
+ * dataset ({@link DataGenerator}), then starts the measured application instance on the loaded
+ * data, runs {@link LoadSuite} and stops everything.
+ * <p>
+ * Starting the measured instance after the load means its startup work sees the dataset: the
+ * local search index ({@code SEARCH_LOCAL_INDEX_ENABLED}) catches up with the bulk-loaded
+ * {@code search_document} rows (the load bypasses the application), and the read caches warm up
+ * from real rows. The index lives in a fresh temporary directory unless
+ * {@code SEARCH_LOCAL_INDEX_PATH} is set.
+ * <p>
+ * The application runs as a child process with the harness's environment plus the database
+ * settings, so variables such as {@code VIRTUAL_THREADS_ENABLED} or {@code READ_CACHE_ENABLED}
+ * set for the harness apply to the measured application. Its output goes to
+ * {@code target/loadtest-app.log}.
+ * <p>
+ * Arguments ({@code --name=value}): all {@link DataGenerator} shape arguments ({@code persons}
+ * defaults to 100000 here) and {@link LoadSuite} arguments, plus {@code app}
+ * (target/lide-app-0.0.1-SNAPSHOT-exec.jar), {@code image} (postgres:16-alpine),
+ * {@code startupTimeout} (180s), {@code changelog} (see {@link DataGenerator}).
+ */
+public final class LoadHarness {
+
+  private LoadHarness() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = ReadLoadTest.parse(args);
+    var app = Path.of(options.getOrDefault("app", "target/lide-app-0.0.1-SNAPSHOT-exec.jar"));
+    if (!Files.isRegularFile(app)) {
+      throw new IllegalStateException("Application jar not found: " + app + "; run ./mvnw package first");
+    }
+    var startupTimeout = Duration.parse("PT" + options.getOrDefault("startupTimeout", "180s"));
+
+    try (var postgres = new PostgreSQLContainer<>(options.getOrDefault("image", "postgres:16-alpine"))
+        .withDatabaseName("db_lide")
+        .withUsername("app_lide")
+        .withPassword("app_lide")
+        .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_connections=200",
+            "-c", "synchronous_commit=off")) {
+      postgres.start();
+      System.out.println("postgres " + postgres.getJdbcUrl());
+
+      int port = freePort();
+      var baseUrl = "http://localhost:" + port;
+      var log = Path.of("target", "loadtest-app.log");
+      Files.createDirectories(log.getParent());
+      var builder = new ProcessBuilder(
+          Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", app.toString())
+          .redirectErrorStream(true)
+          .redirectOutput(log.toFile());
+      var env = builder.environment();
+      env.put("DB_URL", postgres.getJdbcUrl());
+      env.put("DB_USER", postgres.getUsername());
+      env.put("DB_PASS", postgres.getPassword());
+      env.put("SERVER_PORT", String.valueOf(port));
+      // no dev seed data (DevDataInitializer would truncate the generated dataset)
+      env.putIfAbsent("SPRING_PROFILES", "loadtest");
+      env.putIfAbsent("SEARCH_LOCAL_INDEX_PATH",
+          Files.createTempDirectory("lide-search-index").toString());
+
+      // schema only: Liquibase runs on startup, the generator needs the tables
+      var migration = start(builder, baseUrl, startupTimeout);
+      stop(migration);
+      System.out.println("schema migrated");
+
+      var shape = DataGenerator.Shape.parse(options, 100_000);
+      new DataGenerator(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), shape,
+          Path.of(options.getOrDefault("changelog", DataGenerator.DEFAULT_CHANGELOG)))
+          .load(false);
+
+      builder.redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()));
+      var process = start(builder, baseUrl, startupTimeout);
+      try {
+        System.out.println("application " + baseUrl + " (log " + log + ")");
+        LoadSuite.run(baseUrl, options);
+      } finally {
+        stop(process);
+      }
+    }
+  }
+
+  private static Process start(ProcessBuilder builder, String baseUrl, Duration timeout)
+      throws IOException, InterruptedException {
+    var process = builder.start();
+    try {
+      awaitHealthy(baseUrl, process, timeout);
+      return process;
+    } catch (RuntimeException | InterruptedException e) {
+      stop(process);
+      throw e;
+    }
+  }
+
+  private static void stop(Process process) throws InterruptedException {
+    process.destroy();
+    if (!process.waitFor(30, TimeUnit.SECONDS)) {
+      process.destroyForcibly();
+    }
+  }
+
+  private static void awaitHealthy(String baseUrl, Process process, Duration timeout)
+      throws InterruptedException {
+    var client = HttpClient.newHttpClient();
+    var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/health"))
+        .timeout(Duration.ofSeconds(2))
+        .GET()
+        .build();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (System.nanoTime() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException("Application exited with code " + process.exitValue()
+            + "; see target/loadtest-app.log");
+      }
+      try {
+        if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // not listening yet
+      }
+      Thread.sleep(500);
+    }
+    throw new IllegalStateException("Application not healthy within " + timeout);
+  }
+
+  private static int freePort() throws IOException {
+    try (var socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package cz.vh.lide.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Repeatable load suite over the main endpoint groups, one closed-loop measurement per scenario:
+ * <ul>
+ *   <li>{@code list}: paged person and entry lists at random pages,</li>
+ *   <li>{@code search}: {@code /api/search} and person list search ({@code q}),</li>
+ *   <li>{@code read}: person and entry read aggregates,</li>
+ *   <li>{@code links}: tag, entry, relation and media link lists of persons, tags and entries.</li>
+ * </ul>
+ * Ids are sampled through the API (ordered by id, so the sample is not biased towards the rows
+ * loaded first). Every client draws its targets from a random generator seeded with
+ * {@code seed}, so two runs against the same dataset send the same request sequence.
+ * <p>
+ * Arguments ({@code --name=value}): {@code baseUrl} (http://localhost:8081), {@code concurrency} (50),
+ * {@code warmup} (10s), {@code duration} (30s), {@code scenarios} (list,search,read,links),
+ * {@code ids} (500 per resource), {@code pages} (50 list pages), {@code seed} (42),
+ * {@code out} (optional CSV file with one line per scenario).
+ */
+public final class LoadSuite {
+
+  static final List<String> SCENARIOS = List.of("list", "search", "read", "links");
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int SAMPLE_PAGE_SIZE = 100;
+
+  private LoadSuite() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = ReadLoadTest.parse(args);
+    run(options.getOrDefault("baseUrl", "http://localhost:8081"), options);
+  }
+
+  /**
+   * Runs the selected scenarios one after another and prints (and optionally writes) the results.
+   *
+   * @param baseUrl application base URL
+   * @param options suite arguments
+   *
+   * @return results by scenario, in run order
+   */
+  static Map<String, ClosedLoop.Result> run(String baseUrl, Map<String, String> options)
+      throws IOException, InterruptedException {
+    int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "50"));
+    var warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+    var duration = Duration.parse("PT" + options.getOrDefault("duration", "30s"));
+    int idCount = Integer.parseInt(options.getOrDefault("ids", "500"));
+    int pages = Integer.parseInt(options.getOrDefault("pages", "50"));
+    long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+    var scenarios = List.of(options.getOrDefault("scenarios", String.join(",", SCENARIOS)).split(","));
+
+    var client = ClosedLoop.client();
+    var persons = sample(client, baseUrl, "persons", idCount);
+    var entries = sample(client, baseUrl, "entries", idCount);
+    var tags = sample(client, baseUrl, "tags", idCount);
+    if (persons.isEmpty() || entries.isEmpty() || tags.isEmpty()) {
+      throw new IllegalStateException("No persons, entries or tags found; load data first (DataGenerator)");
+    }
+    System.out.printf("sampled persons=%d entries=%d tags=%d; concurrency=%d warmup=%s duration=%s%n",
+        persons.size(), entries.size(), tags.size(), concurrency, warmup, duration);
+
+    var results = new LinkedHashMap<String, ClosedLoop.Result>();
+    for (var scenario : scenarios) {
+      var name = scenario.trim();
+      Function<SplittableRandom, String> paths = switch (name) {
+        case "list" -> random -> random.nextBoolean()
+            ? "/api/persons?page=" + random.nextInt(pages) + "&size=20"
+            : "/api/entries?page=" + random.nextInt(pages) + "&size=20";
+        case "search" -> random -> {
+          var word = DataGenerator.WORDS[random.nextInt(DataGenerator.WORDS.length)];
+          return random.nextBoolean()
+              ? "/api/search?limit=20&q=" + encode(word.substring(0, Math.min(word.length(), 4)))
+              : "/api/persons?page=0&size=20&q=" + encode(word.substring(0, Math.min(word.length(), 3)));
+        };
+        case "read" -> random -> random.nextBoolean()
+            ? "/api/personread/" + pick(random, persons)
+            : "/api/entryread/" + pick(random, entries);
+        case "links" -> random -> switch (random.nextInt(5)) {
+          case 0 -> "/api/personstags/person/" + pick(random, persons) + "/tags?page=0&size=20";
+          case 1 -> "/api/personentry/person/" + pick(random, persons) + "/entries?page=0&size=20";
+          case 2 -> "/api/personrelation/from/" + pick(random, persons);
+          case 3 -> "/api/entriestags/tag/" + pick(random, tags) + "/entries?page=0&size=20";
+          default -> "/api/mediaentry/entry/" + pick(random, entries) + "/media?page=0&size=20";
+        };
+        default -> throw new IllegalArgumentException("Unknown scenario: " + name + "; expected " + SCENARIOS);
+      };
+      var result = ClosedLoop.run(client, random -> URI.create(baseUrl + paths.apply(random)),
+          concurrency, warmup, duration, seed);
+      System.out.printf("%-8s %s%n", name, result.summary());
+      results.put(name, result);
+    }
+
+    var out = options.get("out");
+    if (out != null) {
+      write(Path.of(out), results);
+      System.out.println("results written to " + out);
+    }
+    return results;
+  }
+
+  /** Samples ids of a resource from the first pages of the list ordered by id. */
+  static List<String> sample(HttpClient client, String baseUrl, String resource, int count)
+      throws IOException, InterruptedException {
+    var ids = new ArrayList<String>();
+    for (int page = 0; ids.size() < count; page++) {
+      var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/" + resource
+              + "?page=" + page + "&size=" + SAMPLE_PAGE_SIZE + "&sort=id,asc&count=none"))
+          .GET()
+          .build();
+      var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException("Cannot list " + resource + ": HTTP " + response.statusCode());
+      }
+      var body = MAPPER.readTree(response.body());
+      for (JsonNode node : body) {
+        if (ids.size() < count) {
+          ids.add(node.get("id").asText());
+        }
+      }
+      if (body.size() < SAMPLE_PAGE_SIZE) {
+        break;
+      }
+    }
+    return ids;
+  }
+
+  private static void write(Path file, Map<String, ClosedLoop.Result> results) throws IOException {
+    var lines = new ArrayList<String>();
+    lines.add("scenario,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms");
+    results.forEach((name, r) -> lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", name,
+        r.latencies().length, r.errors(), r.throughput(),
+        r.percentile(0.50), r.percentile(0.90), r.percentile(0.99), r.percentile(1.0))));
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    Files.write(file, lines);
+  }
+
+  private static String pick(SplittableRandom random, List<String> ids) {
+    return ids.get(random.nextInt(ids.size()));
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
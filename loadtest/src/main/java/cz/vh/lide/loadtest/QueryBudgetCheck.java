@@ -0,0 +1,116 @@
+package cz.vh.lide.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asserts the number of JDBC statements per endpoint: requests each endpoint for a sample
+ * of ids and compares the largest {@code X-SQL-Statements} response header with the endpoint's
+ * budget. The application must run with the header enabled (dev profile or
+ * {@code SQL_STATEMENTS_HEADER_ENABLED=true}).
+ * <p>
+ * Exits with status 1 when an endpoint exceeds its budget, so the check can gate a CI step.
+ * Read aggregates count their JdbcTemplate statements too (one in projection mode, one per branch in
+ * parallel mode).
+ * <p>
+ * Arguments ({@code --name=value}): {@code baseUrl} (http://localhost:8081), {@code samples}
+ * (20 ids per endpoint), {@code budget} (default budget, 5), {@code budget.<check>} (budget of one
+ * check, e.g. {@code --budget.person=3}), {@code checks} (all).
+ */
+public final class QueryBudgetCheck {
+
+  /** Check name to path template; {person}, {entry} and {tag} are replaced by sampled ids. */
+  static final Map<String, String> CHECKS = new LinkedHashMap<>();
+
+  static {
+    CHECKS.put("persons", "/api/persons?page=0&size=20");
+    CHECKS.put("entries", "/api/entries?page=0&size=20");
+    CHECKS.put("person", "/api/persons/{person}");
+    CHECKS.put("entry", "/api/entries/{entry}");
+    CHECKS.put("personread", "/api/personread/{person}");
+    CHECKS.put("entryread", "/api/entryread/{entry}");
+    CHECKS.put("person-tags", "/api/personstags/person/{person}/tags?page=0&size=20");
+    CHECKS.put("person-entries", "/api/personentry/person/{person}/entries?page=0&size=20");
+    CHECKS.put("person-relations", "/api/personrelation/from/{person}?page=0&size=20");
+    CHECKS.put("tag-entries", "/api/entriestags/tag/{tag}/entries?page=0&size=20");
+    CHECKS.put("entry-media", "/api/mediaentry/entry/{entry}/media?page=0&size=20");
+  }
+
+  private static final String HEADER = "X-SQL-Statements";
+
+  private QueryBudgetCheck() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = ReadLoadTest.parse(args);
+    var baseUrl = options.getOrDefault("baseUrl", "http://localhost:8081");
+    int samples = Integer.parseInt(options.getOrDefault("samples", "20"));
+    int defaultBudget = Integer.parseInt(options.getOrDefault("budget", "5"));
+    var checks = List.of(options.getOrDefault("checks", String.join(",", CHECKS.keySet())).split(","));
+
+    var client = ClosedLoop.client();
+    var ids = Map.of(
+        "person", LoadSuite.sample(client, baseUrl, "persons", samples),
+        "entry", LoadSuite.sample(client, baseUrl, "entries", samples),
+        "tag", LoadSuite.sample(client, baseUrl, "tags", samples));
+    if (ids.values().stream().anyMatch(List::isEmpty)) {
+      throw new IllegalStateException("No persons, entries or tags found; load data first (DataGenerator)");
+    }
+
+    var failed = new ArrayList<String>();
+    for (var check : checks) {
+      var name = check.trim();
+      var template = CHECKS.get(name);
+      if (template == null) {
+        throw new IllegalArgumentException("Unknown check: " + name + "; expected " + CHECKS.keySet());
+      }
+      int budget = Integer.parseInt(options.getOrDefault("budget." + name, String.valueOf(defaultBudget)));
+      int max = 0;
+      var worst = "";
+      for (int i = 0; i < samples; i++) {
+        var path = template;
+        for (var entry : ids.entrySet()) {
+          var sample = entry.getValue();
+          path = path.replace("{" + entry.getKey() + "}", sample.get(i % sample.size()));
+        }
+        int count = statements(client, baseUrl + path);
+        if (count > max) {
+          max = count;
+          worst = path;
+        }
+        if (!template.contains("{")) {
+          break;
+        }
+      }
+      var ok = max <= budget;
+      System.out.printf("%-16s max %3d budget %3d %s%s%n", name, max, budget, ok ? "ok" : "EXCEEDED ",
+          ok ? "" : worst);
+      if (!ok) {
+        failed.add(name);
+      }
+    }
+    if (!failed.isEmpty()) {
+      System.out.println("over budget: " + failed);
+      System.exit(1);
+    }
+  }
+
+  private static int statements(HttpClient client, String url) throws IOException, InterruptedException {
+    var response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+        HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("GET " + url + ": HTTP " + response.statusCode());
+    }
+    return response.headers().firstValue(HEADER)
+        .map(Integer::parseInt)
+        .orElseThrow(() -> new IllegalStateException("No " + HEADER + " header on " + url
+            + "; run the application with the dev profile or SQL_STATEMENTS_HEADER_ENABLED=true"));
+  }
+}
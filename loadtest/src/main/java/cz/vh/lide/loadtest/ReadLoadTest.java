@@ -0,0 +1,97 @@
+package cz.vh.lide.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Closed-loop load test of the read endpoints that block on JDBC ({@code /api/personread/{id}},
+ * {@code /api/entryread/{id}}).
+ * <p>
+ * {@code concurrency} clients (one virtual thread each) send requests back to back for
+ * {@code duration} after a {@code warmup}; throughput and latency percentiles of the measured
+ * phase are printed. Run it once against the application with {@code VIRTUAL_THREADS_ENABLED=false}
+ * and once with {@code true}, with the same database and arguments, to compare the two modes.
+ * <p>
+ * Arguments ({@code --name=value}): {@code baseUrl} (http://localhost:8081), {@code concurrency} (400),
+ * {@code duration} (60s), {@code warmup} (10s), {@code ids} (200 ids sampled per resource),
+ * {@code paths} (personread,entryread).
+ */
+public final class ReadLoadTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private ReadLoadTest() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    var options = parse(args);
+    var baseUrl = options.getOrDefault("baseUrl", "http://localhost:8081");
+    int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+    var duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+    var warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+    int idCount = Integer.parseInt(options.getOrDefault("ids", "200"));
+    var paths = List.of(options.getOrDefault("paths", "personread,entryread").split(","));
+
+    var client = ClosedLoop.client();
+
+    var targets = new ArrayList<URI>();
+    for (var path : paths) {
+      var source = switch (path.trim()) {
+        case "personread" -> "persons";
+        case "entryread" -> "entries";
+        default -> throw new IllegalArgumentException("Unsupported path: " + path);
+      };
+      for (var id : sampleIds(client, baseUrl, source, idCount)) {
+        targets.add(URI.create(baseUrl + "/api/" + path.trim() + "/" + id));
+      }
+    }
+    if (targets.isEmpty()) {
+      throw new IllegalStateException("No ids found; load data first");
+    }
+    System.out.printf("targets=%d concurrency=%d warmup=%s duration=%s%n",
+        targets.size(), concurrency, warmup, duration);
+
+    var result = ClosedLoop.run(client, random -> targets.get(random.nextInt(targets.size())),
+        concurrency, warmup, duration, System.nanoTime());
+    System.out.println(result.summary());
+  }
+
+  static List<String> sampleIds(HttpClient client, String baseUrl, String resource, int count)
+      throws IOException, InterruptedException {
+    var request = HttpRequest.newBuilder(URI.create(
+            baseUrl + "/api/" + resource + "?page=0&size=" + count + "&count=none"))
+        .GET()
+        .build();
+    var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Cannot list " + resource + ": HTTP " + response.statusCode());
+    }
+    var ids = new ArrayList<String>();
+    for (JsonNode node : MAPPER.readTree(response.body())) {
+      ids.add(node.get("id").asText());
+    }
+    return ids;
+  }
+
+  static Map<String, String> parse(String[] args) {
+    var options = new LinkedHashMap<String, String>();
+    for (var arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      var parts = arg.substring(2).split("=", 2);
+      options.put(parts[0], parts[1]);
+    }
+    return options;
+  }
+}
@@ -0,0 +1,27 @@
+package cz.vh.lide.core.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optional span exporters next to the OTLP exporter auto-configured by Spring Boot
+ * ({@code management.otlp.tracing.endpoint}).
+ * Spring Boot registers every {@code SpanExporter} bean with the OpenTelemetry SDK.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Writes finished spans to the log (logger {@code io.opentelemetry.exporter.logging}).
+     * Only active when {@code app.tracing.log-spans=true}; meant for latency triage without a collector.
+     *
+     * @return logging exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,65 @@
+package cz.vh.lide.core.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads pinned to their carrier thread (blocking inside {@code synchronized} or
+ * native frames), using the JFR {@code jdk.VirtualThreadPinned} event.
+ * Only active when {@code app.diagnostics.pinned-threads.enabled=true}; meant for verifying the
+ * virtual-thread mode ({@code spring.threads.virtual.enabled}) under load, not for permanent use.
+ */
+@Component
+@ConditionalOnProperty(name = "app.diagnostics.pinned-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements DisposableBean {
+
+    private static final int MAX_FRAMES = 12;
+
+    private final RecordingStream stream;
+
+    /**
+     * Starts the JFR stream.
+     *
+     * @param threshold minimum pinned duration that is reported
+     */
+    public VirtualThreadPinningMonitor(
+            @Value("${app.diagnostics.pinned-threads.threshold:20ms}") Duration threshold) {
+        this.stream = new RecordingStream();
+        this.stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        this.stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        this.stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {})", threshold);
+    }
+
+    private void report(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        var frames = stackTrace == null ? "" : stackTrace.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("Virtual thread pinned for {} ms on {}{}",
+                event.getDuration().toMillis(),
+                event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                frames);
+    }
+
+    private static String format(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+}
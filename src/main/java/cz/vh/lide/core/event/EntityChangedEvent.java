@@ -0,0 +1,78 @@
+package cz.vh.lide.core.event;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Application event published by write paths after rows of one kind were created, updated or
+ * soft-deleted. Listeners that depend on the committed state use
+ * {@code @TransactionalEventListener(fallbackExecution = true)}.
+ *
+ * @param kind changed entity or relation kind
+ * @param ids ids of the changed rows; empty when unknown (e.g. bulk import), meaning "any row of this kind"
+ * @param deleted whether the rows were soft-deleted
+ */
+public record EntityChangedEvent(@NonNull EntityKind kind, @NonNull Set<UUID> ids, boolean deleted) {
+
+  public EntityChangedEvent {
+    ids = Set.copyOf(ids);
+  }
+
+  /**
+   * Rows created or updated.
+   *
+   * @param kind entity kind
+   * @param ids changed ids
+   *
+   * @return event
+   */
+  public static EntityChangedEvent saved(@NonNull EntityKind kind, @NonNull Collection<UUID> ids) {
+    return new EntityChangedEvent(kind, Set.copyOf(ids), false);
+  }
+
+  /**
+   * One row created or updated.
+   *
+   * @param kind entity kind
+   * @param id changed id
+   *
+   * @return event
+   */
+  public static EntityChangedEvent saved(@NonNull EntityKind kind, @NonNull UUID id) {
+    return new EntityChangedEvent(kind, Set.of(id), false);
+  }
+
+  /**
+   * One row soft-deleted.
+   *
+   * @param kind entity kind
+   * @param id deleted id
+   *
+   * @return event
+   */
+  public static EntityChangedEvent deleted(@NonNull EntityKind kind, @NonNull UUID id) {
+    return new EntityChangedEvent(kind, Set.of(id), true);
+  }
+
+  /**
+   * Unknown rows of a kind written in bulk (outside the entity services).
+   *
+   * @param kind entity kind
+   *
+   * @return event with no ids
+   */
+  public static EntityChangedEvent bulk(@NonNull EntityKind kind) {
+    return new EntityChangedEvent(kind, Set.of(), false);
+  }
+
+  /**
+   * Whether the changed rows are unknown.
+   *
+   * @return true for bulk events without ids
+   */
+  public boolean isBulk() {
+    return ids.isEmpty();
+  }
+}
@@ -0,0 +1,27 @@
+package cz.vh.lide.core.event;
+
+import java.util.Locale;
+
+/**
+ * Entity and relation kinds reported by {@link EntityChangedEvent}.
+ */
+public enum EntityKind {
+  PERSON,
+  ENTRY,
+  TAG,
+  MEDIA,
+  PERSON_TAG,
+  ENTRY_TAG,
+  PERSON_ENTRY,
+  MEDIA_ENTRY,
+  PERSON_RELATION;
+
+  /**
+   * Database table holding rows of this kind.
+   *
+   * @return table name
+   */
+  public String table() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,26 @@
+package cz.vh.lide.core.event;
+
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Application event published once per {@link EntityChangedEvent} with the aggregated read views
+ * that display the changed rows, resolved by core.service.ReadViewFanout before the writing
+ * transaction commits, so every consumer shares one fan-out lookup. Listeners use
+ * {@code @TransactionalEventListener(fallbackExecution = true)} and run after commit without
+ * database access.
+ *
+ * @param change committed change
+ * @param personIds ids of affected person read views
+ * @param entryIds ids of affected entry detail views
+ * @param all whether every view may be affected (bulk writes); the id sets are empty then
+ */
+public record ReadViewsChangedEvent(@NonNull EntityChangedEvent change, @NonNull Set<UUID> personIds,
+    @NonNull Set<UUID> entryIds, boolean all) {
+
+  public ReadViewsChangedEvent {
+    personIds = Set.copyOf(personIds);
+    entryIds = Set.copyOf(entryIds);
+  }
+}
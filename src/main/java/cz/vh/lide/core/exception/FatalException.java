@@ -7,4 +7,8 @@ public class FatalException extends RuntimeException {
   public FatalException(String message) {
     super(message);
   }
+
+  public FatalException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
@@ -0,0 +1,108 @@
+package cz.vh.lide.core.health;
+
+import cz.vh.lide.core.service.LocalSearchIndexService;
+import cz.vh.lide.db.repository.TagRepository;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the Hibernate second-level cache after startup and reports the instance ready only once
+ * the warm-up is done.
+ * <p>
+ * The warm-up loads up to {@code app.health.warmup.tags} tags (the entities referenced by almost
+ * every list and read view) into the {@code tag} region. It also waits for the optional local
+ * search index, which is opened and possibly rebuilt on the same startup event. Until then the
+ * status is OUT_OF_SERVICE. A failed warm-up is logged and reported UP: the instance is slower
+ * but serves correct data.
+ */
+@Component
+@Slf4j
+public class CacheWarmupHealthIndicator extends AbstractHealthIndicator {
+
+  private enum State { PENDING, RUNNING, DONE, FAILED }
+
+  private final TagRepository tagRepository;
+  private final LocalSearchIndexService localIndex;
+  private final boolean enabled;
+  private final boolean l2CacheEnabled;
+  private final boolean localIndexEnabled;
+  private final int tags;
+
+  private volatile State state = State.PENDING;
+  private volatile Duration took = Duration.ZERO;
+  private volatile int loaded;
+
+  /**
+   * Creates the indicator with required dependencies.
+   *
+   * @param tagRepository tag repository (L2-cached entity)
+   * @param localIndex optional local search index
+   * @param enabled whether to warm up at all
+   * @param l2CacheEnabled whether the Hibernate second-level cache is on
+   * @param localIndexEnabled whether the local search index is configured
+   * @param tags maximum number of tags loaded
+   */
+  public CacheWarmupHealthIndicator(@NonNull TagRepository tagRepository, @NonNull LocalSearchIndexService localIndex,
+      @Value("${app.health.warmup.enabled:true}") boolean enabled,
+      @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}") boolean l2CacheEnabled,
+      @Value("${app.search.local-index.enabled:false}") boolean localIndexEnabled,
+      @Value("${app.health.warmup.tags:5000}") int tags) {
+    super("Cache warm-up health check failed");
+    this.tagRepository = tagRepository;
+    this.localIndex = localIndex;
+    this.enabled = enabled;
+    this.l2CacheEnabled = l2CacheEnabled;
+    this.localIndexEnabled = localIndexEnabled;
+    this.tags = tags;
+  }
+
+  /**
+   * Starts the warm-up in the background once the application is ready.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    if (!enabled || !l2CacheEnabled || tags <= 0) {
+      state = State.DONE;
+      return;
+    }
+    state = State.RUNNING;
+    Thread.ofVirtual().name("cache-warmup").start(() -> {
+      long start = System.nanoTime();
+      try {
+        loaded = tagRepository.findByDeletedAtIsNull(PageRequest.of(0, tags)).getNumberOfElements();
+        took = Duration.ofNanos(System.nanoTime() - start);
+        state = State.DONE;
+        log.info("Cache warm-up loaded {} tags in {} ms", loaded, took.toMillis());
+      } catch (RuntimeException e) {
+        state = State.FAILED;
+        log.warn("Cache warm-up failed", e);
+      }
+    });
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) {
+    var current = state;
+    boolean indexReady = !localIndexEnabled || localIndex.isEnabled();
+    if (current == State.PENDING || current == State.RUNNING || !indexReady) {
+      builder.outOfService();
+    } else {
+      builder.up();
+    }
+    builder.withDetail("state", current.name().toLowerCase(Locale.ROOT))
+        .withDetail("tags", loaded)
+        .withDetail("tookMs", took.toMillis());
+    if (localIndexEnabled) {
+      builder.withDetail("localSearchIndex", indexReady ? "ready" : "opening");
+    }
+  }
+}
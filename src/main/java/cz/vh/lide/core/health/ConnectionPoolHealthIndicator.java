@@ -0,0 +1,56 @@
+package cz.vh.lide.core.health;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness check of Hikari pool saturation, read from the pool MXBean without touching the database.
+ * <p>
+ * More than {@code app.health.pool.max-pending} threads waiting for a connection reports
+ * OUT_OF_SERVICE: the instance is already queueing requests on the pool and new traffic would only
+ * end in connection timeouts.
+ */
+@Component
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+  private final HikariDataSource pool;
+  private final int maxPending;
+
+  /**
+   * Creates the indicator with required dependencies.
+   *
+   * @param dataSource application data source (Hikari, possibly wrapped)
+   * @param maxPending most threads waiting for a connection still reported as UP
+   */
+  public ConnectionPoolHealthIndicator(@NonNull DataSource dataSource,
+      @Value("${app.health.pool.max-pending:10}") int maxPending) {
+    super("Connection pool health check failed");
+    this.pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+    this.maxPending = maxPending;
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) {
+    var bean = pool == null ? null : pool.getHikariPoolMXBean();
+    if (bean == null) {
+      // not a Hikari pool, or the pool is not started yet (first connection still pending)
+      builder.unknown();
+      return;
+    }
+    int pending = bean.getThreadsAwaitingConnection();
+    builder.status(pending > maxPending ? Status.OUT_OF_SERVICE : Status.UP)
+        .withDetail("active", bean.getActiveConnections())
+        .withDetail("idle", bean.getIdleConnections())
+        .withDetail("max", pool.getMaximumPoolSize())
+        .withDetail("pending", pending)
+        .withDetail("maxPending", maxPending);
+  }
+}
@@ -0,0 +1,67 @@
+package cz.vh.lide.core.health;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness check of database connectivity and round-trip latency ({@code select 1}).
+ * <p>
+ * The probe runs with a deadline ({@code app.health.db.timeout}): an unreachable database or an
+ * exhausted pool reports DOWN after the deadline instead of after the Hikari connection timeout.
+ * A round trip slower than {@code app.health.db.max-latency} reports OUT_OF_SERVICE, so traffic
+ * shifts away before requests queue on the pool. Replaces the Spring Boot {@code db} indicator.
+ */
+@Component
+public class DatabaseHealthIndicator extends AbstractHealthIndicator {
+
+  private final TimedProbe<Long> probe;
+  private final Duration maxLatency;
+
+  /**
+   * Creates the indicator with required dependencies.
+   *
+   * @param dataSource application data source
+   * @param timeout probe deadline
+   * @param maxLatency slowest round trip still reported as UP
+   */
+  public DatabaseHealthIndicator(@NonNull DataSource dataSource,
+      @Value("${app.health.db.timeout:1s}") Duration timeout,
+      @Value("${app.health.db.max-latency:250ms}") Duration maxLatency) {
+    super("Database health check failed");
+    var jdbc = new JdbcTemplate(dataSource);
+    jdbc.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+    this.probe = new TimedProbe<>("health-db", () -> {
+      long start = System.nanoTime();
+      jdbc.queryForObject("select 1", Integer.class);
+      return System.nanoTime() - start;
+    }, timeout);
+    this.maxLatency = maxLatency;
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) throws Exception {
+    long nanos;
+    try {
+      nanos = probe.run();
+    } catch (TimeoutException e) {
+      builder.down().withDetail("error", "No response within " + probe.timeout());
+      return;
+    } catch (ExecutionException e) {
+      builder.down().withException(e.getCause());
+      return;
+    }
+    var latency = Duration.ofNanos(nanos);
+    builder.status(latency.compareTo(maxLatency) > 0 ? Status.OUT_OF_SERVICE : Status.UP)
+        .withDetail("latencyMs", latency.toMillis())
+        .withDetail("maxLatencyMs", maxLatency.toMillis());
+  }
+}
@@ -0,0 +1,82 @@
+package cz.vh.lide.core.health;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.integration.spring.SpringResourceAccessor;
+import lombok.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Readiness check that every change set of the application changelog is applied to the database
+ * (e.g. DOWN when the instance runs against a schema another deployment has not migrated yet).
+ * <p>
+ * Migrations only run at startup, so once no change set is pending the result is kept and the
+ * changelog is not read again. With Liquibase disabled ({@code spring.liquibase.enabled=false}) the
+ * status is UNKNOWN.
+ */
+@Component
+public class LiquibaseHealthIndicator extends AbstractHealthIndicator {
+
+  private final TimedProbe<Integer> probe;
+  private volatile boolean migrated;
+
+  /**
+   * Creates the indicator with required dependencies.
+   *
+   * @param dataSource application data source
+   * @param liquibaseProvider migration bean run at startup (changelog, contexts, resource loader)
+   * @param timeout probe deadline
+   */
+  public LiquibaseHealthIndicator(@NonNull DataSource dataSource,
+      @NonNull ObjectProvider<SpringLiquibase> liquibaseProvider,
+      @Value("${app.health.liquibase.timeout:5s}") Duration timeout) {
+    super("Liquibase health check failed");
+    var liquibase = liquibaseProvider.getIfAvailable();
+    this.probe = liquibase == null ? null : new TimedProbe<>("health-liquibase", () -> {
+      try (var connection = dataSource.getConnection()) {
+        var database = DatabaseFactory.getInstance()
+            .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        var changelog = new Liquibase(liquibase.getChangeLog(),
+            new SpringResourceAccessor(liquibase.getResourceLoader()), database);
+        return changelog.listUnrunChangeSets(new Contexts(liquibase.getContexts()),
+            new LabelExpression(liquibase.getLabelFilter())).size();
+      }
+    }, timeout);
+  }
+
+  @Override
+  protected void doHealthCheck(Health.Builder builder) throws Exception {
+    if (probe == null) {
+      builder.unknown().withDetail("liquibase", "disabled");
+      return;
+    }
+    if (migrated) {
+      builder.up().withDetail("pendingChangeSets", 0);
+      return;
+    }
+    int pending;
+    try {
+      pending = probe.run();
+    } catch (TimeoutException e) {
+      builder.down().withDetail("error", "No response within " + probe.timeout());
+      return;
+    } catch (ExecutionException e) {
+      builder.down().withException(e.getCause());
+      return;
+    }
+    migrated = pending == 0;
+    (migrated ? builder.up() : builder.down()).withDetail("pendingChangeSets", pending);
+  }
+}
@@ -0,0 +1,72 @@
+package cz.vh.lide.core.health;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a blocking probe on a virtual thread and waits at most {@code timeout} for it.
+ * <p>
+ * Only one probe runs at a time: callers arriving while it is in flight (e.g. a probe stuck on an
+ * exhausted pool or an unreachable database) wait for the same run instead of starting another,
+ * so health checks never pile up behind the thing they are checking.
+ *
+ * @param <T> probe result
+ */
+final class TimedProbe<T> {
+
+  private final Callable<T> probe;
+  private final Duration timeout;
+  private final ExecutorService executor;
+  private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+  TimedProbe(String name, Callable<T> probe, Duration timeout) {
+    this.probe = probe;
+    this.timeout = timeout;
+    this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name).factory());
+  }
+
+  Duration timeout() {
+    return timeout;
+  }
+
+  /**
+   * Runs the probe (or joins the run in flight).
+   *
+   * @return probe result
+   *
+   * @throws TimeoutException when the probe does not finish within the timeout; it keeps running
+   * @throws ExecutionException when the probe fails
+   * @throws InterruptedException when the caller is interrupted
+   */
+  T run() throws TimeoutException, ExecutionException, InterruptedException {
+    var future = inFlight.get();
+    if (future == null) {
+      var started = new CompletableFuture<T>();
+      if (inFlight.compareAndSet(null, started)) {
+        executor.execute(() -> {
+          try {
+            started.complete(probe.call());
+          } catch (Exception e) {
+            started.completeExceptionally(e);
+          } finally {
+            inFlight.compareAndSet(started, null);
+          }
+        });
+        future = started;
+      } else {
+        future = inFlight.get();
+        if (future == null) {
+          return run();
+        }
+      }
+    }
+    return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+}
@@ -0,0 +1,68 @@
+package cz.vh.lide.core.metrics;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.NonNull;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.CodeSignature;
+
+/**
+ * Runs an intercepted call inside a Micrometer {@link Observation}, which produces both a timer
+ * (low-cardinality keys plus {@code error} as tags) and, with tracing enabled, a span named
+ * {@code Type.method}.
+ * <p>
+ * Entity ids among the arguments become span attributes (high-cardinality keys, not metric tags):
+ * a {@code UUID} parameter as {@code lide.<parameter>}, a collection parameter as
+ * {@code lide.<parameter>.size}.
+ */
+public final class ObservedCalls {
+
+  private ObservedCalls() {
+  }
+
+  /**
+   * Observes one call.
+   *
+   * @param registry observation registry
+   * @param name observation (timer) name
+   * @param typeKey key of the type tag (e.g. {@code service})
+   * @param typeName simple name of the called type
+   * @param call intercepted call
+   *
+   * @return call result
+   *
+   * @throws Throwable exception of the call, rethrown unchanged
+   */
+  public static Object observe(@NonNull ObservationRegistry registry, @NonNull String name, @NonNull String typeKey,
+      @NonNull String typeName, @NonNull ProceedingJoinPoint call) throws Throwable {
+    var method = call.getSignature().getName();
+    var observation = Observation.createNotStarted(name, registry)
+        .contextualName(typeName + "." + method)
+        .lowCardinalityKeyValue(typeKey, typeName)
+        .lowCardinalityKeyValue("method", method);
+    if (!observation.isNoop()) {
+      addIds(observation, call);
+    }
+    return observation.observeChecked(call::proceed);
+  }
+
+  private static void addIds(Observation observation, ProceedingJoinPoint call) {
+    if (!(call.getSignature() instanceof CodeSignature signature)) {
+      return;
+    }
+    var names = signature.getParameterNames();
+    var args = call.getArgs();
+    if (names == null) {
+      return;
+    }
+    for (int i = 0; i < args.length && i < names.length; i++) {
+      if (args[i] instanceof UUID id) {
+        observation.highCardinalityKeyValue("lide." + names[i], id.toString());
+      } else if (args[i] instanceof Collection<?> collection) {
+        observation.highCardinalityKeyValue("lide." + names[i] + ".size", String.valueOf(collection.size()));
+      }
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package cz.vh.lide.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the number of ids per {@code findAllById} call as
+ * {@code lide.repository.batch.size{repository}}, so batch loads that degrade into one id per
+ * call (N+1) show up next to the invocation timers.
+ * <p>
+ * Every call of an application repository is also observed as {@code lide.repository{repository,
+ * method, error}}, which with tracing enabled is the span between the service span and the JDBC
+ * spans (see {@link ObservedCalls}). Durations including the Spring Data internals are also in the
+ * Spring Boot repository metrics ({@code spring.data.repository.invocations}).
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+  /** Distribution summary name of batch load sizes. */
+  public static final String METRIC = "lide.repository.batch.size";
+  /** Observation (timer) name of repository calls. */
+  public static final String OBSERVATION = "lide.repository";
+
+  private final MeterRegistry registry;
+  private final ObservationRegistry observations;
+  private final Map<Class<?>, String> names = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the aspect with required dependencies.
+   *
+   * @param registry meter registry
+   * @param observations observation registry
+   */
+  public RepositoryMetricsAspect(@NonNull MeterRegistry registry, @NonNull ObservationRegistry observations) {
+    this.registry = registry;
+    this.observations = observations;
+  }
+
+  /**
+   * Observes one call of an application repository.
+   *
+   * @param call intercepted call
+   *
+   * @return call result
+   *
+   * @throws Throwable exception of the call, rethrown unchanged
+   */
+  @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+  public Object observe(ProceedingJoinPoint call) throws Throwable {
+    var repository = repositoryName(call);
+    if (repository == null) {
+      return call.proceed();
+    }
+    return ObservedCalls.observe(observations, OBSERVATION, "repository", repository, call);
+  }
+
+  /**
+   * Records the size of one batch load.
+   *
+   * @param call intercepted call
+   * @param ids requested ids
+   */
+  @Before("execution(* org.springframework.data.repository.CrudRepository+.findAllById(..)) && args(ids)")
+  public void recordBatchSize(JoinPoint call, Iterable<?> ids) {
+    if (ids == null) {
+      return;
+    }
+    long size;
+    if (ids instanceof Collection<?> collection) {
+      size = collection.size();
+    } else {
+      size = 0;
+      for (var ignored : ids) {
+        size++;
+      }
+    }
+    DistributionSummary.builder(METRIC)
+        .description("Ids requested per findAllById call")
+        .baseUnit("ids")
+        .tag("repository", Objects.requireNonNullElse(repositoryName(call), "other"))
+        .tag("method", call.getSignature().getName())
+        .register(registry)
+        .record(size);
+  }
+
+  /** Application repository interface of the called proxy, null for repositories of other libraries. */
+  private String repositoryName(JoinPoint call) {
+    var name = names.computeIfAbsent(call.getThis().getClass(), RepositoryMetricsAspect::repositoryName);
+    return name.isEmpty() ? null : name;
+  }
+
+  private static String repositoryName(Class<?> proxyClass) {
+    for (var type : proxyClass.getInterfaces()) {
+      if (Repository.class.isAssignableFrom(type) && type.getPackageName().startsWith("cz.vh.lide")) {
+        return type.getSimpleName();
+      }
+    }
+    return "";
+  }
+}
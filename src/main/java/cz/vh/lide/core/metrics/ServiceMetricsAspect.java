@@ -0,0 +1,50 @@
+package cz.vh.lide.core.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import lombok.NonNull;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes every public operation of the application services ({@code @Service} beans in
+ * core.service): timer {@code lide.service{service, method, error}} and, with tracing enabled, a
+ * span per call carrying the entity ids of the arguments (see {@link ObservedCalls}).
+ * <p>
+ * Calls inside one service (self-invocation) are not proxied and count towards the caller.
+ * Methods returning a lazy {@code Stream} are timed until the stream is returned, not consumed.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+  /** Observation (timer) name of service operations. */
+  public static final String METRIC = "lide.service";
+
+  private final ObservationRegistry registry;
+
+  /**
+   * Creates the aspect with required dependencies.
+   *
+   * @param registry observation registry
+   */
+  public ServiceMetricsAspect(@NonNull ObservationRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Observes one service call.
+   *
+   * @param call intercepted call
+   *
+   * @return call result
+   *
+   * @throws Throwable exception of the call, rethrown unchanged
+   */
+  @Around("execution(public * cz.vh.lide.core.service..*(..)) && @within(org.springframework.stereotype.Service)")
+  public Object observe(ProceedingJoinPoint call) throws Throwable {
+    return ObservedCalls.observe(registry, METRIC, "service",
+        call.getSignature().getDeclaringType().getSimpleName(), call);
+  }
+}
@@ -0,0 +1,159 @@
+package cz.vh.lide.core.metrics;
+
+import io.micrometer.context.ContextRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts JDBC statements executed while a {@link Scope} is open (one HTTP request, see
+ * ws.config.SqlStatementMetricsFilter).
+ * <p>
+ * Registered as a datasource-proxy {@code QueryExecutionListener} on the application DataSource
+ * (datasource-micrometer wraps it), so Hibernate, JdbcTemplate read models, search, change feed
+ * and import statements are all counted; a JDBC batch counts as one statement (one round trip).
+ * The scope is a Micrometer context-propagation value ({@value #CONTEXT_KEY}), so work handed to
+ * context-propagating executors (ParallelReads branches) is counted in the request's scope.
+ * <p>
+ * A scope also counts executions per distinct SQL text, so a statement repeated once per row of a
+ * parent query (N+1 over a lazy association) can be reported with {@link Scope#repeated(int)}.
+ */
+@Component
+public class SqlStatementCounter implements QueryExecutionListener {
+
+  /** Context-propagation key of the current scope. */
+  public static final String CONTEXT_KEY = "lide.sql.statements.scope";
+
+  /** Distinct SQL texts tracked per scope; further texts are only counted in the total. */
+  private static final int MAX_DISTINCT = 256;
+
+  private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+  /**
+   * Creates the counter and registers its scope for context propagation.
+   */
+  public SqlStatementCounter() {
+    ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY, current::get, current::set,
+        current::remove);
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    // counted after execution
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    var scope = current.get();
+    if (scope != null) {
+      scope.record(queryInfoList);
+    }
+  }
+
+  /**
+   * Starts counting on the current thread; statements also count in the enclosing scopes.
+   *
+   * @return scope; close it on the same thread
+   */
+  @NonNull
+  public Scope open() {
+    var scope = new Scope(current.get());
+    current.set(scope);
+    return scope;
+  }
+
+  /**
+   * Statement count of the innermost open scope of the current thread.
+   *
+   * @return count, empty outside a scope
+   */
+  public OptionalInt currentCount() {
+    var scope = current.get();
+    return scope == null ? OptionalInt.empty() : OptionalInt.of(scope.count());
+  }
+
+  /**
+   * Execution count of one distinct SQL text.
+   *
+   * @param sql SQL text as sent to the driver
+   * @param count executions within the scope
+   */
+  public record Repeat(String sql, int count) {
+  }
+
+  /**
+   * Counting window of one request; may be updated from the threads its work was handed to.
+   */
+  public final class Scope implements AutoCloseable {
+
+    private final Scope parent;
+    private final Map<String, AtomicInteger> bySql = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Scope(Scope parent) {
+      this.parent = parent;
+    }
+
+    private void record(List<QueryInfo> queries) {
+      for (var scope = this; scope != null; scope = scope.parent) {
+        scope.count.incrementAndGet();
+        for (var query : queries) {
+          var sql = query.getQuery();
+          var n = scope.bySql.get(sql);
+          if (n == null && scope.bySql.size() < MAX_DISTINCT) {
+            n = scope.bySql.computeIfAbsent(sql, s -> new AtomicInteger());
+          }
+          if (n != null) {
+            n.incrementAndGet();
+          }
+        }
+      }
+    }
+
+    /**
+     * Statements executed since the scope was opened.
+     *
+     * @return statement count
+     */
+    public int count() {
+      return count.get();
+    }
+
+    /**
+     * Statements executed at least {@code threshold} times within the scope, most frequent first.
+     *
+     * @param threshold minimum executions of the same SQL text
+     *
+     * @return repeated statements
+     */
+    @NonNull
+    public List<Repeat> repeated(int threshold) {
+      var result = new ArrayList<Repeat>();
+      bySql.forEach((sql, n) -> {
+        if (n.get() >= threshold) {
+          result.add(new Repeat(sql, n.get()));
+        }
+      });
+      result.sort(Comparator.comparingInt(Repeat::count).reversed());
+      return result;
+    }
+
+    @Override
+    public void close() {
+      if (parent == null) {
+        current.remove();
+      } else {
+        current.set(parent);
+      }
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.db.dto.BaseDto;
+import cz.vh.lide.db.dto.EntryDto;
+import cz.vh.lide.db.dto.PersonDto;
+import cz.vh.lide.db.validator.dbValidator;
+import cz.vh.lide.ws.dto.BulkDtos.BulkItemResult;
+import cz.vh.lide.ws.dto.BulkDtos.BulkResult;
+import cz.vh.lide.ws.dto.BulkDtos.BulkStatus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk create/update of persons and entries with per-item results.
+ * <p>
+ * Items are validated up front with {@link dbValidator}; valid items are written in chunks of
+ * {@code app.bulk.chunk-size}, one transaction per chunk, so inserts go out as JDBC batches and
+ * the persistence context never grows beyond one chunk. When a chunk fails (e.g. a constraint
+ * violation or an unknown id), it is retried item by item to isolate the failing items.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("unused")
+public class BulkWriteService {
+
+  /** Upper bound of items accepted by one bulk request. */
+  public static final int MAX_ITEMS = 10_000;
+
+  private final PersonService personService;
+  private final EntryService entryService;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param personService person service
+   * @param entryService entry service
+   * @param transactionManager transaction manager for per-chunk transactions
+   * @param chunkSize number of items written per transaction
+   */
+  public BulkWriteService(@NonNull PersonService personService,
+      @NonNull EntryService entryService,
+      @NonNull PlatformTransactionManager transactionManager,
+      @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+    this.personService = personService;
+    this.entryService = entryService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = Math.max(1, chunkSize);
+  }
+
+  /**
+   * Creates persons without id and updates persons with id.
+   *
+   * @param dtos person data in request order; rejected items may be null.
+   * @param rejected validation errors by item index, produced by the caller (nullable).
+   *
+   * @return per-item results in request order.
+   */
+  @NonNull
+  public BulkResult writePersons(@NonNull List<PersonDto> dtos, Map<Integer, String> rejected) {
+    return write(dtos, rejected, "Person", personService::upsertAll);
+  }
+
+  /**
+   * Creates entries without id and updates entries with id.
+   *
+   * @param dtos entry data in request order; rejected items may be null.
+   * @param rejected validation errors by item index, produced by the caller (nullable).
+   *
+   * @return per-item results in request order.
+   */
+  @NonNull
+  public BulkResult writeEntries(@NonNull List<EntryDto> dtos, Map<Integer, String> rejected) {
+    return write(dtos, rejected, "Entry", entryService::upsertAll);
+  }
+
+  private <D extends BaseDto> BulkResult write(List<D> dtos, Map<Integer, String> rejected,
+      String entityName, Function<List<D>, List<D>> upsertAll) {
+    if (dtos.size() > MAX_ITEMS) {
+      throw new IllegalArgumentException("Bulk size must not exceed %d items".formatted(MAX_ITEMS));
+    }
+
+    // 1) Validate items, collect indexes of the valid ones
+    var results = new BulkItemResult[dtos.size()];
+    var pending = new ArrayList<Integer>();
+    for (int i = 0; i < dtos.size(); i++) {
+      var dto = dtos.get(i);
+      var rejection = rejected == null ? null : rejected.get(i);
+      if (rejection != null || dto == null) {
+        results[i] = failed(i, dto, rejection != null ? rejection : "Item must not be null");
+        continue;
+      }
+      try {
+        if (dto.getId() == null) {
+          dbValidator.validateCreateEntity(dto, entityName);
+        }
+        pending.add(i);
+      } catch (IllegalArgumentException e) {
+        results[i] = failed(i, dto, e.getMessage());
+      }
+    }
+
+    // 2) Write valid items chunk by chunk, isolating failures of a chunk item by item
+    for (int from = 0; from < pending.size(); from += chunkSize) {
+      var chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+      try {
+        writeChunk(dtos, chunk, results, upsertAll);
+      } catch (RuntimeException chunkError) {
+        log.debug("Bulk {} chunk failed, retrying item by item", entityName, chunkError);
+        for (var index : chunk) {
+          try {
+            writeChunk(dtos, List.of(index), results, upsertAll);
+          } catch (RuntimeException e) {
+            results[index] = failed(index, dtos.get(index), message(e));
+          }
+        }
+      }
+    }
+
+    var items = Arrays.asList(results);
+    return new BulkResult(
+        count(items, BulkStatus.CREATED),
+        count(items, BulkStatus.UPDATED),
+        count(items, BulkStatus.FAILED),
+        items);
+  }
+
+  private <D extends BaseDto> void writeChunk(List<D> dtos, List<Integer> chunk, BulkItemResult[] results,
+      Function<List<D>, List<D>> upsertAll) {
+    var input = chunk.stream().map(dtos::get).toList();
+    var saved = transactionTemplate.execute(status -> upsertAll.apply(input));
+    for (int k = 0; k < chunk.size(); k++) {
+      int index = chunk.get(k);
+      var status = input.get(k).getId() == null ? BulkStatus.CREATED : BulkStatus.UPDATED;
+      results[index] = new BulkItemResult(index, status, saved.get(k).getId(), null);
+    }
+  }
+
+  private static BulkItemResult failed(int index, BaseDto dto, String error) {
+    return new BulkItemResult(index, BulkStatus.FAILED, dto == null ? null : dto.getId(), error);
+  }
+
+  private static String message(RuntimeException e) {
+    var cause = NestedExceptionUtils.getMostSpecificCause(e);
+    return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+  }
+
+  private static int count(List<BulkItemResult> items, BulkStatus status) {
+    return (int) items.stream().filter(r -> r.status() == status).count();
+  }
+}
@@ -0,0 +1,185 @@
+package cz.vh.lide.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.ws.dto.ChangeDtos.Change;
+import cz.vh.lide.ws.dto.ChangeDtos.ChangeFeed;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Incremental change feed over all nine tables for client sync.
+ * <p>
+ * Rows are returned in {@code (updated_at, id)} order after the position encoded in an opaque
+ * token; every table branch is a range scan on its {@code (updated_at, id)} index. Soft deletes
+ * bump {@code updated_at}, so deleted rows appear in the feed as {@code deleted}.
+ * <p>
+ * The upper bound is computed by the database: {@code updated_at} is stamped by a trigger with the
+ * database clock at the time of the write (changelog 010), so rows a still running transaction will
+ * commit are never older than its {@code xact_start}, and a transaction that has not written yet can
+ * only stamp rows later than now. The feed stops strictly below the oldest open transaction that has
+ * written ({@code backend_xid} assigned) and below {@code clock_timestamp() - app.changes.settle-time};
+ * the settle time covers the short window between stamping a row and the xid becoming visible. The
+ * token therefore cannot move past rows that commit later, whatever the commit delay or the app clock,
+ * while read-only transactions (exports, NDJSON cursors, idle sessions) do not hold the feed back.
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("unused")
+public class ChangeFeedService {
+
+  /** Upper bound of changes returned by {@link #changes(String, int)}. */
+  public static final int MAX_LIMIT = 5000;
+
+  private static final UUID MIN_ID = new UUID(0L, 0L);
+
+  private static final TypeReference<LinkedHashMap<String, String>> DATA_TYPE = new TypeReference<>() {
+  };
+
+  private static final String BRANCH = """
+      (select '%1$s' as type, x.id, x.created_at, x.updated_at, x.deleted_at,
+              case when x.deleted_at is null then json_build_object(%2$s)::text end as data
+         from %1$s x
+        where (x.updated_at, x.id) > (:since, :sinceId)
+          and x.updated_at < (select until from bound)
+        order by x.updated_at, x.id
+        limit :limit)
+      """;
+
+  /**
+   * Oldest start of an open transaction of any other client session of this database that has
+   * written (read-only transactions never stamp rows), capped by the settle time. Sessions of the
+   * same role see each other's {@code xact_start} and {@code backend_xid} in {@code pg_stat_activity}.
+   */
+  private static final String BOUND = """
+      with bound as (
+        select least(clock_timestamp() - make_interval(secs => :settleSeconds),
+                     coalesce((select min(a.xact_start)
+                                 from pg_stat_activity a
+                                where a.datname = current_database()
+                                  and a.backend_type = 'client backend'
+                                  and a.pid <> pg_backend_pid()
+                                  and a.backend_xid is not null), 'infinity'::timestamptz)) as until
+      )
+      """;
+
+  private static final String CHANGES_SQL = Arrays.stream(EntityKind.values())
+      .map(kind -> BRANCH.formatted(kind.table(), jsonFields(ExportService.FIELDS.get(kind.table()))))
+      .collect(Collectors.joining("union all\n", BOUND, "order by updated_at, id\nlimit :limit\n"));
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final Duration settleTime;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for the feed statement
+   * @param objectMapper mapper decoding the row data
+   * @param settleTime minimum age of a returned modification (database clock), on top of the
+   *     open-transaction bound
+   */
+  public ChangeFeedService(@NonNull NamedParameterJdbcTemplate jdbc,
+      @NonNull ObjectMapper objectMapper,
+      @Value("${app.changes.settle-time:5s}") Duration settleTime) {
+    this.jdbc = jdbc;
+    this.objectMapper = objectMapper;
+    this.settleTime = settleTime;
+  }
+
+  /**
+   * Returns the changes after a token.
+   *
+   * @param since token from a previous response; blank starts from the beginning (full sync)
+   * @param limit maximum number of changes, clamped to 1..{@value #MAX_LIMIT}
+   *
+   * @return changes in modification order and the token to continue from
+   */
+  @NonNull
+  public ChangeFeed changes(String since, int limit) {
+    var position = decode(since);
+    int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+    var params = Map.of(
+        "since", OffsetDateTime.ofInstant(position.updatedAt(), ZoneOffset.UTC),
+        "sinceId", position.id(),
+        "settleSeconds", settleTime.toMillis() / 1000.0,
+        "limit", size);
+    var changes = jdbc.query(CHANGES_SQL, params, (rs, rowNum) -> {
+      var createdAt = rs.getObject("created_at", OffsetDateTime.class);
+      var updatedAt = rs.getObject("updated_at", OffsetDateTime.class).toInstant();
+      var data = rs.getString("data");
+      String operation;
+      if (rs.getObject("deleted_at") != null) {
+        operation = "deleted";
+      } else if (createdAt != null && !createdAt.toInstant().isBefore(updatedAt)) {
+        operation = "created";
+      } else {
+        operation = "updated";
+      }
+      return new Change(rs.getString("type"), rs.getObject("id", UUID.class), operation, updatedAt,
+          data == null ? null : readData(data));
+    });
+    if (changes.isEmpty()) {
+      return new ChangeFeed(changes, since == null || since.isBlank() ? null : since.trim(), false);
+    }
+    var last = changes.get(changes.size() - 1);
+    return new ChangeFeed(changes, encode(new Position(last.updatedAt(), last.id())), changes.size() == size);
+  }
+
+  private Map<String, String> readData(String json) {
+    try {
+      return objectMapper.readValue(json, DATA_TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot decode change data", e);
+    }
+  }
+
+  private static String jsonFields(Map<String, String> fields) {
+    return fields.entrySet().stream()
+        .map(field -> "'%s', %s".formatted(field.getKey(), field.getValue()))
+        .collect(Collectors.joining(", "));
+  }
+
+  private static String encode(Position position) {
+    var raw = ChronoUnit.MICROS.between(Instant.EPOCH, position.updatedAt()) + ":" + position.id();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Position decode(String token) {
+    if (token == null || token.isBlank()) {
+      return new Position(Instant.EPOCH, MIN_ID);
+    }
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+      var parts = raw.split(":", 2);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid change token");
+      }
+      var updatedAt = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+      return new Position(updatedAt, UUID.fromString(parts[1]));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid change token", e);
+    }
+  }
+
+  /** Feed position: the last returned row. */
+  private record Position(Instant updatedAt, UUID id) {
+  }
+}
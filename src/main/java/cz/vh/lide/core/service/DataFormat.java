@@ -0,0 +1,49 @@
+package cz.vh.lide.core.service;
+
+import java.util.Locale;
+
+/**
+ * Record stream formats of the import and export endpoints.
+ */
+public enum DataFormat {
+
+  /** Newline-delimited JSON, one object per line; may mix record types. */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /** CSV with a header row; one record type per stream. */
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String extension;
+
+  DataFormat(String mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  public String mediaType() {
+    return mediaType;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  /**
+   * Resolves a format from a request parameter (case-insensitive).
+   *
+   * @param value {@code ndjson} or {@code csv}; null means NDJSON
+   *
+   * @return resolved format
+   */
+  public static DataFormat fromCode(String value) {
+    if (value == null || value.isBlank()) {
+      return NDJSON;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+  }
+}
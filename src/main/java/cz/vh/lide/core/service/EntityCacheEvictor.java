@@ -0,0 +1,60 @@
+package cz.vh.lide.core.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.UUID;
+import lombok.NonNull;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts Hibernate second-level cache entries for writes that bypass the persistence context
+ * (JPQL soft-delete updates, JDBC imports).
+ * <p>
+ * Entries are evicted immediately and again after commit, so a concurrent reader cannot put the
+ * pre-commit state back into the cache between the eviction and the commit.
+ */
+@Component
+public class EntityCacheEvictor {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  /**
+   * Creates the evictor with required dependencies.
+   *
+   * @param entityManagerFactory factory owning the second-level cache
+   */
+  public EntityCacheEvictor(@NonNull EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * Evicts one cached entity.
+   *
+   * @param entityType cached entity class
+   * @param id entity id
+   */
+  public void evict(@NonNull Class<?> entityType, @NonNull UUID id) {
+    nowAndAfterCommit(() -> entityManagerFactory.getCache().evict(entityType, id));
+  }
+
+  /**
+   * Evicts all cached query results, e.g. after rows were inserted outside Hibernate.
+   */
+  public void evictQueries() {
+    nowAndAfterCommit(() -> entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions());
+  }
+
+  private void nowAndAfterCommit(Runnable eviction) {
+    eviction.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          eviction.run();
+        }
+      });
+    }
+  }
+}
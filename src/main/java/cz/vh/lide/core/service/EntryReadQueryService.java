@@ -0,0 +1,258 @@
+package cz.vh.lide.core.service;
+
+import static cz.vh.lide.core.service.ReadModelSupport.isoUtc;
+import static cz.vh.lide.core.service.ReadModelSupport.readJson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.vh.lide.core.service.ResourceVersionService.Version;
+import cz.vh.lide.ws.dto.EntryDetailDtos.EntryDetailView;
+import cz.vh.lide.ws.dto.EntryDetailDtos.MediaWithLink;
+import cz.vh.lide.ws.dto.EntryDetailDtos.PersonWithRole;
+import cz.vh.lide.ws.dto.TagDtos.TagView;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read-model query for the aggregated entry detail view.
+ * <p>
+ * Builds {@link EntryDetailView} from a single SQL statement: the entry row plus
+ * correlated {@code json_agg} sub-selects for tags, persons (with role) and media
+ * (with caption/sort order). Soft-deleted rows are filtered and media are ordered
+ * by the database ({@code sort_order} nulls last, then link creation time). Assembled views are
+ * served from {@link ReadModelCache} until a committed write evicts them ({@link ReadModelCacheInvalidator}).
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("unused")
+public class EntryReadQueryService {
+
+  /** Upper bound of ids accepted by {@link #findAll(Collection)}. */
+  public static final int MAX_BATCH_SIZE = 200;
+
+  private static final String TAGS_JSON = """
+      select coalesce(json_agg(json_build_object('id', t.id, 'name', t.name)
+               order by t.name, t.id), '[]')
+        from entry_tag et
+        join tag t on t.id = et.tag_id
+       where et.entry_id = e.id
+         and et.deleted_at is null
+         and t.deleted_at is null
+      """;
+
+  private static final String PERSONS_JSON = """
+      select coalesce(json_agg(json_build_object(
+               'personId', p.id,
+               'entryId', pe.entry_id,
+               'firstName', p.first_name,
+               'lastName', p.last_name,
+               'nickname', p.nickname,
+               'birthDate', p.birth_date,
+               'phone', p.phone,
+               'email', p.email,
+               'note', p.note,
+               'role', pe.role)
+               order by pe.created_at, pe.id), '[]')
+        from person_entry pe
+        join person p on p.id = pe.person_id
+       where pe.entry_id = e.id
+         and pe.deleted_at is null
+         and p.deleted_at is null
+      """;
+
+  private static final String MEDIA_JSON = """
+      select coalesce(json_agg(json_build_object(
+               'mediaId', m.id,
+               'entryId', me.entry_id,
+               'mediaType', m.media_type,
+               'mimeType', m.mime_type,
+               'uri', m.uri,
+               'title', m.title,
+               'note', m.note,
+               'takenAt', %s,
+               'caption', me.caption,
+               'sortOrder', me.sort_order)
+               order by me.sort_order nulls last, me.created_at, me.id), '[]')
+        from media_entry me
+        join media m on m.id = me.media_id
+       where me.entry_id = e.id
+         and me.deleted_at is null
+         and m.deleted_at is null
+      """.formatted(isoUtc("m.taken_at"));
+
+  private static final String ENTRY_SELECT = """
+      select e.id, e.type, e.title, e.content, e.occurred_at,
+             (%s) as tags,
+             (%s) as persons,
+             (%s) as media
+        from entry e
+      """.formatted(TAGS_JSON, PERSONS_JSON, MEDIA_JSON);
+
+  private static final String ENTRY_SQL = ENTRY_SELECT + """
+       where e.id = :entryId
+         and e.deleted_at is null
+      """;
+
+  private static final String ENTRY_SQL_BATCH = ENTRY_SELECT + """
+       where e.id in (:ids)
+         and e.deleted_at is null
+      """;
+
+  /** Entry row without aggregates; the aggregates run as separate branches in parallel mode. */
+  private static final String ENTRY_ROOT_SQL = """
+      select e.id, e.type, e.title, e.content, e.occurred_at,
+             null as tags, null as persons, null as media
+        from entry e
+       where e.id = :entryId
+         and e.deleted_at is null
+      """;
+
+  /** One aggregate sub-select evaluated on its own (parallel mode). */
+  private static final String ENTRY_BRANCH_SQL = """
+      select (%s)
+        from entry e
+       where e.id = :entryId
+      """;
+
+  private static final TypeReference<List<TagView>> TAG_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<PersonWithRole>> PERSON_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<MediaWithLink>> MEDIA_LIST = new TypeReference<>() {
+  };
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final ReadModelCache readModelCache;
+  private final ParallelReads parallelReads;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for the read-model statement
+   * @param objectMapper mapper decoding the aggregated JSON columns
+   * @param readModelCache read-through cache of assembled views
+   * @param parallelReads concurrent branch execution for the parallel mode
+   */
+  public EntryReadQueryService(@NonNull NamedParameterJdbcTemplate jdbc,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull ReadModelCache readModelCache,
+      @NonNull ParallelReads parallelReads) {
+    this.jdbc = jdbc;
+    this.objectMapper = objectMapper;
+    this.readModelCache = readModelCache;
+    this.parallelReads = parallelReads;
+  }
+
+  /**
+   * Loads the aggregated entry view in one round trip.
+   *
+   * @param entryId entry id.
+   * @param version current version from ResourceVersionService (read first), or null to accept any cached view.
+   *
+   * @return entry view, or empty when the entry does not exist or is soft-deleted.
+   */
+  @NonNull
+  public Optional<EntryDetailView> find(@NonNull UUID entryId, Version version) {
+    return readModelCache.entries().find(entryId, version, this::load);
+  }
+
+  /**
+   * Loads aggregated entry views for many ids in one round trip.
+   *
+   * @param ids entry ids (duplicates are ignored), at most {@value #MAX_BATCH_SIZE}.
+   *
+   * @return views in the order of the requested ids; missing or soft-deleted ids are skipped.
+   */
+  @NonNull
+  public List<EntryDetailView> findAll(@NonNull Collection<UUID> ids) {
+    var distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Batch size must not exceed %d ids".formatted(MAX_BATCH_SIZE));
+    }
+    if (distinct.isEmpty()) {
+      return List.of();
+    }
+
+    return readModelCache.entries().findAll(distinct, this::loadAll);
+  }
+
+  /**
+   * Loads the aggregated entry view with the entry row and each aggregate (tags, persons, media)
+   * queried concurrently on separate connections ({@link ReadQueryMode#PARALLEL}).
+   * Runs without a transaction, so the caller holds no connection while the branches wait for theirs.
+   *
+   * @param entryId entry id.
+   * @param version current version from ResourceVersionService (read first), or null to accept any cached view.
+   *
+   * @return entry view, or empty when the entry does not exist or is soft-deleted.
+   */
+  @NonNull
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public Optional<EntryDetailView> findParallel(@NonNull UUID entryId, Version version) {
+    return readModelCache.entries().find(entryId, version, this::loadParallel);
+  }
+
+  private Optional<EntryDetailView> load(UUID entryId) {
+    var rows = jdbc.query(ENTRY_SQL, Map.of("entryId", entryId), (rs, rowNum) -> toView(rs));
+    return rows.stream().findFirst();
+  }
+
+  private List<EntryDetailView> loadAll(List<UUID> ids) {
+    return jdbc.query(ENTRY_SQL_BATCH, Map.of("ids", ids), (rs, rowNum) -> toView(rs));
+  }
+
+  private Optional<EntryDetailView> loadParallel(UUID entryId) {
+    var params = Map.of("entryId", entryId);
+    var branchJdbc = parallelReads.jdbc();
+    try (var scope = parallelReads.open()) {
+      var root = scope.fork("entry", () -> branchJdbc.query(ENTRY_ROOT_SQL, params,
+          (rs, rowNum) -> toView(rs)).stream().findFirst());
+      var tags = scope.fork("tags", () -> branch(branchJdbc, TAGS_JSON, params));
+      var persons = scope.fork("persons", () -> branch(branchJdbc, PERSONS_JSON, params));
+      var media = scope.fork("media", () -> branch(branchJdbc, MEDIA_JSON, params));
+      scope.join();
+      return root.get().map(entry -> new EntryDetailView(
+          entry.id(),
+          entry.type(),
+          entry.title(),
+          entry.content(),
+          entry.occurredAt(),
+          readJson(objectMapper, tags.get(), TAG_LIST),
+          readJson(objectMapper, persons.get(), PERSON_LIST),
+          readJson(objectMapper, media.get(), MEDIA_LIST)));
+    }
+  }
+
+  private static String branch(NamedParameterJdbcTemplate branchJdbc, String aggregateSql, Map<String, ?> params) {
+    return branchJdbc.queryForList(ENTRY_BRANCH_SQL.formatted(aggregateSql), params, String.class).stream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  private EntryDetailView toView(ResultSet rs) throws SQLException {
+    var occurredAt = rs.getObject("occurred_at", OffsetDateTime.class);
+    return new EntryDetailView(
+        rs.getObject("id", UUID.class),
+        rs.getString("type"),
+        rs.getString("title"),
+        rs.getString("content"),
+        occurredAt == null ? null : occurredAt.toInstant(),
+        readJson(objectMapper, rs.getString("tags"), TAG_LIST),
+        readJson(objectMapper, rs.getString("persons"), PERSON_LIST),
+        readJson(objectMapper, rs.getString("media"), MEDIA_LIST));
+  }
+}
@@ -1,5 +1,7 @@
 package cz.vh.lide.core.service;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.tools.JpaTools;
 import cz.vh.lide.db.dto.EntryDto;
 import cz.vh.lide.db.filter.EntryFilter;
@@ -13,13 +15,21 @@ import cz.vh.lide.db.repository.EntryRepository;
 import cz.vh.lide.db.specification.EntrySpecifications;
 import cz.vh.lide.db.validator.dbValidator;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.NonNull;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +49,10 @@ public class EntryService {
   private final PersonEntryService personEntryService;
   private final MediaEntryService mediaEntryService;
   private final DbMapper dbMapper;
+  private final EntityManager entityManager;
+  private final SearchIndexService searchIndexService;
+  private final LocalSearchIndexService localSearchIndexService;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the service with required dependencies.
@@ -48,17 +62,29 @@ public class EntryService {
    * @param personEntryService person-entry relation service
    * @param mediaEntryService media-entry relation service
    * @param dbMapper mapper between DTOs and entities
+   * @param entityManager JPA entity manager for count-free slice queries
+   * @param searchIndexService unified search index maintained on write
+   * @param localSearchIndexService optional embedded full-text index for free-text filters
+   * @param eventPublisher publisher of entity change events
    */
   public EntryService(@NonNull EntryRepository repository,
       @NonNull EntryTagService entryTagService,
       @NonNull PersonEntryService personEntryService,
       @NonNull MediaEntryService mediaEntryService,
-      @NonNull DbMapper dbMapper) {
+      @NonNull DbMapper dbMapper,
+      @NonNull EntityManager entityManager,
+      @NonNull SearchIndexService searchIndexService,
+      @NonNull LocalSearchIndexService localSearchIndexService,
+      @NonNull ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.entryTagService = entryTagService;
     this.personEntryService = personEntryService;
     this.mediaEntryService = mediaEntryService;
     this.dbMapper = dbMapper;
+    this.entityManager = entityManager;
+    this.searchIndexService = searchIndexService;
+    this.localSearchIndexService = localSearchIndexService;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -71,6 +97,40 @@ public class EntryService {
   @NonNull
   @Transactional
   public EntryDto create(@NonNull EntryDto entryDto) {
+    var savedEntry = createEntity(entryDto);
+    searchIndexService.refresh(SearchEntityType.ENTRY, savedEntry.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.ENTRY, savedEntry.getId()));
+    return dbMapper.toEntryDto(savedEntry);
+  }
+
+  /**
+   * Creates or updates many entries in the current transaction.
+   * DTOs without id are created (including their relations), DTOs with id update scalar fields.
+   * Inserts are flushed once at the end, so Hibernate sends them as JDBC batches
+   * ({@code hibernate.jdbc.batch_size}), and the search index is refreshed in one statement.
+   *
+   * @param entryDtos entry data.
+   *
+   * @return saved entries in input order.
+   */
+  @NonNull
+  @Transactional
+  public List<EntryDto> upsertAll(@NonNull List<EntryDto> entryDtos) {
+    var saved = new ArrayList<Entry>(entryDtos.size());
+    for (var dto : entryDtos) {
+      saved.add(dto.getId() == null ? createEntity(dto) : updateEntity(dto.getId(), dto));
+    }
+    entityManager.flush();
+    var ids = saved.stream().map(Entry::getId).toList();
+    searchIndexService.refreshAll(SearchEntityType.ENTRY, ids);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.ENTRY, ids));
+    var result = saved.stream().map(dbMapper::toEntryDto).toList();
+    entityManager.clear();
+    return result;
+  }
+
+  @NonNull
+  private Entry createEntity(@NonNull EntryDto entryDto) {
     // 1) Validate input DTO for creation
     dbValidator.validateCreateEntity(entryDto, "Entry");
 
@@ -116,9 +176,8 @@ public class EntryService {
       JpaTools.safeLink(entry, entityEntry, Entry::getMediaEntries, MediaEntry::setEntry);
     }
 
-    // 6) Persist and return DTO
-    var savedEntry = repository.save(entry);
-    return dbMapper.toEntryDto(savedEntry);
+    // 6) Persist
+    return repository.save(entry);
   }
 
   /**
@@ -132,6 +191,14 @@ public class EntryService {
   @NonNull
   @Transactional
   public EntryDto update(@NonNull UUID id, @NonNull EntryDto entryDto) {
+    var savedEntry = updateEntity(id, entryDto);
+    searchIndexService.refresh(SearchEntityType.ENTRY, savedEntry.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.ENTRY, savedEntry.getId()));
+    return dbMapper.toEntryDto(savedEntry);
+  }
+
+  @NonNull
+  private Entry updateEntity(@NonNull UUID id, @NonNull EntryDto entryDto) {
     var entity = getEntity(id);
     dbMapper.updateEntryFromDto(entryDto, entity);
 
@@ -139,8 +206,7 @@ public class EntryService {
       throw new FatalDbException("Mapping update EntryDto to Entry entity resulted in null");
     }
 
-    var savedEntry = repository.save(entity);
-    return dbMapper.toEntryDto(savedEntry);
+    return repository.save(entity);
   }
 
   /**
@@ -179,11 +245,70 @@ public class EntryService {
    */
   @NonNull
   public Page<EntryDto> list(@NonNull Pageable pageable, EntryFilter filter) {
-    var spec = Objects.requireNonNull(EntrySpecifications.build(filter), "Specification must not be null");
+    var spec = Objects.requireNonNull(EntrySpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
     return repository.findAll(spec, pageable)
         .map(dbMapper::toEntryDto);
   }
 
+  /**
+   * Stream all non-deleted entries as shallow DTOs (relation lists left empty) over a database cursor.
+   * Entities are detached once mapped, so memory use does not grow with the number of rows.
+   *
+   * @param action consumer of each entry DTO, called inside this read-only transaction
+   */
+  public void streamAll(@NonNull Consumer<EntryDto> action) {
+    try (var rows = repository.streamByDeletedAtIsNull()) {
+      rows.forEach(entity -> {
+        action.accept(dbMapper.toEntryShallowDto(entity));
+        entityManager.detach(entity);
+      });
+    }
+  }
+
+  /**
+   * List entries with paging and optional filtering without computing a total count.
+   *
+   * @param pageable paging/sorting configuration
+   * @param filter filter criteria (nullable)
+   *
+   * @return slice of entry DTOs
+   */
+  @NonNull
+  public Slice<EntryDto> listSlice(@NonNull Pageable pageable, EntryFilter filter) {
+    var spec = Objects.requireNonNull(EntrySpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
+    return JpaTools.findSlice(entityManager, Entry.class, spec, pageable)
+        .map(dbMapper::toEntryDto);
+  }
+
+  /**
+   * Estimate number of non-deleted entries from planner statistics.
+   * Falls back to an exact count when the table has not been analyzed yet.
+   *
+   * @return estimated count
+   */
+  public long estimateCount() {
+    return JpaTools.estimateCount(entityManager, Entry.class,
+        Objects.requireNonNull(EntrySpecifications.build(null), "Specification must not be null"));
+  }
+
+  /**
+   * Scroll entries with keyset pagination and optional filtering.
+   *
+   * @param position scroll position (keyset) to continue from
+   * @param size maximum number of items in the window
+   * @param sort sorting configuration; non-null properties only (the id is appended as tie-breaker)
+   * @param filter filter criteria (nullable)
+   *
+   * @return window of entry DTOs
+   */
+  @NonNull
+  public Window<EntryDto> scroll(@NonNull ScrollPosition position, int size, @NonNull Sort sort, EntryFilter filter) {
+    var spec = Objects.requireNonNull(EntrySpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
+    var keysetSort = JpaTools.keysetSort(Entry.class, sort);
+    Window<Entry> window = repository.findBy(spec, q -> q.sortBy(keysetSort).limit(size).scroll(position));
+    return window.map(dbMapper::toEntryDto);
+  }
+
   /**
    * Soft delete entry by id.
    *
@@ -195,6 +320,33 @@ public class EntryService {
     dbValidator.validateCanDeletedEntity(entity, "Entry");
     UUID entityId = Objects.requireNonNull(entity.getId(), "Entry id must not be null");
     repository.softDelete(entityId);
+    searchIndexService.refresh(SearchEntityType.ENTRY, entityId);
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.ENTRY, entityId));
+  }
+
+  /**
+   * Routes the free-text filter through the local search index when it is enabled:
+   * the text predicate is replaced by the ids of the index hits, so the database
+   * fetches rows by primary key instead of scanning with LIKE. The index matches the same
+   * substrings of the same columns; queries shorter than three characters, matching more than
+   * LocalSearchIndexService.MAX_HITS documents, or including soft-deleted rows (not indexed)
+   * keep the LIKE filter.
+   *
+   * @param filter filter criteria (nullable)
+   *
+   * @return filter to build the specification from
+   */
+  private EntryFilter resolveTextSearch(EntryFilter filter) {
+    if (filter == null || filter.getTextContains() == null || filter.getTextContains().isBlank()
+        || Boolean.TRUE.equals(filter.getIncludeDeleted()) || !localSearchIndexService.isEnabled()) {
+      return filter;
+    }
+    return localSearchIndexService.searchIds(SearchEntityType.ENTRY, filter.getTextContains())
+        .map(ids -> filter.toBuilder()
+            .textContains(null)
+            .ids(ids)
+            .build())
+        .orElse(filter);
   }
 
   /**
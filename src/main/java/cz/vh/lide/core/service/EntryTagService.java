@@ -1,5 +1,7 @@
 package cz.vh.lide.core.service;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.db.dto.EntryTagDto;
 import cz.vh.lide.db.entity.EntryTag;
 import cz.vh.lide.db.exception.FatalDbException;
@@ -11,6 +13,7 @@ import cz.vh.lide.db.validator.dbValidator;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,16 +29,20 @@ public class EntryTagService {
 
   private final EntryTagRepository repository;
   private final DbMapper dbMapper;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the service with required dependencies.
    *
    * @param repository entry-tag repository
    * @param dbMapper mapper between DTOs and entities
+   * @param eventPublisher publisher of entity change events
    */
-  public EntryTagService(@NonNull EntryTagRepository repository, @NonNull DbMapper dbMapper) {
+  public EntryTagService(@NonNull EntryTagRepository repository, @NonNull DbMapper dbMapper,
+      @NonNull ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.dbMapper = dbMapper;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -58,6 +65,7 @@ public class EntryTagService {
     // links are never created in binding entities
 
     var savedEntryTag = repository.save(entryTag);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.ENTRY_TAG, savedEntryTag.getId()));
     return dbMapper.toEntryTagDto(savedEntryTag);
   }
 
@@ -99,6 +107,7 @@ public class EntryTagService {
     dbValidator.validateCanDeletedEntity(entity, "EntryTag");
     UUID entityId = Objects.requireNonNull(entity.getId(), "EntryTag id must not be null");
     repository.softDelete(entityId);
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.ENTRY_TAG, entityId));
   }
 
   /**
@@ -0,0 +1,252 @@
+package cz.vh.lide.core.service;
+
+import static cz.vh.lide.core.service.ReadModelSupport.isoUtc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streaming export of the dataset in the record format accepted by {@link ImportService}.
+ * <p>
+ * Rows are read with a server-side cursor (a read-only transaction plus JDBC fetch size
+ * {@code app.export.fetch-size}) and written to the output stream one by one, so heap usage
+ * does not depend on table size. Soft-deleted rows are not exported; links reference nodes by id.
+ * <p>
+ * All record types of one export are read in a single read-only REPEATABLE READ transaction, so they
+ * come from one snapshot: a link never references a node created after its section was written.
+ */
+@Service
+@SuppressWarnings("unused")
+public class ExportService {
+
+  /** Record types per exported dataset, in import dependency order. */
+  private static final Map<String, List<String>> DATASETS = Map.of(
+      "persons", List.of("person"),
+      "tags", List.of("tag"),
+      "entries", List.of("entry"),
+      "media", List.of("media"),
+      "links", List.of("person_tag", "entry_tag", "person_entry", "media_entry", "person_relation"),
+      "all", List.of("person", "tag", "entry", "media",
+          "person_tag", "entry_tag", "person_entry", "media_entry", "person_relation"));
+
+  /**
+   * Exported fields per record type: field name → SQL expression rendering text (alias {@code x}).
+   * Also used by {@link ChangeFeedService} to render changed rows.
+   */
+  static final Map<String, Map<String, String>> FIELDS = Map.of(
+      "person", fields(
+          "id", "x.id::text",
+          "firstName", "x.first_name",
+          "lastName", "x.last_name",
+          "nickname", "x.nickname",
+          "birthDate", "x.birth_date::text",
+          "phone", "x.phone",
+          "email", "x.email",
+          "note", "x.note"),
+      "tag", fields(
+          "id", "x.id::text",
+          "name", "x.name"),
+      "entry", fields(
+          "id", "x.id::text",
+          "type", "x.type",
+          "title", "x.title",
+          "content", "x.content",
+          "occurredAt", isoUtc("x.occurred_at")),
+      "media", fields(
+          "id", "x.id::text",
+          "mediaType", "x.media_type",
+          "mimeType", "x.mime_type",
+          "uri", "x.uri",
+          "title", "x.title",
+          "note", "x.note",
+          "takenAt", isoUtc("x.taken_at")),
+      "person_tag", fields(
+          "person", "x.person_id::text",
+          "tag", "x.tag_id::text"),
+      "entry_tag", fields(
+          "entry", "x.entry_id::text",
+          "tag", "x.tag_id::text"),
+      "person_entry", fields(
+          "person", "x.person_id::text",
+          "entry", "x.entry_id::text",
+          "role", "x.role"),
+      "media_entry", fields(
+          "media", "x.media_id::text",
+          "entry", "x.entry_id::text",
+          "caption", "x.caption",
+          "sortOrder", "x.sort_order::text"),
+      "person_relation", fields(
+          "fromPerson", "x.from_person_id::text",
+          "toPerson", "x.to_person_id::text",
+          "type", "x.type",
+          "note", "x.note",
+          "validFrom", "x.valid_from::text",
+          "validTo", "x.valid_to::text"));
+
+  private final JdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final CsvMapper csvMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param dataSource data source for the cursor-based export template
+   * @param objectMapper mapper providing the JSON generator
+   * @param transactionManager transaction manager; cursors need a transaction (no autocommit), the
+   *     snapshot spans all record types
+   * @param fetchSize rows fetched per cursor round trip
+   */
+  public ExportService(@NonNull DataSource dataSource,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull PlatformTransactionManager transactionManager,
+      @Value("${app.export.fetch-size:1000}") int fetchSize) {
+    this.jdbc = new JdbcTemplate(dataSource);
+    this.jdbc.setFetchSize(Math.max(1, fetchSize));
+    this.objectMapper = objectMapper;
+    this.csvMapper = CsvMapper.builder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  /**
+   * Resolves the record types of an export request.
+   *
+   * @param dataset {@code persons}, {@code entries}, {@code media}, {@code tags}, {@code links} or {@code all}
+   * @param format output format; CSV carries one record type only
+   * @param section record type within the dataset (required for CSV exports of {@code links}/{@code all})
+   *
+   * @return record types to export, in import dependency order
+   */
+  @NonNull
+  public List<String> resolve(@NonNull String dataset, @NonNull DataFormat format, String section) {
+    var types = DATASETS.get(dataset.toLowerCase(Locale.ROOT));
+    if (types == null) {
+      throw new IllegalArgumentException("Unsupported export dataset: " + dataset);
+    }
+    if (section != null && !section.isBlank()) {
+      var type = section.toLowerCase(Locale.ROOT);
+      if (!types.contains(type)) {
+        throw new IllegalArgumentException("Section %s is not part of dataset %s".formatted(section, dataset));
+      }
+      return List.of(type);
+    }
+    if (format == DataFormat.CSV && types.size() > 1) {
+      throw new IllegalArgumentException("CSV export of %s needs a section, one of %s".formatted(dataset, types));
+    }
+    return types;
+  }
+
+  /**
+   * Streams the records of the given types to the output stream, all from one database snapshot.
+   *
+   * @param types record types from {@link #resolve(String, DataFormat, String)}
+   * @param format output format
+   * @param out response output stream (not closed)
+   */
+  public void write(@NonNull List<String> types, @NonNull DataFormat format, @NonNull OutputStream out)
+      throws IOException {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        try {
+          if (format == DataFormat.CSV) {
+            writeCsv(types.get(0), out);
+          } else {
+            writeNdjson(types, out);
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void writeNdjson(List<String> types, OutputStream out) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+      for (var type : types) {
+        var fields = List.copyOf(FIELDS.get(type).keySet());
+        query(type, values -> {
+          generator.writeStartObject();
+          generator.writeStringField(ImportService.RECORD_FIELD, type);
+          for (int i = 0; i < fields.size(); i++) {
+            if (values[i] != null) {
+              generator.writeStringField(fields.get(i), values[i]);
+            }
+          }
+          generator.writeEndObject();
+          generator.writeRaw('\n');
+        });
+      }
+    }
+  }
+
+  private void writeCsv(String type, OutputStream out) throws IOException {
+    var schemaBuilder = CsvSchema.builder().setUseHeader(true);
+    FIELDS.get(type).keySet().forEach(schemaBuilder::addColumn);
+    try (SequenceWriter writer = csvMapper.writer(schemaBuilder.build())
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+        .writeValues(out)) {
+      query(type, values -> writer.write(values));
+    }
+  }
+
+  private void query(String type, RowWriter rowWriter) {
+    var fields = FIELDS.get(type);
+    var sql = "select %s from %s x where x.deleted_at is null".formatted(
+        fields.values().stream().collect(Collectors.joining(", ")), type);
+    int columns = fields.size();
+    jdbc.query(sql, rs -> {
+      var values = new String[columns];
+      for (int i = 0; i < columns; i++) {
+        values[i] = rs.getString(i + 1);
+      }
+      try {
+        rowWriter.write(values);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  private static Map<String, String> fields(String... nameExpressionPairs) {
+    var fields = new LinkedHashMap<String, String>();
+    for (int i = 0; i < nameExpressionPairs.length; i += 2) {
+      fields.put(nameExpressionPairs[i], nameExpressionPairs[i + 1]);
+    }
+    return fields;
+  }
+
+  @FunctionalInterface
+  private interface RowWriter {
+    void write(String[] values) throws IOException;
+  }
+}
@@ -0,0 +1,144 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.ws.dto.ImportDtos.ImportJobView;
+import cz.vh.lide.ws.dto.ImportDtos.ImportState;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory registry of running and recently finished import jobs, used for progress reporting.
+ * Only the last {@value #MAX_JOBS} jobs are kept.
+ */
+@Component
+public class ImportJobRegistry {
+
+  /** Number of jobs kept in the registry. */
+  public static final int MAX_JOBS = 100;
+
+  /** Number of error messages kept per job. */
+  public static final int MAX_ERRORS = 100;
+
+  private final Map<UUID, ImportJob> jobs = new LinkedHashMap<>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<UUID, ImportJob> eldest) {
+      return size() > MAX_JOBS;
+    }
+  };
+
+  /**
+   * Registers a new running job.
+   *
+   * @param jobId job id
+   *
+   * @return registered job
+   */
+  @NonNull
+  public synchronized ImportJob start(@NonNull UUID jobId) {
+    var existing = jobs.get(jobId);
+    if (existing != null && existing.state == ImportState.RUNNING) {
+      throw new IllegalArgumentException("Import job %s is already running".formatted(jobId));
+    }
+    var job = new ImportJob(jobId);
+    jobs.put(jobId, job);
+    return job;
+  }
+
+  /**
+   * Finds a job by id.
+   *
+   * @param jobId job id
+   *
+   * @return job, or empty when unknown or evicted
+   */
+  @NonNull
+  public synchronized Optional<ImportJob> find(@NonNull UUID jobId) {
+    return Optional.ofNullable(jobs.get(jobId));
+  }
+
+  /**
+   * Progress counters of one import job; updated by the importing thread, read by status requests.
+   */
+  public static final class ImportJob {
+
+    private final UUID id;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong recordsSkipped = new AtomicLong();
+    private final Map<String, AtomicLong> written = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> notWritten = new ConcurrentHashMap<>();
+    private final List<String> errors = new ArrayList<>();
+    private volatile ImportState state = ImportState.RUNNING;
+    private volatile Instant finishedAt;
+
+    private ImportJob(UUID id) {
+      this.id = id;
+    }
+
+    public UUID getId() {
+      return id;
+    }
+
+    void recordRead() {
+      recordsRead.incrementAndGet();
+    }
+
+    void recordSkipped(long line, String message) {
+      recordsSkipped.incrementAndGet();
+      error("line %d: %s".formatted(line, message));
+    }
+
+    void recordWritten(String type, long count, long rejected) {
+      written.computeIfAbsent(type, t -> new AtomicLong()).addAndGet(count);
+      if (rejected > 0) {
+        notWritten.computeIfAbsent(type, t -> new AtomicLong()).addAndGet(rejected);
+      }
+    }
+
+    void complete() {
+      finishedAt = Instant.now();
+      state = ImportState.COMPLETED;
+    }
+
+    void fail(String message) {
+      error(message);
+      finishedAt = Instant.now();
+      state = ImportState.FAILED;
+    }
+
+    private void error(String message) {
+      synchronized (errors) {
+        if (errors.size() < MAX_ERRORS) {
+          errors.add(message);
+        }
+      }
+    }
+
+    /**
+     * Snapshot of the current progress.
+     *
+     * @return job view
+     */
+    public ImportJobView toView() {
+      var writtenSnapshot = new TreeMap<String, Long>();
+      written.forEach((type, count) -> writtenSnapshot.put(type, count.get()));
+      var notWrittenSnapshot = new TreeMap<String, Long>();
+      notWritten.forEach((type, count) -> notWrittenSnapshot.put(type, count.get()));
+      List<String> errorsSnapshot;
+      synchronized (errors) {
+        errorsSnapshot = List.copyOf(errors);
+      }
+      return new ImportJobView(id, state, startedAt, finishedAt, recordsRead.get(), recordsSkipped.get(),
+          writtenSnapshot, notWrittenSnapshot, errorsSnapshot);
+    }
+  }
+}
@@ -0,0 +1,455 @@
+package cz.vh.lide.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.core.service.ImportJobRegistry.ImportJob;
+import cz.vh.lide.core.tools.StringNormalization;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streaming import of the whole graph (persons, tags, entries, media and all link types).
+ * <p>
+ * Records are pulled one by one from the request stream (NDJSON, or CSV for a single section),
+ * converted to insert rows and buffered; every {@code app.import.batch-size} rows the buffer is
+ * written in one transaction, one statement per record type, in dependency order (nodes before links). The
+ * next record is read only after the previous batch is written, so memory stays bounded by the
+ * batch size plus the key map, and a slow database throttles the upload through TCP flow control.
+ * <p>
+ * Record fields (NDJSON: one JSON object per line, record type in {@code record}; CSV: header row,
+ * record type given per upload):
+ * <ul>
+ *   <li>{@code person}: key, id, firstName*, lastName, nickname, birthDate, phone, email, note</li>
+ *   <li>{@code tag}: key, id, name* (existing active tags are matched by name)</li>
+ *   <li>{@code entry}: key, id, type*, title, content*, occurredAt</li>
+ *   <li>{@code media}: key, id, mediaType*, mimeType, uri*, title, note, takenAt</li>
+ *   <li>{@code person_tag}: person*, tag*</li>
+ *   <li>{@code entry_tag}: entry*, tag*</li>
+ *   <li>{@code person_entry}: person*, entry*, role</li>
+ *   <li>{@code media_entry}: media*, entry*, caption, sortOrder</li>
+ *   <li>{@code person_relation}: fromPerson*, toPerson*, type*, note, validFrom, validTo</li>
+ * </ul>
+ * References name a {@code key} defined earlier in the same import or the id of an existing row
+ * (tags also by name). Rows whose id already exists and links to unknown or deleted rows are
+ * skipped by SQL and reported per type as not written, so re-running an import with explicit ids
+ * is idempotent.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("unused")
+public class ImportService {
+
+  /** NDJSON field naming the record type ({@code type} is a regular column of entries and relations). */
+  public static final String RECORD_FIELD = "record";
+
+  private static final List<String> TYPE_ORDER = List.of(
+      "person", "tag", "entry", "media",
+      "person_tag", "entry_tag", "person_entry", "media_entry", "person_relation");
+
+  private static final Map<String, SearchEntityType> INDEXED_TYPES = Map.of(
+      "person", SearchEntityType.PERSON,
+      "tag", SearchEntityType.TAG,
+      "entry", SearchEntityType.ENTRY,
+      "media", SearchEntityType.MEDIA);
+
+  /**
+   * One statement per record type and batch: every column is bound as a text array and unnested,
+   * and {@code returning} yields exactly the rows the database accepted (existing ids and links to
+   * unknown or deleted rows are left out).
+   */
+  private static final Map<String, String> INSERT_SQL = Map.of(
+      "person", """
+          insert into person (id, first_name, last_name, nickname, birth_date, phone, email, note)
+          select v.id::uuid, v.first_name, v.last_name, v.nickname, v.birth_date::date, v.phone, v.email, v.note
+            from unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 v(id, first_name, last_name, nickname, birth_date, phone, email, note)
+          on conflict do nothing
+          returning id
+          """,
+      "tag", """
+          insert into tag (id, name)
+          select v.id::uuid, v.name
+            from unnest(?::text[], ?::text[]) v(id, name)
+          on conflict do nothing
+          returning id
+          """,
+      "entry", """
+          insert into entry (id, type, title, content, occurred_at)
+          select v.id::uuid, v.type, v.title, v.content, v.occurred_at::timestamptz
+            from unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 v(id, type, title, content, occurred_at)
+          on conflict do nothing
+          returning id
+          """,
+      "media", """
+          insert into media (id, media_type, mime_type, uri, title, note, taken_at)
+          select v.id::uuid, v.media_type, v.mime_type, v.uri, v.title, v.note, v.taken_at::timestamptz
+            from unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 v(id, media_type, mime_type, uri, title, note, taken_at)
+          on conflict do nothing
+          returning id
+          """,
+      "person_tag", """
+          insert into person_tag (person_id, tag_id)
+          select p.id, t.id
+            from unnest(?::text[], ?::text[]) v(person_id, tag_id)
+            join person p on p.id = v.person_id::uuid and p.deleted_at is null
+            join tag t on t.id = v.tag_id::uuid and t.deleted_at is null
+          on conflict do nothing
+          returning person_id
+          """,
+      "entry_tag", """
+          insert into entry_tag (entry_id, tag_id)
+          select e.id, t.id
+            from unnest(?::text[], ?::text[]) v(entry_id, tag_id)
+            join entry e on e.id = v.entry_id::uuid and e.deleted_at is null
+            join tag t on t.id = v.tag_id::uuid and t.deleted_at is null
+          on conflict do nothing
+          returning entry_id
+          """,
+      "person_entry", """
+          insert into person_entry (person_id, entry_id, role)
+          select p.id, e.id, v.role
+            from unnest(?::text[], ?::text[], ?::text[]) v(person_id, entry_id, role)
+            join person p on p.id = v.person_id::uuid and p.deleted_at is null
+            join entry e on e.id = v.entry_id::uuid and e.deleted_at is null
+          on conflict do nothing
+          returning person_id
+          """,
+      "media_entry", """
+          insert into media_entry (media_id, entry_id, caption, sort_order)
+          select m.id, e.id, v.caption, v.sort_order::int
+            from unnest(?::text[], ?::text[], ?::text[], ?::text[]) v(media_id, entry_id, caption, sort_order)
+            join media m on m.id = v.media_id::uuid and m.deleted_at is null
+            join entry e on e.id = v.entry_id::uuid and e.deleted_at is null
+          on conflict do nothing
+          returning media_id
+          """,
+      "person_relation", """
+          insert into person_relation (from_person_id, to_person_id, type, note, valid_from, valid_to)
+          select f.id, t.id, v.type, v.note, v.valid_from::date, v.valid_to::date
+            from unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 v(from_id, to_id, type, note, valid_from, valid_to)
+            join person f on f.id = v.from_id::uuid and f.deleted_at is null
+            join person t on t.id = v.to_id::uuid and t.deleted_at is null
+          on conflict do nothing
+          returning from_person_id
+          """);
+
+  private static final String TAG_BY_NAME_SQL = "select id from tag where name = ? and deleted_at is null";
+
+  private final JdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final SearchIndexService searchIndexService;
+  private final ImportJobRegistry jobRegistry;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int batchSize;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for batch inserts
+   * @param objectMapper mapper reading NDJSON records
+   * @param transactionManager transaction manager for per-batch transactions
+   * @param searchIndexService search index refreshed for imported nodes
+   * @param jobRegistry registry publishing import progress
+   * @param entityCacheEvictor evicts cached query results made stale by JDBC inserts
+   * @param eventPublisher publisher of bulk change events per written record type
+   * @param batchSize rows written per batch/transaction
+   */
+  public ImportService(@NonNull JdbcTemplate jdbc,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull PlatformTransactionManager transactionManager,
+      @NonNull SearchIndexService searchIndexService,
+      @NonNull ImportJobRegistry jobRegistry,
+      @NonNull EntityCacheEvictor entityCacheEvictor,
+      @NonNull ApplicationEventPublisher eventPublisher,
+      @Value("${app.import.batch-size:1000}") int batchSize) {
+    this.jdbc = jdbc;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.searchIndexService = searchIndexService;
+    this.jobRegistry = jobRegistry;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventPublisher = eventPublisher;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  /**
+   * Imports records from the stream in the calling thread; progress is visible through
+   * {@link ImportJobRegistry#find(UUID)} while the import runs.
+   *
+   * @param input upload stream.
+   * @param format upload format.
+   * @param section record type for CSV uploads (ignored for NDJSON).
+   * @param jobId job id used for progress reporting.
+   *
+   * @return finished job (completed or failed); batches written before a failure stay committed.
+   */
+  @NonNull
+  public ImportJob importStream(@NonNull InputStream input, @NonNull DataFormat format, String section,
+      @NonNull UUID jobId) {
+    var csvType = format == DataFormat.CSV ? requireType(section) : null;
+    var job = jobRegistry.start(jobId);
+    var context = new ImportContext(job);
+
+    try (MappingIterator<?> records = open(input, format)) {
+      long recordNo = 0;
+      while (records.hasNextValue()) {
+        var fields = toFields(records.nextValue());
+        recordNo++;
+        job.recordRead();
+        var type = csvType != null ? csvType : fields.get(RECORD_FIELD);
+        try {
+          context.add(requireType(type), toRow(requireType(type), fields, context));
+        } catch (IllegalArgumentException | DateTimeException e) {
+          job.recordSkipped(recordNo, e.getMessage());
+        }
+        if (context.buffered >= batchSize) {
+          flush(context);
+        }
+      }
+      flush(context);
+      job.complete();
+    } catch (IOException | RuntimeException e) {
+      var cause = NestedExceptionUtils.getMostSpecificCause(e);
+      log.warn("Import job {} failed", jobId, e);
+      job.fail(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+    return job;
+  }
+
+  private MappingIterator<?> open(InputStream input, DataFormat format) throws IOException {
+    if (format == DataFormat.CSV) {
+      return new CsvMapper()
+          .readerForMapOf(String.class)
+          .with(CsvSchema.emptySchema().withHeader())
+          .readValues(input);
+    }
+    return objectMapper.readerFor(JsonNode.class).readValues(input);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, String> toFields(Object value) {
+    if (value instanceof JsonNode node) {
+      var fields = new HashMap<String, String>();
+      node.fields().forEachRemaining(field -> fields.put(field.getKey(),
+          field.getValue().isNull() ? null : field.getValue().asText()));
+      return fields;
+    }
+    var fields = new HashMap<String, String>();
+    ((Map<String, String>) value).forEach((k, v) -> fields.put(k, v == null || v.isEmpty() ? null : v));
+    return fields;
+  }
+
+  private Object[] toRow(String type, Map<String, String> f, ImportContext ctx) {
+    return switch (type) {
+      case "person" -> new Object[] {
+          ctx.define(type, f), required(f, "firstName"), f.get("lastName"), f.get("nickname"),
+          date(f, "birthDate"), f.get("phone"), f.get("email"), f.get("note")};
+      case "tag" -> tagRow(f, ctx);
+      case "entry" -> new Object[] {
+          ctx.define(type, f), required(f, "type"), f.get("title"), required(f, "content"),
+          timestamp(f, "occurredAt")};
+      case "media" -> new Object[] {
+          ctx.define(type, f), required(f, "mediaType"), f.get("mimeType"), required(f, "uri"),
+          f.get("title"), f.get("note"), timestamp(f, "takenAt")};
+      case "person_tag" -> new Object[] {
+          ctx.resolve("person", required(f, "person")), ctx.resolve("tag", required(f, "tag"))};
+      case "entry_tag" -> new Object[] {
+          ctx.resolve("entry", required(f, "entry")), ctx.resolve("tag", required(f, "tag"))};
+      case "person_entry" -> new Object[] {
+          ctx.resolve("person", required(f, "person")), ctx.resolve("entry", required(f, "entry")),
+          f.get("role") != null ? f.get("role") : "DEFAULT"};
+      case "media_entry" -> new Object[] {
+          ctx.resolve("media", required(f, "media")), ctx.resolve("entry", required(f, "entry")),
+          f.get("caption"), f.get("sortOrder") != null ? Integer.valueOf(f.get("sortOrder")) : null};
+      case "person_relation" -> relationRow(f, ctx);
+      default -> throw new IllegalArgumentException("Unsupported record type: " + type);
+    };
+  }
+
+  private Object[] tagRow(Map<String, String> f, ImportContext ctx) {
+    var name = StringNormalization.normalize(required(f, "name"));
+    var existing = ctx.tagId(name);
+    if (existing != null) {
+      // links may reference the tag by its key or by the id it had in the source (export)
+      ctx.alias("tag", f.get("key"), existing);
+      ctx.alias("tag", f.get("id"), existing);
+      return null;
+    }
+    var id = ctx.define("tag", f);
+    ctx.tagNames.put(name, Optional.of(id));
+    return new Object[] {id, name};
+  }
+
+  private Object[] relationRow(Map<String, String> f, ImportContext ctx) {
+    var from = ctx.resolve("person", required(f, "fromPerson"));
+    var to = ctx.resolve("person", required(f, "toPerson"));
+    if (from.equals(to)) {
+      throw new IllegalArgumentException("Person relation cannot point to the same person");
+    }
+    return new Object[] {from, to, required(f, "type"), f.get("note"),
+        date(f, "validFrom"), date(f, "validTo")};
+  }
+
+  private void flush(ImportContext ctx) {
+    if (ctx.buffered == 0) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      for (var type : TYPE_ORDER) {
+        var rows = ctx.rows.get(type);
+        if (rows == null || rows.isEmpty()) {
+          continue;
+        }
+        var inserted = insert(type, rows);
+        ctx.job.recordWritten(type, inserted.size(), rows.size() - inserted.size());
+        if (inserted.isEmpty()) {
+          continue;
+        }
+        eventPublisher.publishEvent(EntityChangedEvent.bulk(EntityKind.valueOf(type.toUpperCase(Locale.ROOT))));
+        var searchType = INDEXED_TYPES.get(type);
+        if (searchType != null) {
+          searchIndexService.refreshAll(searchType, inserted);
+        }
+      }
+      entityCacheEvictor.evictQueries();
+    });
+    ctx.rows.clear();
+    ctx.buffered = 0;
+  }
+
+  /**
+   * Inserts one batch of rows of a type with a single statement.
+   *
+   * @return first column (node id, or first link end) of every row the database accepted
+   */
+  private List<UUID> insert(String type, List<Object[]> rows) {
+    int columns = rows.get(0).length;
+    return jdbc.query(INSERT_SQL.get(type), ps -> {
+      for (int c = 0; c < columns; c++) {
+        var column = new String[rows.size()];
+        for (int r = 0; r < column.length; r++) {
+          var value = rows.get(r)[c];
+          column[r] = value == null ? null : value.toString();
+        }
+        ps.setArray(c + 1, ps.getConnection().createArrayOf("text", column));
+      }
+    }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+  }
+
+  private static String requireType(String type) {
+    if (type == null || !INSERT_SQL.containsKey(type.toLowerCase(Locale.ROOT))) {
+      throw new IllegalArgumentException("Unsupported record type: " + type);
+    }
+    return type.toLowerCase(Locale.ROOT);
+  }
+
+  private static String required(Map<String, String> f, String field) {
+    var value = f.get(field);
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Field '%s' is required".formatted(field));
+    }
+    return value;
+  }
+
+  private static LocalDate date(Map<String, String> f, String field) {
+    var value = f.get(field);
+    return value == null ? null : LocalDate.parse(value);
+  }
+
+  private static OffsetDateTime timestamp(Map<String, String> f, String field) {
+    var value = f.get(field);
+    return value == null ? null : Instant.parse(value).atOffset(ZoneOffset.UTC);
+  }
+
+  /**
+   * Per-import state: buffered rows and the map of import keys to ids.
+   */
+  private final class ImportContext {
+
+    private final ImportJob job;
+    private final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+    private final Map<String, UUID> keys = new HashMap<>();
+    /** Tag ids by normalized name, including misses, so each name is looked up at most once. */
+    private final Map<String, Optional<UUID>> tagNames = new HashMap<>();
+    private int buffered;
+
+    private ImportContext(ImportJob job) {
+      this.job = job;
+    }
+
+    void add(String type, Object[] row) {
+      if (row == null) {
+        return;
+      }
+      rows.computeIfAbsent(type, t -> new ArrayList<>()).add(row);
+      buffered++;
+    }
+
+    UUID define(String type, Map<String, String> f) {
+      var id = f.get("id") != null ? UUID.fromString(f.get("id")) : UUID.randomUUID();
+      alias(type, f.get("key"), id);
+      alias(type, f.get("id"), id);
+      return id;
+    }
+
+    void alias(String type, String key, UUID id) {
+      if (key != null) {
+        keys.put(type + ":" + key, id);
+      }
+    }
+
+    /** Resolves an import key, then an id, and for tags finally a name (ids need no lookup). */
+    UUID resolve(String type, String ref) {
+      var id = keys.get(type + ":" + ref);
+      if (id != null) {
+        return id;
+      }
+      try {
+        return UUID.fromString(ref);
+      } catch (IllegalArgumentException e) {
+        id = "tag".equals(type) ? tagId(StringNormalization.normalize(ref)) : null;
+        if (id == null) {
+          throw new IllegalArgumentException("Unknown %s reference '%s'".formatted(type, ref));
+        }
+        return id;
+      }
+    }
+
+    UUID tagId(String name) {
+      return tagNames.computeIfAbsent(name, n -> jdbc.query(TAG_BY_NAME_SQL,
+          (rs, rowNum) -> rs.getObject("id", UUID.class), n).stream().findFirst()).orElse(null);
+    }
+  }
+}
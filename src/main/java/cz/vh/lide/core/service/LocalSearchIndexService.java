@@ -0,0 +1,508 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.core.exception.FatalException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Optional embedded inverted index (Lucene) over the entry and person columns searched by the
+ * {@code textContains} filters.
+ * <p>
+ * Enabled by {@code app.search.local-index.enabled}; when disabled every method is a no-op and
+ * {@link #isEnabled()} returns false, so callers fall back to the SQL {@code LIKE} filters.
+ * Segments live in {@code app.search.local-index.path} and are opened through {@link MMapDirectory}.
+ * <p>
+ * The index holds exactly the columns of the {@code LIKE} filters (EntrySpecifications,
+ * PersonSpecifications), read from the entity tables, and answers the same question: does any of
+ * them contain the trimmed query, case-insensitively. Each column is indexed as overlapping
+ * trigrams and a query becomes a phrase of its trigrams at their offsets, so "ák" or "ovák" match
+ * "Novák" just like {@code LIKE '%ovák%'}. Queries shorter than a trigram return empty and keep the
+ * SQL filter, as do queries matching more than {@value #MAX_HITS} rows; results never depend on
+ * which path served them.
+ * <p>
+ * Rows are read by {@link #prepare(SearchEntityType, Collection)} inside the write transaction and
+ * applied after it commits (see {@link SearchIndexService}); the index is rebuilt from the entity
+ * tables on startup when it is missing or out of sync.
+ * <p>
+ * Single-document changes are made visible to searches by a near-real-time reader refresh; the
+ * index is committed to disk every {@code app.search.local-index.commit-interval} and on shutdown.
+ * Each commit records the time it was taken, so after a crash the documents updated since
+ * (minus {@link #CATCH_UP_MARGIN} for transactions still open at that time) are re-read on startup.
+ */
+@Service
+@Slf4j
+@SuppressWarnings("unused")
+public class LocalSearchIndexService {
+
+  /**
+   * Most ids {@link #searchIds(SearchEntityType, String)} hands to the database as an id filter;
+   * queries matching more fall back to the SQL filter, which returns the same rows.
+   */
+  public static final int MAX_HITS = 1000;
+
+  /** Re-read window before the last commit time, covering write transactions open at that time. */
+  static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(10);
+
+  private static final String COMMITTED_AT = "committedAt";
+
+  /** Length of the indexed n-grams; shorter queries are left to the SQL filter. */
+  private static final int GRAM = 3;
+
+  private static final String FIELD_KEY = "key";
+  private static final String FIELD_TYPE = "type";
+  private static final String FIELD_ID = "id";
+
+  /** Indexed columns per type, the same ones the {@code textContains} LIKE filter ORs together. */
+  private static final Map<SearchEntityType, List<String>> COLUMNS = new EnumMap<>(SearchEntityType.class);
+
+  static {
+    COLUMNS.put(SearchEntityType.ENTRY, List.of("title", "content"));
+    COLUMNS.put(SearchEntityType.PERSON, List.of("first_name", "last_name", "nickname", "email", "phone"));
+  }
+
+  private static final String COUNT_SQL = """
+      select count(*)
+        from %s
+       where deleted_at is null
+      """;
+
+  private static final String ROWS_SQL = """
+      select id, deleted_at is not null as deleted, %s
+        from %s
+       where %s
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final boolean enabled;
+  private final Path path;
+  private final Duration commitInterval;
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  private Analyzer analyzer;
+  private Directory directory;
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+  private ScheduledExecutorService committer;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used to read the indexed columns from the entity tables
+   * @param enabled whether the local index is used at all
+   * @param path directory holding the index segments
+   * @param commitInterval how often pending changes are committed to disk
+   */
+  public LocalSearchIndexService(@NonNull NamedParameterJdbcTemplate jdbc,
+      @Value("${app.search.local-index.enabled:false}") boolean enabled,
+      @Value("${app.search.local-index.path:./data/search-index}") String path,
+      @Value("${app.search.local-index.commit-interval:5s}") Duration commitInterval) {
+    this.jdbc = jdbc;
+    this.enabled = enabled;
+    this.path = Path.of(path);
+    this.commitInterval = commitInterval;
+  }
+
+  /**
+   * Whether the local index is enabled and ready to answer queries.
+   *
+   * @return true when queries should go through the local index
+   */
+  public boolean isEnabled() {
+    return enabled && searcherManager != null;
+  }
+
+  /**
+   * Whether the given entity type is kept in the local index.
+   *
+   * @param type entity type
+   *
+   * @return true for entries and persons
+   */
+  public boolean isIndexed(@NonNull SearchEntityType type) {
+    return COLUMNS.containsKey(type);
+  }
+
+  /**
+   * Opens the index once the schema is migrated and rebuilds it when missing or out of sync,
+   * otherwise re-reads the documents changed since the last commit.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void open() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Files.createDirectories(path);
+      analyzer = new TrigramAnalyzer();
+      directory = new MMapDirectory(path);
+      boolean exists = DirectoryReader.indexExists(directory);
+      writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+          .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+      searcherManager = new SearcherManager(writer, null);
+
+      long expected = 0;
+      for (var type : COLUMNS.keySet()) {
+        expected += jdbc.getJdbcTemplate().queryForObject(COUNT_SQL.formatted(type.code()), Long.class);
+      }
+      var committedAt = exists ? lastCommitTime() : null;
+      if (committedAt == null || writer.getDocStats().numDocs != expected) {
+        log.info("Local search index at {} is missing or out of sync, rebuilding", path);
+        rebuild();
+      } else {
+        catchUp(committedAt.minus(CATCH_UP_MARGIN));
+      }
+
+      committer = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("local-search-commit").daemon().factory());
+      long millis = Math.max(1, commitInterval.toMillis());
+      committer.scheduleWithFixedDelay(this::commitPending, millis, millis, TimeUnit.MILLISECONDS);
+    } catch (IOException e) {
+      throw new FatalException("Cannot open local search index at " + path, e);
+    }
+  }
+
+  /**
+   * Replaces the whole index with the current non-deleted entry and person rows.
+   *
+   * @return number of indexed documents
+   */
+  public int rebuild() {
+    if (!isEnabled()) {
+      return 0;
+    }
+    writeLock.lock();
+    try {
+      writer.deleteAll();
+      int[] count = {0};
+      var started = Instant.now();
+      for (var type : COLUMNS.keySet()) {
+        queryRows(type, "deleted_at is null", Map.of(), (id, fields) -> {
+          try {
+            writer.addDocument(toDocument(type, id, fields));
+            count[0]++;
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+      commit(started);
+      searcherManager.maybeRefresh();
+      log.info("Local search index rebuilt with {} documents", count[0]);
+      return count[0];
+    } catch (IOException | UncheckedIOException e) {
+      throw new FatalException("Cannot rebuild local search index", e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Reads the indexed columns of the given rows in the caller's transaction and returns the index
+   * update to run once it commits, so applying it needs no further database access.
+   * Missing and soft-deleted rows are removed from the index.
+   *
+   * @param type entity type
+   * @param ids entity ids
+   *
+   * @return index update (a no-op when the index is disabled or the type is not indexed)
+   */
+  @NonNull
+  public Runnable prepare(@NonNull SearchEntityType type, @NonNull Collection<UUID> ids) {
+    if (!isEnabled() || !isIndexed(type) || ids.isEmpty()) {
+      return () -> { };
+    }
+    var documents = new HashMap<UUID, Map<String, String>>();
+    queryRows(type, "id in (:ids)", Map.of("ids", ids), (id, fields) -> {
+      if (fields != null) {
+        documents.put(id, fields);
+      }
+    });
+    var missing = new HashSet<>(ids);
+    missing.removeAll(documents.keySet());
+    return () -> {
+      writeLock.lock();
+      try {
+        for (var document : documents.entrySet()) {
+          writer.updateDocument(new Term(FIELD_KEY, key(type, document.getKey())),
+              toDocument(type, document.getKey(), document.getValue()));
+        }
+        for (var id : missing) {
+          writer.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+        }
+        searcherManager.maybeRefresh();
+      } catch (IOException e) {
+        throw new FatalException("Cannot update local search index", e);
+      } finally {
+        writeLock.unlock();
+      }
+    };
+  }
+
+  /**
+   * Finds ids of entities where any indexed column contains the trimmed query, case-insensitively;
+   * the same rows the SQL {@code textContains} filter matches.
+   * <p>
+   * The ids become an {@code IN} filter, so a query matching more than {@value #MAX_HITS} documents
+   * returns empty and the caller keeps its SQL text filter instead of paging over a truncated set.
+   * Queries shorter than {@value #GRAM} characters also return empty, trigrams cannot answer them.
+   *
+   * @param type entity type to search
+   * @param text free-text query
+   *
+   * @return all matching ids, or empty when the SQL filter has to answer the query
+   */
+  @NonNull
+  public Optional<List<UUID>> searchIds(@NonNull SearchEntityType type, @NonNull String text) {
+    if (!isEnabled() || !isIndexed(type)) {
+      throw new IllegalStateException("Local search index is not available for " + type.code());
+    }
+    var grams = analyze(type, text.trim());
+    if (grams.isEmpty()) {
+      return Optional.empty();
+    }
+
+    var anyColumn = new BooleanQuery.Builder();
+    for (var column : COLUMNS.get(type)) {
+      anyColumn.add(substringQuery(column, grams), Occur.SHOULD);
+    }
+    var query = new BooleanQuery.Builder()
+        .add(new TermQuery(new Term(FIELD_TYPE, type.code())), Occur.FILTER)
+        .add(new ConstantScoreQuery(anyColumn.build()), Occur.MUST);
+
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        var hits = searcher.search(query.build(), MAX_HITS + 1).scoreDocs;
+        if (hits.length > MAX_HITS) {
+          log.debug("Local search for {} matched more than {} documents, using the SQL filter", type.code(), MAX_HITS);
+          return Optional.empty();
+        }
+        var ids = new ArrayList<UUID>(hits.length);
+        var storedFields = searcher.storedFields();
+        for (var hit : hits) {
+          ids.add(UUID.fromString(storedFields.document(hit.doc).get(FIELD_ID)));
+        }
+        return Optional.of(ids);
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new FatalException("Cannot query local search index", e);
+    }
+  }
+
+  /**
+   * Commits pending changes and closes the index.
+   */
+  @PreDestroy
+  public void close() throws IOException {
+    if (searcherManager == null) {
+      return;
+    }
+    if (committer != null) {
+      committer.shutdownNow();
+    }
+    commitPending();
+    searcherManager.close();
+    writer.close();
+    directory.close();
+    analyzer.close();
+  }
+
+  /**
+   * Commits changes made since the last commit (scheduled every commit interval and on shutdown).
+   */
+  void commitPending() {
+    writeLock.lock();
+    try {
+      if (writer.hasUncommittedChanges()) {
+        commit(Instant.now());
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Cannot commit local search index", e);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void commit(Instant committedAt) throws IOException {
+    var data = new HashMap<String, String>();
+    data.put(COMMITTED_AT, committedAt.toString());
+    writer.setLiveCommitData(data.entrySet());
+    writer.commit();
+  }
+
+  private Instant lastCommitTime() throws IOException {
+    var value = SegmentInfos.readLatestCommit(directory).getUserData().get(COMMITTED_AT);
+    return value == null ? null : Instant.parse(value);
+  }
+
+  private void catchUp(Instant since) {
+    int[] count = {0};
+    writeLock.lock();
+    try {
+      for (var type : COLUMNS.keySet()) {
+        queryRows(type, "updated_at >= :since", Map.of("since", Timestamp.from(since)), (id, fields) -> {
+          try {
+            if (fields == null) {
+              writer.deleteDocuments(new Term(FIELD_KEY, key(type, id)));
+            } else {
+              writer.updateDocument(new Term(FIELD_KEY, key(type, id)), toDocument(type, id, fields));
+            }
+            count[0]++;
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      }
+      searcherManager.maybeRefresh();
+    } catch (IOException | UncheckedIOException e) {
+      throw new FatalException("Cannot update local search index", e);
+    } finally {
+      writeLock.unlock();
+    }
+    log.info("Local search index re-read {} documents changed since {}", count[0], since);
+  }
+
+  /**
+   * Streams rows of one type matching the condition; soft-deleted rows are passed with null fields.
+   */
+  private void queryRows(SearchEntityType type, String condition, Map<String, ?> params, RowHandler handler) {
+    var columns = COLUMNS.get(type);
+    var sql = ROWS_SQL.formatted(String.join(", ", columns), type.code(), condition);
+    jdbc.query(sql, params, (RowCallbackHandler) rs -> {
+      var id = rs.getObject("id", UUID.class);
+      if (rs.getBoolean("deleted")) {
+        handler.accept(id, null);
+        return;
+      }
+      var fields = new HashMap<String, String>();
+      for (var column : columns) {
+        fields.put(column, rs.getString(column));
+      }
+      handler.accept(id, fields);
+    });
+  }
+
+  /**
+   * Query trigrams keyed by their position, i.e. character offset, in the query.
+   */
+  private Map<Integer, String> analyze(SearchEntityType type, String text) {
+    var grams = new HashMap<Integer, String>();
+    try (TokenStream stream = analyzer.tokenStream(COLUMNS.get(type).get(0), text)) {
+      var term = stream.addAttribute(CharTermAttribute.class);
+      var increment = stream.addAttribute(PositionIncrementAttribute.class);
+      stream.reset();
+      int position = -1;
+      while (stream.incrementToken()) {
+        position += increment.getPositionIncrement();
+        grams.put(position, term.toString());
+      }
+      stream.end();
+    } catch (IOException e) {
+      throw new FatalException("Cannot analyze search query", e);
+    }
+    return grams;
+  }
+
+  /**
+   * Phrase of the query trigrams at their offsets; every third one plus the last is enough to cover
+   * each character of the query, so a match is exactly a substring occurrence.
+   */
+  private static PhraseQuery substringQuery(String column, Map<Integer, String> grams) {
+    int last = grams.size() - 1;
+    var phrase = new PhraseQuery.Builder();
+    for (int position = 0; position < last; position += GRAM) {
+      phrase.add(new Term(column, grams.get(position)), position);
+    }
+    phrase.add(new Term(column, grams.get(last)), last);
+    return phrase.build();
+  }
+
+  private static Document toDocument(SearchEntityType type, UUID id, Map<String, String> fields) {
+    var doc = new Document();
+    doc.add(new StringField(FIELD_KEY, key(type, id), Field.Store.NO));
+    doc.add(new StringField(FIELD_TYPE, type.code(), Field.Store.NO));
+    doc.add(new StringField(FIELD_ID, id.toString(), Field.Store.YES));
+    fields.forEach((column, value) -> {
+      if (value != null) {
+        doc.add(new TextField(column, value, Field.Store.NO));
+      }
+    });
+    return doc;
+  }
+
+  private static String key(SearchEntityType type, UUID id) {
+    return type.code() + ":" + id;
+  }
+
+  @FunctionalInterface
+  private interface RowHandler {
+
+    void accept(UUID id, Map<String, String> fields);
+  }
+
+  /**
+   * Overlapping lower-cased trigrams of the whole value, whitespace included, one position per
+   * character; no stemming or accent folding, so matching stays that of {@code lower(column) LIKE}.
+   */
+  private static final class TrigramAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+      var source = new NGramTokenizer(GRAM, GRAM);
+      return new TokenStreamComponents(source, new LowerCaseFilter(source));
+    }
+  }
+}
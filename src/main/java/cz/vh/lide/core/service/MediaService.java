@@ -1,5 +1,7 @@
 package cz.vh.lide.core.service;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.tools.JpaTools;
 import cz.vh.lide.db.dto.MediaDto;
 import cz.vh.lide.db.dto.MediaEntryDto;
@@ -12,11 +14,18 @@ import cz.vh.lide.db.repository.MediaEntryRepository;
 import cz.vh.lide.db.repository.MediaRepository;
 import cz.vh.lide.db.specification.MediaSpecifications;
 import cz.vh.lide.db.validator.dbValidator;
+import jakarta.persistence.EntityManager;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +41,10 @@ public class MediaService {
   private final MediaEntryRepository mediaEntryRepository;
   private final MediaEntryService mediaEntryService;
   private final DbMapper dbMapper;
+  private final EntityManager entityManager;
+  private final SearchIndexService searchIndexService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the service with required dependencies.
@@ -40,15 +53,27 @@ public class MediaService {
    * @param mediaEntryRepository media-entry repository
    * @param mediaEntryService media-entry relation service
    * @param dbMapper mapper between DTOs and entities
+   * @param entityManager JPA entity manager for count-free slice queries
+   * @param searchIndexService unified search index maintained on write
+   * @param entityCacheEvictor second-level cache eviction on update and soft delete
+   * @param eventPublisher publisher of entity change events
    */
   public MediaService(@NonNull MediaRepository repository,
       @NonNull MediaEntryRepository mediaEntryRepository,
       @NonNull MediaEntryService mediaEntryService,
-      @NonNull DbMapper dbMapper) {
+      @NonNull DbMapper dbMapper,
+      @NonNull EntityManager entityManager,
+      @NonNull SearchIndexService searchIndexService,
+      @NonNull EntityCacheEvictor entityCacheEvictor,
+      @NonNull ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.mediaEntryRepository = mediaEntryRepository;
     this.mediaEntryService = mediaEntryService;
     this.dbMapper = dbMapper;
+    this.entityManager = entityManager;
+    this.searchIndexService = searchIndexService;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -84,6 +109,8 @@ public class MediaService {
 
     // 4) Persist and return DTO
     var savedEntity = repository.save(entity);
+    searchIndexService.refresh(SearchEntityType.MEDIA, savedEntity.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.MEDIA, savedEntity.getId()));
     return dbMapper.toMediaDto(savedEntity);
   }
 
@@ -106,6 +133,9 @@ public class MediaService {
     }
 
     var savedEntity = repository.save(entity);
+    entityCacheEvictor.evict(Media.class, savedEntity.getId());
+    searchIndexService.refresh(SearchEntityType.MEDIA, savedEntity.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.MEDIA, savedEntity.getId()));
     return dbMapper.toMediaDto(savedEntity);
   }
 
@@ -136,6 +166,65 @@ public class MediaService {
         .map(dbMapper::toMediaDto);
   }
 
+  /**
+   * Stream all non-deleted media as shallow DTOs (relation lists left empty) over a database cursor.
+   * Entities are detached once mapped, so memory use does not grow with the number of rows.
+   *
+   * @param action consumer of each media DTO, called inside this read-only transaction
+   */
+  public void streamAll(@NonNull Consumer<MediaDto> action) {
+    try (var rows = repository.streamByDeletedAtIsNull()) {
+      rows.forEach(entity -> {
+        action.accept(dbMapper.toMediaShallowDto(entity));
+        entityManager.detach(entity);
+      });
+    }
+  }
+
+  /**
+   * List media with paging and optional filtering without computing a total count.
+   *
+   * @param pageable paging/sorting configuration
+   * @param filter filter criteria (nullable)
+   *
+   * @return slice of media DTOs
+   */
+  @NonNull
+  public Slice<MediaDto> listSlice(@NonNull Pageable pageable, MediaFilter filter) {
+    var spec = Objects.requireNonNull(MediaSpecifications.build(filter), "Specification must not be null");
+    return JpaTools.findSlice(entityManager, Media.class, spec, pageable)
+        .map(dbMapper::toMediaDto);
+  }
+
+  /**
+   * Estimate number of non-deleted media from planner statistics.
+   * Falls back to an exact count when the table has not been analyzed yet.
+   *
+   * @return estimated count
+   */
+  public long estimateCount() {
+    return JpaTools.estimateCount(entityManager, Media.class,
+        Objects.requireNonNull(MediaSpecifications.build(null), "Specification must not be null"));
+  }
+
+  /**
+   * Scroll media with keyset pagination and optional filtering.
+   *
+   * @param position scroll position (keyset) to continue from
+   * @param size maximum number of items in the window
+   * @param sort sorting configuration; non-null properties only (the id is appended as tie-breaker)
+   * @param filter filter criteria (nullable)
+   *
+   * @return window of media DTOs
+   */
+  @NonNull
+  public Window<MediaDto> scroll(@NonNull ScrollPosition position, int size, @NonNull Sort sort, MediaFilter filter) {
+    var spec = Objects.requireNonNull(MediaSpecifications.build(filter), "Specification must not be null");
+    var keysetSort = JpaTools.keysetSort(Media.class, sort);
+    Window<Media> window = repository.findBy(spec, q -> q.sortBy(keysetSort).limit(size).scroll(position));
+    return window.map(dbMapper::toMediaDto);
+  }
+
   /**
    * Soft delete media by id.
    *
@@ -147,6 +236,9 @@ public class MediaService {
     dbValidator.validateCanDeletedEntity(entity, "Media");
     UUID entityId = Objects.requireNonNull(entity.getId(), "Media id must not be null");
     repository.softDelete(entityId);
+    entityCacheEvictor.evict(Media.class, entityId);
+    searchIndexService.refresh(SearchEntityType.MEDIA, entityId);
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.MEDIA, entityId));
   }
 
   /**
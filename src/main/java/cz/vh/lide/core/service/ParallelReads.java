@@ -0,0 +1,245 @@
+package cz.vh.lide.core.service;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs independent read-model sub-queries concurrently, each on its own virtual thread and
+ * connection, so an aggregate costs the slowest branch instead of the sum of all branches
+ * ({@link ReadQueryMode#PARALLEL}).
+ * <p>
+ * Branches must run outside a transaction: the caller holds no connection while it waits, so
+ * concurrent requests cannot deadlock on the pool. Every branch is bounded by
+ * {@code app.read.parallel.branch-timeout}, both as a wait deadline and as JDBC query timeout.
+ * At most {@code app.read.parallel.max-branches} branches (default: the pool size) run at once
+ * across all requests; the rest wait within their deadline. A failed or timed-out aggregate
+ * cancels its other branches: statements already running are cancelled on the server
+ * ({@link Statement#cancel()}) and waiting branches are interrupted.
+ */
+@Component
+@Slf4j
+public class ParallelReads implements DisposableBean {
+
+  /** Branch running on the current thread, used to register its JDBC statement for cancelling. */
+  private static final ThreadLocal<Branch<?>> CURRENT = new ThreadLocal<>();
+
+  private static final int DEFAULT_MAX_BRANCHES = 10;
+
+  private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+  /** Branches carry the caller's context (trace span, SQL statement scope) to their threads. */
+  private final ExecutorService executor = ContextExecutorService.wrap(
+      Executors.newVirtualThreadPerTaskExecutor(), () -> SNAPSHOTS.captureAll());
+  private final NamedParameterJdbcTemplate jdbc;
+  private final Duration branchTimeout;
+  private final Semaphore permits;
+
+  /**
+   * Creates the helper with required dependencies.
+   *
+   * @param dataSource data source; every branch borrows its own connection
+   * @param branchTimeout maximum duration of one branch
+   * @param maxBranches branches running at once across all requests; 0 = connection pool size
+   */
+  public ParallelReads(@NonNull DataSource dataSource,
+      @Value("${app.read.parallel.branch-timeout:2s}") Duration branchTimeout,
+      @Value("${app.read.parallel.max-branches:0}") int maxBranches) {
+    var template = new BranchJdbcTemplate(dataSource);
+    template.setQueryTimeout((int) Math.max(1, (branchTimeout.toMillis() + 999) / 1000));
+    this.jdbc = new NamedParameterJdbcTemplate(template);
+    this.branchTimeout = branchTimeout;
+    this.permits = new Semaphore(maxBranches > 0 ? maxBranches : poolSize(dataSource), true);
+  }
+
+  /**
+   * JDBC template for branch queries, with the branch timeout as statement timeout.
+   *
+   * @return template
+   */
+  @NonNull
+  public NamedParameterJdbcTemplate jdbc() {
+    return jdbc;
+  }
+
+  /**
+   * Opens a scope for the branches of one aggregate.
+   *
+   * @return scope; close it to cancel branches left unfinished by a failure
+   */
+  @NonNull
+  public Scope open() {
+    return new Scope();
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private static int poolSize(DataSource dataSource) {
+    var pool = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class);
+    return pool != null ? pool.getMaximumPoolSize() : DEFAULT_MAX_BRANCHES;
+  }
+
+  /**
+   * Branches of one aggregate: fork all, then {@link #join()} once.
+   */
+  public final class Scope implements AutoCloseable {
+
+    private final List<Branch<?>> branches = new ArrayList<>();
+    private final long deadline = System.nanoTime() + branchTimeout.toNanos();
+
+    private Scope() {
+    }
+
+    /**
+     * Starts a branch.
+     *
+     * @param name branch name used in timeout errors
+     * @param query branch query
+     * @param <T> result type
+     *
+     * @return result accessor, valid after {@link #join()}
+     */
+    @NonNull
+    public <T> Supplier<T> fork(@NonNull String name, @NonNull Supplier<T> query) {
+      var branch = new Branch<T>(name);
+      branch.future = executor.submit(() -> branch.run(query, permits, deadline));
+      branches.add(branch);
+      return () -> branch.future.resultNow();
+    }
+
+    /**
+     * Waits for all branches; the first failure cancels the rest and is rethrown.
+     *
+     * @throws QueryTimeoutException when a branch exceeds the branch timeout
+     */
+    public void join() {
+      for (var branch : branches) {
+        try {
+          branch.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+          close();
+          throw new QueryTimeoutException("Read branch '%s' exceeded %s".formatted(branch.name, branchTimeout));
+        } catch (InterruptedException e) {
+          close();
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for read branch '%s'".formatted(branch.name), e);
+        } catch (ExecutionException | CancellationException e) {
+          close();
+          var cause = e.getCause() == null ? e : e.getCause();
+          if (cause instanceof TimeoutException) {
+            throw new QueryTimeoutException("Read branch '%s' exceeded %s".formatted(branch.name, branchTimeout));
+          }
+          if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+          }
+          throw new IllegalStateException("Read branch '%s' failed".formatted(branch.name), cause);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      branches.forEach(Branch::cancel);
+    }
+  }
+
+  /**
+   * One branch: its future and, while a query runs, the JDBC statement to cancel.
+   */
+  private static final class Branch<T> {
+
+    private final String name;
+    private volatile Future<T> future;
+    private volatile Statement statement;
+    private volatile boolean cancelled;
+
+    private Branch(String name) {
+      this.name = name;
+    }
+
+    private T run(Supplier<T> query, Semaphore permits, long deadline) throws InterruptedException, TimeoutException {
+      if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+        throw new TimeoutException("No free branch permit");
+      }
+      CURRENT.set(this);
+      try {
+        return query.get();
+      } finally {
+        CURRENT.remove();
+        statement = null;
+        permits.release();
+      }
+    }
+
+    private void register(Statement stmt) throws SQLException {
+      statement = stmt;
+      if (cancelled) {
+        throw new SQLException("Read branch '%s' was cancelled".formatted(name));
+      }
+    }
+
+    private void cancel() {
+      cancelled = true;
+      var running = statement;
+      if (running != null) {
+        try {
+          running.cancel();
+        } catch (SQLException e) {
+          log.debug("Cannot cancel statement of read branch '{}'", name, e);
+        }
+      }
+      var pending = future;
+      if (pending != null) {
+        // no interrupt while a statement runs: it would close the socket and break the pooled connection
+        pending.cancel(running == null);
+      }
+    }
+  }
+
+  /**
+   * Registers every statement with the branch running on the current thread, so a cancelled
+   * aggregate can stop it on the server.
+   */
+  private static final class BranchJdbcTemplate extends JdbcTemplate {
+
+    private BranchJdbcTemplate(DataSource dataSource) {
+      super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+      super.applyStatementSettings(stmt);
+      var branch = CURRENT.get();
+      if (branch != null) {
+        branch.register(stmt);
+      }
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package cz.vh.lide.core.service;
+
+import static cz.vh.lide.core.service.ReadModelSupport.isoUtc;
+import static cz.vh.lide.core.service.ReadModelSupport.readJson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.vh.lide.core.service.ResourceVersionService.Version;
+import cz.vh.lide.ws.dto.PersonReadDtos.EntryWithRole;
+import cz.vh.lide.ws.dto.PersonReadDtos.PersonReadView;
+import cz.vh.lide.ws.dto.PersonReadDtos.PersonRelationView;
+import cz.vh.lide.ws.dto.TagDtos.TagView;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read-model query for the aggregated person detail view.
+ * <p>
+ * Builds {@link PersonReadView} from a single SQL statement: the person row plus
+ * correlated {@code json_agg} sub-selects for tags, entries and both relation directions.
+ * Soft-deleted rows are filtered in SQL, so no entity graph is loaded. Assembled views are served
+ * from {@link ReadModelCache} until a committed write evicts them ({@link ReadModelCacheInvalidator}).
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("unused")
+public class PersonReadQueryService {
+
+  /** Upper bound of ids accepted by {@link #findAll(Collection)}. */
+  public static final int MAX_BATCH_SIZE = 200;
+
+  private static final String TAGS_JSON = """
+      select coalesce(json_agg(json_build_object('id', t.id, 'name', t.name)
+               order by t.name, t.id), '[]')
+        from person_tag pt
+        join tag t on t.id = pt.tag_id
+       where pt.person_id = p.id
+         and pt.deleted_at is null
+         and t.deleted_at is null
+      """;
+
+  private static final String ENTRIES_JSON = """
+      select coalesce(json_agg(json_build_object(
+               'id', e.id,
+               'type', e.type,
+               'title', e.title,
+               'content', e.content,
+               'occurredAt', %s,
+               'role', pe.role)
+               order by pe.created_at, pe.id), '[]')
+        from person_entry pe
+        join entry e on e.id = pe.entry_id
+       where pe.person_id = p.id
+         and pe.deleted_at is null
+         and e.deleted_at is null
+      """.formatted(isoUtc("e.occurred_at"));
+
+  private static final String RELATIONS_JSON = """
+      select coalesce(json_agg(json_build_object(
+               'id', r.id,
+               'fromPersonId', r.from_person_id,
+               'toPersonId', r.to_person_id,
+               'type', r.type,
+               'note', r.note,
+               'validFrom', r.valid_from,
+               'validTo', r.valid_to,
+               'otherPersonDisplayName', coalesce(
+                   nullif(trim(concat_ws(' ', o.first_name, o.last_name)), ''),
+                   o.nickname))
+               order by r.created_at, r.id), '[]')
+        from person_relation r
+        left join person o on o.id = r.%s and o.deleted_at is null
+       where r.%s = p.id
+         and r.deleted_at is null
+      """;
+
+  private static final String RELATIONS_OUT_JSON = RELATIONS_JSON.formatted("to_person_id", "from_person_id");
+
+  private static final String RELATIONS_IN_JSON = RELATIONS_JSON.formatted("from_person_id", "to_person_id");
+
+  private static final String PERSON_SELECT = """
+      select p.id, p.first_name, p.last_name, p.nickname, p.birth_date,
+             p.phone, p.email, p.note,
+             (%s) as tags,
+             (%s) as entries,
+             (%s) as relations_out,
+             (%s) as relations_in
+        from person p
+      """.formatted(TAGS_JSON, ENTRIES_JSON, RELATIONS_OUT_JSON, RELATIONS_IN_JSON);
+
+  private static final String PERSON_SQL = PERSON_SELECT + """
+       where p.id = :personId
+         and p.deleted_at is null
+      """;
+
+  private static final String PERSON_SQL_BATCH = PERSON_SELECT + """
+       where p.id in (:ids)
+         and p.deleted_at is null
+      """;
+
+  /** Person row without aggregates; the aggregates run as separate branches in parallel mode. */
+  private static final String PERSON_ROOT_SQL = """
+      select p.id, p.first_name, p.last_name, p.nickname, p.birth_date,
+             p.phone, p.email, p.note,
+             null as tags, null as entries, null as relations_out, null as relations_in
+        from person p
+       where p.id = :personId
+         and p.deleted_at is null
+      """;
+
+  /** One aggregate sub-select evaluated on its own (parallel mode). */
+  private static final String PERSON_BRANCH_SQL = """
+      select (%s)
+        from person p
+       where p.id = :personId
+      """;
+
+  private static final TypeReference<List<TagView>> TAG_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<EntryWithRole>> ENTRY_LIST = new TypeReference<>() {
+  };
+  private static final TypeReference<List<PersonRelationView>> RELATION_LIST = new TypeReference<>() {
+  };
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final ObjectMapper objectMapper;
+  private final ReadModelCache readModelCache;
+  private final ParallelReads parallelReads;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for the read-model statement
+   * @param objectMapper mapper decoding the aggregated JSON columns
+   * @param readModelCache read-through cache of assembled views
+   * @param parallelReads concurrent branch execution for the parallel mode
+   */
+  public PersonReadQueryService(@NonNull NamedParameterJdbcTemplate jdbc,
+      @NonNull ObjectMapper objectMapper,
+      @NonNull ReadModelCache readModelCache,
+      @NonNull ParallelReads parallelReads) {
+    this.jdbc = jdbc;
+    this.objectMapper = objectMapper;
+    this.readModelCache = readModelCache;
+    this.parallelReads = parallelReads;
+  }
+
+  /**
+   * Loads the aggregated person view in one round trip.
+   *
+   * @param personId person id.
+   * @param version current version from ResourceVersionService (read first), or null to accept any cached view.
+   *
+   * @return person view, or empty when the person does not exist or is soft-deleted.
+   */
+  @NonNull
+  public Optional<PersonReadView> find(@NonNull UUID personId, Version version) {
+    return readModelCache.persons().find(personId, version, this::load);
+  }
+
+  /**
+   * Loads aggregated person views for many ids in one round trip.
+   *
+   * @param ids person ids (duplicates are ignored), at most {@value #MAX_BATCH_SIZE}.
+   *
+   * @return views in the order of the requested ids; missing or soft-deleted ids are skipped.
+   */
+  @NonNull
+  public List<PersonReadView> findAll(@NonNull Collection<UUID> ids) {
+    var distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException("Batch size must not exceed %d ids".formatted(MAX_BATCH_SIZE));
+    }
+    if (distinct.isEmpty()) {
+      return List.of();
+    }
+
+    return readModelCache.persons().findAll(distinct, this::loadAll);
+  }
+
+  /**
+   * Loads the aggregated person view with the person row and each aggregate (tags, entries, both
+   * relation directions) queried concurrently on separate connections ({@link ReadQueryMode#PARALLEL}).
+   * Runs without a transaction, so the caller holds no connection while the branches wait for theirs.
+   *
+   * @param personId person id.
+   * @param version current version from ResourceVersionService (read first), or null to accept any cached view.
+   *
+   * @return person view, or empty when the person does not exist or is soft-deleted.
+   */
+  @NonNull
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public Optional<PersonReadView> findParallel(@NonNull UUID personId, Version version) {
+    return readModelCache.persons().find(personId, version, this::loadParallel);
+  }
+
+  private Optional<PersonReadView> load(UUID personId) {
+    var rows = jdbc.query(PERSON_SQL, Map.of("personId", personId), (rs, rowNum) -> toView(rs));
+    return rows.stream().findFirst();
+  }
+
+  private List<PersonReadView> loadAll(List<UUID> ids) {
+    return jdbc.query(PERSON_SQL_BATCH, Map.of("ids", ids), (rs, rowNum) -> toView(rs));
+  }
+
+  private Optional<PersonReadView> loadParallel(UUID personId) {
+    var params = Map.of("personId", personId);
+    var branchJdbc = parallelReads.jdbc();
+    try (var scope = parallelReads.open()) {
+      var root = scope.fork("person", () -> branchJdbc.query(PERSON_ROOT_SQL, params,
+          (rs, rowNum) -> toView(rs)).stream().findFirst());
+      var tags = scope.fork("tags", () -> branch(branchJdbc, TAGS_JSON, params));
+      var entries = scope.fork("entries", () -> branch(branchJdbc, ENTRIES_JSON, params));
+      var relationsOut = scope.fork("relationsOut", () -> branch(branchJdbc, RELATIONS_OUT_JSON, params));
+      var relationsIn = scope.fork("relationsIn", () -> branch(branchJdbc, RELATIONS_IN_JSON, params));
+      scope.join();
+      return root.get().map(person -> new PersonReadView(
+          person.id(),
+          person.firstName(),
+          person.lastName(),
+          person.nickname(),
+          person.birthDate(),
+          person.phone(),
+          person.email(),
+          person.note(),
+          readJson(objectMapper, tags.get(), TAG_LIST),
+          readJson(objectMapper, entries.get(), ENTRY_LIST),
+          readJson(objectMapper, relationsOut.get(), RELATION_LIST),
+          readJson(objectMapper, relationsIn.get(), RELATION_LIST)));
+    }
+  }
+
+  private static String branch(NamedParameterJdbcTemplate branchJdbc, String aggregateSql, Map<String, ?> params) {
+    return branchJdbc.queryForList(PERSON_BRANCH_SQL.formatted(aggregateSql), params, String.class).stream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  private PersonReadView toView(ResultSet rs) throws SQLException {
+    return new PersonReadView(
+        rs.getObject("id", UUID.class),
+        rs.getString("first_name"),
+        rs.getString("last_name"),
+        rs.getString("nickname"),
+        rs.getObject("birth_date", LocalDate.class),
+        rs.getString("phone"),
+        rs.getString("email"),
+        rs.getString("note"),
+        readJson(objectMapper, rs.getString("tags"), TAG_LIST),
+        readJson(objectMapper, rs.getString("entries"), ENTRY_LIST),
+        readJson(objectMapper, rs.getString("relations_out"), RELATION_LIST),
+        readJson(objectMapper, rs.getString("relations_in"), RELATION_LIST));
+  }
+}
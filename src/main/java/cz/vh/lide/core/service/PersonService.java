@@ -1,5 +1,7 @@
 package cz.vh.lide.core.service;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.tools.JpaTools;
 import cz.vh.lide.db.dto.PersonDto;
 import cz.vh.lide.db.entity.Person;
@@ -15,11 +17,20 @@ import cz.vh.lide.db.repository.PersonRepository;
 import cz.vh.lide.db.repository.PersonTagRepository;
 import cz.vh.lide.db.specification.PersonSpecifications;
 import cz.vh.lide.db.validator.dbValidator;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +47,11 @@ public class PersonService {
   private final PersonTagService personTagService;
   private final PersonRelationService personRelationService;
   private final DbMapper dbMapper;
+  private final EntityManager entityManager;
+  private final SearchIndexService searchIndexService;
+  private final LocalSearchIndexService localSearchIndexService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the service with required dependencies.
@@ -45,17 +61,32 @@ public class PersonService {
    * @param personTagService person-tag relation service
    * @param personRelationService person-relation service
    * @param dbMapper mapper between DTOs and entities
+   * @param entityManager JPA entity manager for count-free slice queries
+   * @param searchIndexService unified search index maintained on write
+   * @param localSearchIndexService optional embedded full-text index for free-text filters
+   * @param entityCacheEvictor second-level cache eviction on update and soft delete
+   * @param eventPublisher publisher of entity change events
    */
   public PersonService(@NonNull PersonRepository repository,
       @NonNull PersonEntryService personEntryService,
       @NonNull PersonTagService personTagService,
       @NonNull PersonRelationService personRelationService,
-      @NonNull DbMapper dbMapper) {
+      @NonNull DbMapper dbMapper,
+      @NonNull EntityManager entityManager,
+      @NonNull SearchIndexService searchIndexService,
+      @NonNull LocalSearchIndexService localSearchIndexService,
+      @NonNull EntityCacheEvictor entityCacheEvictor,
+      @NonNull ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.personEntryService = personEntryService;
     this.personTagService = personTagService;
     this.personRelationService = personRelationService;
     this.dbMapper = dbMapper;
+    this.entityManager = entityManager;
+    this.searchIndexService = searchIndexService;
+    this.localSearchIndexService = localSearchIndexService;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -68,6 +99,40 @@ public class PersonService {
   @NonNull
   @Transactional
   public PersonDto create(@NonNull PersonDto personDto) {
+    var savedPerson = createEntity(personDto);
+    searchIndexService.refresh(SearchEntityType.PERSON, savedPerson.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON, savedPerson.getId()));
+    return dbMapper.toPersonDto(savedPerson);
+  }
+
+  /**
+   * Creates or updates many persons in the current transaction.
+   * DTOs without id are created (including their relations), DTOs with id update scalar fields.
+   * Inserts are flushed once at the end, so Hibernate sends them as JDBC batches
+   * ({@code hibernate.jdbc.batch_size}), and the search index is refreshed in one statement.
+   *
+   * @param personDtos person data.
+   *
+   * @return saved persons in input order.
+   */
+  @NonNull
+  @Transactional
+  public List<PersonDto> upsertAll(@NonNull List<PersonDto> personDtos) {
+    var saved = new ArrayList<Person>(personDtos.size());
+    for (var dto : personDtos) {
+      saved.add(dto.getId() == null ? createEntity(dto) : updateEntity(dto.getId(), dto));
+    }
+    entityManager.flush();
+    var ids = saved.stream().map(Person::getId).toList();
+    searchIndexService.refreshAll(SearchEntityType.PERSON, ids);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON, ids));
+    var result = saved.stream().map(dbMapper::toPersonDto).toList();
+    entityManager.clear();
+    return result;
+  }
+
+  @NonNull
+  private Person createEntity(@NonNull PersonDto personDto) {
     // 1) Validate input DTO for creation
     dbValidator.validateCreateEntity(personDto, "Person");
 
@@ -125,10 +190,8 @@ public class PersonService {
       JpaTools.safeLink(person, entityEntry, Person::getRelationsIn, PersonRelation::setToPerson);
     }
 
-    // 7) Persist and return DTO
-    var savedPerson = repository.save(person);
-
-    return dbMapper.toPersonDto(savedPerson);
+    // 7) Persist
+    return repository.save(person);
   }
 
   /**
@@ -142,6 +205,15 @@ public class PersonService {
   @NonNull
   @Transactional
   public PersonDto update(@NonNull UUID id, @NonNull PersonDto personDto) {
+    var savedPerson = updateEntity(id, personDto);
+    entityCacheEvictor.evict(Person.class, savedPerson.getId());
+    searchIndexService.refresh(SearchEntityType.PERSON, savedPerson.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON, savedPerson.getId()));
+    return dbMapper.toPersonDto(savedPerson);
+  }
+
+  @NonNull
+  private Person updateEntity(@NonNull UUID id, @NonNull PersonDto personDto) {
     var entity = getEntity(id);
     dbMapper.updatePersonFromDto(personDto, entity);
 
@@ -149,8 +221,7 @@ public class PersonService {
       throw new FatalDbException("Mapping update PersonDto to Person entity resulted in null");
     }
 
-    var savedPerson = repository.save(entity);
-    return dbMapper.toPersonDto(savedPerson);
+    return repository.save(entity);
   }
 
   /**
@@ -175,11 +246,70 @@ public class PersonService {
    */
   @NonNull
   public Page<PersonDto> list(@NonNull Pageable pageable, PersonFilter filter) {
-    var spec = Objects.requireNonNull(PersonSpecifications.build(filter), "Specification must not be null");
+    var spec = Objects.requireNonNull(PersonSpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
     return repository.findAll(spec, pageable)
         .map(dbMapper::toPersonDto);
   }
 
+  /**
+   * Stream all non-deleted persons as shallow DTOs (relation lists left empty) over a database cursor.
+   * Entities are detached once mapped, so memory use does not grow with the number of rows.
+   *
+   * @param action consumer of each person DTO, called inside this read-only transaction
+   */
+  public void streamAll(@NonNull Consumer<PersonDto> action) {
+    try (var rows = repository.streamByDeletedAtIsNull()) {
+      rows.forEach(entity -> {
+        action.accept(dbMapper.toPersonShallowDto(entity));
+        entityManager.detach(entity);
+      });
+    }
+  }
+
+  /**
+   * List persons with paging and optional filtering without computing a total count.
+   *
+   * @param pageable paging/sorting configuration
+   * @param filter filter criteria (nullable)
+   *
+   * @return slice of person DTOs
+   */
+  @NonNull
+  public Slice<PersonDto> listSlice(@NonNull Pageable pageable, PersonFilter filter) {
+    var spec = Objects.requireNonNull(PersonSpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
+    return JpaTools.findSlice(entityManager, Person.class, spec, pageable)
+        .map(dbMapper::toPersonDto);
+  }
+
+  /**
+   * Estimate number of non-deleted persons from planner statistics.
+   * Falls back to an exact count when the table has not been analyzed yet.
+   *
+   * @return estimated count
+   */
+  public long estimateCount() {
+    return JpaTools.estimateCount(entityManager, Person.class,
+        Objects.requireNonNull(PersonSpecifications.build(null), "Specification must not be null"));
+  }
+
+  /**
+   * Scroll persons with keyset pagination and optional filtering.
+   *
+   * @param position scroll position (keyset) to continue from
+   * @param size maximum number of items in the window
+   * @param sort sorting configuration; non-null properties only (the id is appended as tie-breaker)
+   * @param filter filter criteria (nullable)
+   *
+   * @return window of person DTOs
+   */
+  @NonNull
+  public Window<PersonDto> scroll(@NonNull ScrollPosition position, int size, @NonNull Sort sort, PersonFilter filter) {
+    var spec = Objects.requireNonNull(PersonSpecifications.build(resolveTextSearch(filter)), "Specification must not be null");
+    var keysetSort = JpaTools.keysetSort(Person.class, sort);
+    Window<Person> window = repository.findBy(spec, q -> q.sortBy(keysetSort).limit(size).scroll(position));
+    return window.map(dbMapper::toPersonDto);
+  }
+
   /**
    * Soft delete person by id.
    * 
@@ -192,6 +322,34 @@ public class PersonService {
     UUID entityId = Objects.requireNonNull(entity.getId(), "Person id must not be null");
     
     repository.softDelete(entityId);
+    entityCacheEvictor.evict(Person.class, entityId);
+    searchIndexService.refresh(SearchEntityType.PERSON, entityId);
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.PERSON, entityId));
+  }
+
+  /**
+   * Routes the free-text filter through the local search index when it is enabled:
+   * the text predicate is replaced by the ids of the index hits, so the database
+   * fetches rows by primary key instead of scanning with LIKE. The index matches the same
+   * substrings of the same columns; queries shorter than three characters, matching more than
+   * LocalSearchIndexService.MAX_HITS documents, or including soft-deleted rows (not indexed)
+   * keep the LIKE filter.
+   *
+   * @param filter filter criteria (nullable)
+   *
+   * @return filter to build the specification from
+   */
+  private PersonFilter resolveTextSearch(PersonFilter filter) {
+    if (filter == null || filter.getTextContains() == null || filter.getTextContains().isBlank()
+        || Boolean.TRUE.equals(filter.getIncludeDeleted()) || !localSearchIndexService.isEnabled()) {
+      return filter;
+    }
+    return localSearchIndexService.searchIds(SearchEntityType.PERSON, filter.getTextContains())
+        .map(ids -> filter.toBuilder()
+            .textContains(null)
+            .ids(ids)
+            .build())
+        .orElse(filter);
   }
 
   /**
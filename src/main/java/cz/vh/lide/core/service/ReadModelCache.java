@@ -0,0 +1,193 @@
+package cz.vh.lide.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import cz.vh.lide.core.service.ResourceVersionService.Version;
+import cz.vh.lide.ws.dto.EntryDetailDtos.EntryDetailView;
+import cz.vh.lide.ws.dto.PersonReadDtos.PersonReadView;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process read-through cache of assembled read views, keyed by person/entry id.
+ * <p>
+ * Entries are evicted by {@link ReadModelCacheInvalidator} after the writing transaction commits.
+ * Each region keeps an invalidation generation: a view loaded while an eviction happened is
+ * returned but not stored, so a slow load cannot put a pre-commit state back into the cache.
+ * The TTL ({@code app.read.cache.ttl}) only bounds memory held by views of writes made outside the application.
+ * <p>
+ * A view loaded for a conditional GET is stored with the {@link Version} read before loading it,
+ * and such a lookup only returns a cached view stored with the same version. The ETag derived from
+ * that version therefore always describes the returned body (or an older state, which only costs
+ * the client one more full response), never a newer one.
+ */
+@Component
+public class ReadModelCache {
+
+  private final boolean enabled;
+  private final Region<PersonReadView> persons;
+  private final Region<EntryDetailView> entries;
+
+  /**
+   * Creates the cache.
+   *
+   * @param enabled whether views are cached at all
+   * @param maxSize maximum number of views per region
+   * @param ttl time after which a cached view is dropped
+   */
+  public ReadModelCache(@Value("${app.read.cache.enabled:true}") boolean enabled,
+      @Value("${app.read.cache.max-size:10000}") long maxSize,
+      @Value("${app.read.cache.ttl:10m}") Duration ttl) {
+    this.enabled = enabled;
+    this.persons = new Region<>(enabled, maxSize, ttl, PersonReadView::id);
+    this.entries = new Region<>(enabled, maxSize, ttl, EntryDetailView::id);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Cached person read views.
+   *
+   * @return person region
+   */
+  @NonNull
+  public Region<PersonReadView> persons() {
+    return persons;
+  }
+
+  /**
+   * Cached entry detail views.
+   *
+   * @return entry region
+   */
+  @NonNull
+  public Region<EntryDetailView> entries() {
+    return entries;
+  }
+
+  /**
+   * Drops all cached views.
+   */
+  public void clear() {
+    persons.clear();
+    entries.clear();
+  }
+
+  /**
+   * One cache region of views of the same type.
+   *
+   * @param <V> view type
+   */
+  public static final class Region<V> {
+
+    private final Cache<UUID, Versioned<V>> cache;
+    private final Function<V, UUID> idOf;
+    private final AtomicLong generation = new AtomicLong();
+
+    private Region(boolean enabled, long maxSize, Duration ttl, Function<V, UUID> idOf) {
+      this.cache = Caffeine.newBuilder()
+          .maximumSize(enabled ? Math.max(0, maxSize) : 0L)
+          .expireAfterWrite(ttl)
+          .build();
+      this.idOf = idOf;
+    }
+
+    /**
+     * Returns the cached view or loads and caches it.
+     *
+     * @param id view id
+     * @param version current version of the view, read before this call; null accepts any cached view
+     * @param loader loads the view from the database
+     *
+     * @return view, or empty when the loader finds none
+     */
+    @NonNull
+    public Optional<V> find(@NonNull UUID id, Version version, @NonNull Function<UUID, Optional<V>> loader) {
+      var cached = cache.getIfPresent(id);
+      if (cached != null && (version == null || version.equals(cached.version()))) {
+        return Optional.of(cached.view());
+      }
+      long loadedAt = generation.get();
+      var loaded = loader.apply(id);
+      loaded.ifPresent(view -> store(view, version, loadedAt));
+      return loaded;
+    }
+
+    /**
+     * Returns views for many ids, loading only the ids missing in the cache in one call.
+     *
+     * @param ids distinct view ids, in response order
+     * @param loader loads views for the missing ids (any order, missing ids omitted)
+     *
+     * @return views in the order of {@code ids}; ids without a view are skipped
+     */
+    @NonNull
+    public List<V> findAll(@NonNull Collection<UUID> ids, @NonNull Function<List<UUID>, List<V>> loader) {
+      var found = new HashMap<UUID, V>();
+      cache.getAllPresent(ids).forEach((id, cached) -> found.put(id, cached.view()));
+      var missing = ids.stream().filter(id -> !found.containsKey(id)).toList();
+      if (!missing.isEmpty()) {
+        long loadedAt = generation.get();
+        for (var view : loader.apply(missing)) {
+          found.put(idOf.apply(view), view);
+          store(view, null, loadedAt);
+        }
+      }
+      return ids.stream()
+          .map(found::get)
+          .filter(Objects::nonNull)
+          .toList();
+    }
+
+    /**
+     * Evicts views by id.
+     *
+     * @param ids view ids
+     */
+    public void evictAll(@NonNull Collection<UUID> ids) {
+      if (ids.isEmpty()) {
+        return;
+      }
+      generation.incrementAndGet();
+      cache.invalidateAll(ids);
+    }
+
+    /**
+     * Evicts all views of this region.
+     */
+    public void clear() {
+      generation.incrementAndGet();
+      cache.invalidateAll();
+    }
+
+    private void store(V view, Version version, long loadedAt) {
+      if (generation.get() != loadedAt) {
+        return;
+      }
+      var id = idOf.apply(view);
+      cache.put(id, new Versioned<>(view, version));
+      // an eviction racing with the put wins
+      if (generation.get() != loadedAt) {
+        cache.invalidate(id);
+      }
+    }
+  }
+
+  /**
+   * Cached view with the version it was loaded for (null when loaded by a batch lookup).
+   */
+  private record Versioned<V>(V view, Version version) {
+  }
+}
@@ -0,0 +1,45 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.core.event.ReadViewsChangedEvent;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached read views affected by committed writes.
+ * <p>
+ * The affected views are resolved once per change by {@link ReadViewFanout}; bulk changes clear the
+ * whole cache.
+ */
+@Component
+public class ReadModelCacheInvalidator {
+
+  private final ReadModelCache readModelCache;
+
+  /**
+   * Creates the invalidator with required dependencies.
+   *
+   * @param readModelCache cache of assembled read views
+   */
+  public ReadModelCacheInvalidator(@NonNull ReadModelCache readModelCache) {
+    this.readModelCache = readModelCache;
+  }
+
+  /**
+   * Evicts the views affected by a committed change.
+   *
+   * @param affected views displaying the changed rows (delivered after commit)
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onReadViewsChanged(@NonNull ReadViewsChangedEvent affected) {
+    if (!readModelCache.isEnabled()) {
+      return;
+    }
+    if (affected.all()) {
+      readModelCache.clear();
+      return;
+    }
+    readModelCache.persons().evictAll(affected.personIds());
+    readModelCache.entries().evictAll(affected.entryIds());
+  }
+}
@@ -0,0 +1,51 @@
+package cz.vh.lide.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.vh.lide.db.exception.FatalDbException;
+import java.util.List;
+
+/**
+ * Shared SQL fragments and decoding helpers for read-model query services.
+ */
+final class ReadModelSupport {
+
+  /** to_char pattern rendering timestamps as UTC ISO-8601, which maps directly to {@link java.time.Instant}. */
+  static final String ISO_UTC = "'YYYY-MM-DD\"T\"HH24:MI:SS.US\"Z\"'";
+
+  private ReadModelSupport() {
+  }
+
+  /**
+   * Renders a timestamptz column as UTC ISO-8601 text inside json_build_object.
+   *
+   * @param column qualified column name
+   *
+   * @return SQL expression
+   */
+  static String isoUtc(String column) {
+    return "to_char(" + column + " at time zone 'UTC', " + ISO_UTC + ")";
+  }
+
+  /**
+   * Decodes a json_agg column into a list of views.
+   *
+   * @param objectMapper mapper used for decoding
+   * @param json JSON array text (nullable)
+   * @param type target list type
+   * @param <T> element type
+   *
+   * @return decoded list, empty when the column is null
+   */
+  static <T> List<T> readJson(ObjectMapper objectMapper, String json, TypeReference<List<T>> type) {
+    if (json == null) {
+      return List.of();
+    }
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new FatalDbException("Cannot decode aggregated read-model column", e);
+    }
+  }
+}
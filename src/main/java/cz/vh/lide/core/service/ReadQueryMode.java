@@ -0,0 +1,19 @@
+package cz.vh.lide.core.service;
+
+/**
+ * Strategy used by the aggregated read endpoints to assemble their views.
+ */
+public enum ReadQueryMode {
+
+  /** Single-statement read-model query (json_agg projection, filtering and ordering in SQL). */
+  PROJECTION,
+
+  /** Original repository fan-out with soft-delete filtering and ordering in Java. */
+  LEGACY,
+
+  /**
+   * Root row and each aggregate sub-select as separate statements run concurrently on separate
+   * connections ({@link ParallelReads}); latency is the slowest branch, at the cost of more connections.
+   */
+  PARALLEL
+}
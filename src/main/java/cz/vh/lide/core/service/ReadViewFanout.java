@@ -0,0 +1,138 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.core.event.ReadViewsChangedEvent;
+import jakarta.persistence.EntityManager;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Resolves which aggregated read views (person read view, entry detail view) display the rows of
+ * an entity change.
+ * <p>
+ * A change fans out to every view that displays the changed row: a renamed person affects its own
+ * view, the views of related persons (relation display names) and of linked entries; a renamed tag
+ * affects all persons and entries carrying it; a link change affects both of its ends. Link tables
+ * are queried without the {@code deleted_at} filter, so links removed in the same transaction
+ * still resolve to the views that showed them.
+ * <p>
+ * Every change is resolved once, before commit on the writer's own connection (pending JPA changes
+ * are flushed first), and republished as {@link ReadViewsChangedEvent}; the read-model cache and the
+ * SSE change stream consume it after commit without touching the database. A write therefore never
+ * needs a second pool connection in its after-commit callbacks.
+ */
+@Component
+public class ReadViewFanout {
+
+  /** Views affected by a change of each kind; SQL selects ids from {@code :ids} of that kind. */
+  private static final Map<EntityKind, Fanout> FANOUT = new EnumMap<>(EntityKind.class);
+
+  static {
+    FANOUT.put(EntityKind.PERSON, new Fanout(true, false,
+        List.of("select to_person_id from person_relation where from_person_id in (:ids)",
+            "select from_person_id from person_relation where to_person_id in (:ids)"),
+        List.of("select entry_id from person_entry where person_id in (:ids)")));
+    FANOUT.put(EntityKind.ENTRY, new Fanout(false, true,
+        List.of("select person_id from person_entry where entry_id in (:ids)"),
+        List.of()));
+    FANOUT.put(EntityKind.TAG, new Fanout(false, false,
+        List.of("select person_id from person_tag where tag_id in (:ids)"),
+        List.of("select entry_id from entry_tag where tag_id in (:ids)")));
+    FANOUT.put(EntityKind.MEDIA, new Fanout(false, false,
+        List.of(),
+        List.of("select entry_id from media_entry where media_id in (:ids)")));
+    FANOUT.put(EntityKind.PERSON_TAG, new Fanout(false, false,
+        List.of("select person_id from person_tag where id in (:ids)"),
+        List.of()));
+    FANOUT.put(EntityKind.ENTRY_TAG, new Fanout(false, false,
+        List.of(),
+        List.of("select entry_id from entry_tag where id in (:ids)")));
+    FANOUT.put(EntityKind.PERSON_ENTRY, new Fanout(false, false,
+        List.of("select person_id from person_entry where id in (:ids)"),
+        List.of("select entry_id from person_entry where id in (:ids)")));
+    FANOUT.put(EntityKind.MEDIA_ENTRY, new Fanout(false, false,
+        List.of(),
+        List.of("select entry_id from media_entry where id in (:ids)")));
+    FANOUT.put(EntityKind.PERSON_RELATION, new Fanout(false, false,
+        List.of("select from_person_id from person_relation where id in (:ids)",
+            "select to_person_id from person_relation where id in (:ids)"),
+        List.of()));
+  }
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Creates the resolver with required dependencies.
+   *
+   * @param jdbc JDBC template for the fan-out lookups; joins the writing transaction
+   * @param entityManager JPA entity manager, flushed so the lookups see the pending changes
+   * @param eventPublisher publisher of the resolved {@link ReadViewsChangedEvent}
+   */
+  public ReadViewFanout(@NonNull NamedParameterJdbcTemplate jdbc,
+      @NonNull EntityManager entityManager,
+      @NonNull ApplicationEventPublisher eventPublisher) {
+    this.jdbc = jdbc;
+    this.entityManager = entityManager;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Resolves the views affected by a change in the writing transaction, just before it commits,
+   * and publishes them as {@link ReadViewsChangedEvent} (delivered to its listeners after commit).
+   *
+   * @param event change published by a write path
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onEntityChanged(@NonNull EntityChangedEvent event) {
+    if (!event.isBulk() && TransactionSynchronizationManager.isActualTransactionActive()) {
+      entityManager.flush();
+    }
+    eventPublisher.publishEvent(resolve(event));
+  }
+
+  /**
+   * Resolves the views affected by a change; runs in the caller's transaction, if any.
+   *
+   * @param event change published by a write path
+   *
+   * @return affected view ids; bulk changes affect all views
+   */
+  @NonNull
+  public ReadViewsChangedEvent resolve(@NonNull EntityChangedEvent event) {
+    if (event.isBulk()) {
+      return new ReadViewsChangedEvent(event, Set.of(), Set.of(), true);
+    }
+    var fanout = FANOUT.get(event.kind());
+    var params = Map.of("ids", event.ids());
+    Set<UUID> personIds = new HashSet<>(fanout.persons() ? event.ids() : Set.<UUID>of());
+    Set<UUID> entryIds = new HashSet<>(fanout.entries() ? event.ids() : Set.<UUID>of());
+    fanout.personSql().forEach(sql -> personIds.addAll(jdbc.queryForList(sql, params, UUID.class)));
+    fanout.entrySql().forEach(sql -> entryIds.addAll(jdbc.queryForList(sql, params, UUID.class)));
+    return new ReadViewsChangedEvent(event, personIds, entryIds, false);
+  }
+
+  /**
+   * Views affected by a change.
+   *
+   * @param persons whether the changed ids are person view ids themselves
+   * @param entries whether the changed ids are entry view ids themselves
+   * @param personSql queries selecting further affected person ids
+   * @param entrySql queries selecting further affected entry ids
+   */
+  private record Fanout(boolean persons, boolean entries, List<String> personSql, List<String> entrySql) {
+  }
+}
@@ -0,0 +1,167 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.core.event.EntityKind;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cheap version lookups for HTTP conditional requests.
+ * <p>
+ * A version is the newest {@code updated_at} of every row a view is built from plus the number of
+ * rows it currently shows. Soft-deleted link and target rows are included in the maximum (soft
+ * deletes bump {@code updated_at}), and the row count changes whenever a row appears in or drops
+ * out of the view, so any change of the representation changes the version. Lookups read only
+ * timestamps and indexed foreign keys; no view is assembled.
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("unused")
+public class ResourceVersionService {
+
+  private static final Map<EntityKind, String> ENTITY_SQL = new EnumMap<>(EntityKind.class);
+
+  static {
+    for (var kind : new EntityKind[] {EntityKind.PERSON, EntityKind.ENTRY, EntityKind.TAG, EntityKind.MEDIA}) {
+      ENTITY_SQL.put(kind, """
+          select updated_at, 1 as row_count
+            from %s
+           where id = :id
+             and deleted_at is null
+          """.formatted(kind.table()));
+    }
+  }
+
+  private static final String LINKS = """
+      cross join lateral (
+        select max(greatest(l.updated_at, x.updated_at)) as updated_at,
+               count(*) filter (where l.deleted_at is null and x.deleted_at is null) as row_count
+          from %s l
+          join %s x on x.id = l.%s
+         where l.%s = %s.id) %s
+      """;
+
+  private static final String RELATIONS = """
+      cross join lateral (
+        select max(greatest(r.updated_at, o.updated_at)) as updated_at,
+               count(*) filter (where r.deleted_at is null)
+                 + count(*) filter (where r.deleted_at is null and o.deleted_at is null) as row_count
+          from person_relation r
+          join person o on o.id = r.%s
+         where r.%s = p.id) %s
+      """;
+
+  private static final String PERSON_READ_SQL = """
+      select greatest(p.updated_at, tg.updated_at, en.updated_at, ro.updated_at, ri.updated_at) as updated_at,
+             1 + tg.row_count + en.row_count + ro.row_count + ri.row_count as row_count
+        from person p
+      """
+      + LINKS.formatted("person_tag", "tag", "tag_id", "person_id", "p", "tg")
+      + LINKS.formatted("person_entry", "entry", "entry_id", "person_id", "p", "en")
+      + RELATIONS.formatted("to_person_id", "from_person_id", "ro")
+      + RELATIONS.formatted("from_person_id", "to_person_id", "ri")
+      + """
+       where p.id = :id
+         and p.deleted_at is null
+      """;
+
+  private static final String ENTRY_READ_SQL = """
+      select greatest(e.updated_at, tg.updated_at, pe.updated_at, me.updated_at) as updated_at,
+             1 + tg.row_count + pe.row_count + me.row_count as row_count
+        from entry e
+      """
+      + LINKS.formatted("entry_tag", "tag", "tag_id", "entry_id", "e", "tg")
+      + LINKS.formatted("person_entry", "person", "person_id", "entry_id", "e", "pe")
+      + LINKS.formatted("media_entry", "media", "media_id", "entry_id", "e", "me")
+      + """
+       where e.id = :id
+         and e.deleted_at is null
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for the version lookups
+   */
+  public ResourceVersionService(@NonNull NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /**
+   * Version of a single person, entry, tag or media row.
+   *
+   * @param kind entity kind
+   * @param id entity id
+   *
+   * @return version, or empty when the row does not exist or is deleted
+   */
+  @NonNull
+  public Optional<Version> entity(@NonNull EntityKind kind, @NonNull UUID id) {
+    var sql = ENTITY_SQL.get(kind);
+    if (sql == null) {
+      throw new IllegalArgumentException("Unsupported entity kind: " + kind);
+    }
+    return query(sql, id);
+  }
+
+  /**
+   * Version of the aggregated person read view (person, tags, entries, relations).
+   *
+   * @param personId person id
+   *
+   * @return version, or empty when the person does not exist or is deleted
+   */
+  @NonNull
+  public Optional<Version> personRead(@NonNull UUID personId) {
+    return query(PERSON_READ_SQL, personId);
+  }
+
+  /**
+   * Version of the aggregated entry detail view (entry, tags, persons, media).
+   *
+   * @param entryId entry id
+   *
+   * @return version, or empty when the entry does not exist or is deleted
+   */
+  @NonNull
+  public Optional<Version> entryRead(@NonNull UUID entryId) {
+    return query(ENTRY_READ_SQL, entryId);
+  }
+
+  private Optional<Version> query(String sql, UUID id) {
+    return jdbc.query(sql, Map.of("id", id), (rs, rowNum) -> new Version(
+            rs.getObject("updated_at", OffsetDateTime.class).toInstant(),
+            rs.getLong("row_count")))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Version of a representation.
+   *
+   * @param updatedAt newest modification time of the rows the representation is built from
+   * @param rowCount number of rows the representation currently shows
+   */
+  public record Version(@NonNull Instant updatedAt, long rowCount) {
+
+    /**
+     * Strong entity tag: equal tags imply an identical representation.
+     *
+     * @return quoted entity tag
+     */
+    @NonNull
+    public String etag() {
+      return "\"%x-%x\"".formatted(ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt), rowCount);
+    }
+  }
+}
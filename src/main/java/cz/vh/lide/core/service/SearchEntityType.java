@@ -0,0 +1,41 @@
+package cz.vh.lide.core.service;
+
+import java.util.Locale;
+
+/**
+ * Kind of entity stored in the unified search index ({@code search_document.entity_type}).
+ */
+public enum SearchEntityType {
+
+  PERSON,
+  ENTRY,
+  MEDIA,
+  TAG;
+
+  /**
+   * Value stored in {@code search_document.entity_type} and returned in search hits.
+   *
+   * @return lower-case type name
+   */
+  public String code() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Resolves a type from its code (case-insensitive).
+   *
+   * @param value type code, e.g. {@code person}
+   *
+   * @return resolved type
+   */
+  public static SearchEntityType fromCode(String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Search type must not be blank");
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported search type: " + value);
+    }
+  }
+}
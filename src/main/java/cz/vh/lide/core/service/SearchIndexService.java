@@ -0,0 +1,179 @@
+package cz.vh.lide.core.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Maintains the unified search index ({@code search_document}) on write.
+ * <p>
+ * Documents are derived in SQL from the source row, so the title/body composition lives
+ * in one place per entity type. Entity services call {@link #refresh(SearchEntityType, UUID)}
+ * inside their write transaction, after create, update and soft delete; the index therefore
+ * commits or rolls back together with the entity change. The optional
+ * {@link LocalSearchIndexService} reads its own columns from the entity rows in the same
+ * transaction and is updated only after the transaction commits.
+ */
+@Service
+@Transactional
+@SuppressWarnings("unused")
+public class SearchIndexService {
+
+  private static final Map<SearchEntityType, String> SOURCE_SQL = new EnumMap<>(SearchEntityType.class);
+
+  static {
+    SOURCE_SQL.put(SearchEntityType.PERSON, """
+        select 'person' as entity_type, p.id as entity_id,
+               coalesce(nullif(trim(concat_ws(' ', p.first_name, p.last_name)), ''), p.nickname) as title,
+               concat_ws(' ', p.nickname, p.email, p.phone, p.note) as body
+          from person p
+         where p.deleted_at is null
+        """);
+    SOURCE_SQL.put(SearchEntityType.ENTRY, """
+        select 'entry' as entity_type, e.id as entity_id,
+               e.title as title,
+               concat_ws(' ', e.type, e.content) as body
+          from entry e
+         where e.deleted_at is null
+        """);
+    SOURCE_SQL.put(SearchEntityType.MEDIA, """
+        select 'media' as entity_type, m.id as entity_id,
+               coalesce(m.title, m.uri) as title,
+               concat_ws(' ', m.media_type, m.note, m.uri) as body
+          from media m
+         where m.deleted_at is null
+        """);
+    SOURCE_SQL.put(SearchEntityType.TAG, """
+        select 'tag' as entity_type, t.id as entity_id,
+               t.name as title,
+               null::text as body
+          from tag t
+         where t.deleted_at is null
+        """);
+  }
+
+  private static final String UPSERT_SQL = """
+      insert into search_document (entity_type, entity_id, title, body)
+      select s.entity_type, s.entity_id, s.title, s.body
+        from (%s) s
+       where s.entity_id in (:ids)
+      on conflict (entity_type, entity_id) do update
+         set title = excluded.title,
+             body = excluded.body,
+             updated_at = now()
+      returning entity_id
+      """;
+
+  private static final String REBUILD_SQL = """
+      insert into search_document (entity_type, entity_id, title, body)
+      select s.entity_type, s.entity_id, s.title, s.body
+        from (%s) s
+      """;
+
+  private static final String DELETE_SQL = """
+      delete from search_document
+       where entity_type = :type
+         and entity_id in (:ids)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final EntityManager entityManager;
+  private final LocalSearchIndexService localSearchIndexService;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for index statements
+   * @param entityManager JPA entity manager, flushed so pending entity changes are visible to SQL
+   * @param localSearchIndexService optional embedded index fed after commit
+   */
+  public SearchIndexService(@NonNull NamedParameterJdbcTemplate jdbc,
+      @NonNull EntityManager entityManager,
+      @NonNull LocalSearchIndexService localSearchIndexService) {
+    this.jdbc = jdbc;
+    this.entityManager = entityManager;
+    this.localSearchIndexService = localSearchIndexService;
+  }
+
+  /**
+   * Re-derives the search document of one entity from its current row.
+   * Removes the document when the row is missing or soft-deleted.
+   *
+   * @param type entity type.
+   * @param id entity id.
+   */
+  public void refresh(@NonNull SearchEntityType type, @NonNull UUID id) {
+    refreshAll(type, List.of(id));
+  }
+
+  /**
+   * Re-derives the search documents of many entities of one type in one statement.
+   * Removes documents whose rows are missing or soft-deleted.
+   *
+   * @param type entity type.
+   * @param ids entity ids.
+   */
+  public void refreshAll(@NonNull SearchEntityType type, @NonNull Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    entityManager.flush();
+    var params = Map.of("type", type.code(), "ids", ids);
+    var upserted = new HashSet<UUID>();
+    jdbc.query(UPSERT_SQL.formatted(SOURCE_SQL.get(type)), params, rs -> {
+      upserted.add(rs.getObject("entity_id", UUID.class));
+    });
+
+    var missing = ids.stream().filter(id -> !upserted.contains(id)).toList();
+    if (!missing.isEmpty()) {
+      jdbc.update(DELETE_SQL, Map.of("type", type.code(), "ids", missing));
+    }
+    afterCommit(localSearchIndexService.prepare(type, ids));
+  }
+
+  /**
+   * Rebuilds the whole index from the source tables, e.g. after bulk loads that bypass the services.
+   *
+   * @return number of indexed documents
+   */
+  public int rebuild() {
+    entityManager.flush();
+    jdbc.getJdbcTemplate().update("delete from search_document");
+    int total = 0;
+    for (var source : SOURCE_SQL.values()) {
+      total += jdbc.getJdbcTemplate().update(REBUILD_SQL.formatted(source));
+    }
+    afterCommit(localSearchIndexService::rebuild);
+    return total;
+  }
+
+  /**
+   * Runs the action after the current transaction commits (immediately when there is none),
+   * so the embedded index never sees rolled-back changes.
+   */
+  private void afterCommit(Runnable action) {
+    if (!localSearchIndexService.isEnabled()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
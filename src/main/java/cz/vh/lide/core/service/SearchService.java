@@ -0,0 +1,112 @@
+package cz.vh.lide.core.service;
+
+import cz.vh.lide.ws.dto.SearchDtos.SearchHit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Global ranked full-text search over the unified search index ({@code search_document}).
+ * <p>
+ * One statement matches all entity types through the GIN index on the generated tsvector,
+ * ranks the hits with {@code ts_rank} and renders snippets with {@code ts_headline} for
+ * the returned page only.
+ * <p>
+ * Snippets are safe HTML: the stored text is HTML-escaped ({@code &}, {@code <}, {@code >},
+ * {@code "}) before highlighting, so the only markup is the {@code <b>} around matches. Titles are
+ * plain text.
+ */
+@Service
+@Transactional(readOnly = true)
+@SuppressWarnings("unused")
+public class SearchService {
+
+  /** Upper bound of hits returned by {@link #search(String, Collection, int)}. */
+  public static final int MAX_LIMIT = 100;
+
+  private static final int MAX_TERMS = 10;
+
+  private static final String SEARCH_SQL = """
+      with q as (
+        select to_tsquery('simple', :query) as query
+      ), hits as (
+        select d.entity_type, d.entity_id, d.title, d.body,
+               ts_rank(d.document, q.query) as rank
+          from search_document d, q
+         where d.document @@ q.query
+           and d.entity_type in (:types)
+         order by rank desc, d.entity_id
+         limit :limit
+      )
+      select h.entity_type, h.entity_id, h.title, h.rank,
+             ts_headline('simple',
+                         replace(replace(replace(replace(coalesce(nullif(h.body, ''), h.title, ''),
+                             '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'),
+                         q.query,
+                         'MaxFragments=2, MaxWords=20, MinWords=5, StartSel=<b>, StopSel=</b>') as snippet
+        from hits h, q
+       order by h.rank desc, h.entity_id
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  /**
+   * Creates the service with required dependencies.
+   *
+   * @param jdbc JDBC template used for the search statement
+   */
+  public SearchService(@NonNull NamedParameterJdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /**
+   * Searches persons, entries, media and tags in one ranked query.
+   * Every word of the query must match (as a prefix) the title or body of a hit.
+   *
+   * @param text free-text query.
+   * @param types entity types to search; empty means all types.
+   * @param limit maximum number of hits, clamped to 1..{@value #MAX_LIMIT}.
+   *
+   * @return hits ordered by relevance; empty when the query has no searchable words.
+   */
+  @NonNull
+  public List<SearchHit> search(@NonNull String text, @NonNull Collection<SearchEntityType> types, int limit) {
+    var query = toPrefixQuery(text);
+    if (query.isEmpty()) {
+      return List.of();
+    }
+    var selected = types.isEmpty() ? EnumSet.allOf(SearchEntityType.class) : EnumSet.copyOf(types);
+    var params = Map.of(
+        "query", query,
+        "types", selected.stream().map(SearchEntityType::code).toList(),
+        "limit", Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+    return jdbc.query(SEARCH_SQL, params, (rs, rowNum) -> new SearchHit(
+        rs.getString("entity_type"),
+        rs.getObject("entity_id", UUID.class),
+        rs.getString("title"),
+        rs.getString("snippet"),
+        rs.getDouble("rank")));
+  }
+
+  /**
+   * Builds a tsquery matching every word as a prefix, e.g. {@code "jan nov"} → {@code jan:* & nov:*}.
+   * Only letters and digits are kept, so user input cannot inject tsquery operators.
+   */
+  private static String toPrefixQuery(String text) {
+    return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+        .filter(term -> !term.isEmpty())
+        .limit(MAX_TERMS)
+        .map(term -> term + ":*")
+        .collect(Collectors.joining(" & "));
+  }
+}
@@ -1,5 +1,7 @@
 package cz.vh.lide.core.service;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.tools.JpaTools;
 import cz.vh.lide.db.dto.TagDto;
 import cz.vh.lide.db.entity.EntryTag;
@@ -13,11 +15,18 @@ import cz.vh.lide.db.repository.PersonTagRepository;
 import cz.vh.lide.db.repository.TagRepository;
 import cz.vh.lide.db.specification.TagSpecifications;
 import cz.vh.lide.db.validator.dbValidator;
+import jakarta.persistence.EntityManager;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +42,10 @@ public class TagService {
   private final EntryTagService entryTagService;
   private final PersonTagService personTagService;
   private final DbMapper dbMapper;
+  private final EntityManager entityManager;
+  private final SearchIndexService searchIndexService;
+  private final EntityCacheEvictor entityCacheEvictor;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the service with required dependencies.
@@ -41,15 +54,27 @@ public class TagService {
    * @param entryTagService entry-tag relation service
    * @param personTagService person-tag relation service
    * @param dbMapper mapper between DTOs and entities
+   * @param entityManager JPA entity manager for count-free slice queries
+   * @param searchIndexService unified search index maintained on write
+   * @param entityCacheEvictor second-level cache eviction on update and soft delete
+   * @param eventPublisher publisher of entity change events
    */
   public TagService(@NonNull TagRepository repository,
       @NonNull EntryTagService entryTagService,
       @NonNull PersonTagService personTagService,
-      @NonNull DbMapper dbMapper) {
+      @NonNull DbMapper dbMapper,
+      @NonNull EntityManager entityManager,
+      @NonNull SearchIndexService searchIndexService,
+      @NonNull EntityCacheEvictor entityCacheEvictor,
+      @NonNull ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.entryTagService = entryTagService;
     this.personTagService = personTagService;
     this.dbMapper = dbMapper;
+    this.entityManager = entityManager;
+    this.searchIndexService = searchIndexService;
+    this.entityCacheEvictor = entityCacheEvictor;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -97,6 +122,8 @@ public class TagService {
 
     // 5) Persist and return DTO
     var savedTag = repository.save(tag);
+    searchIndexService.refresh(SearchEntityType.TAG, savedTag.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.TAG, savedTag.getId()));
     return dbMapper.toTagDto(savedTag);
   }
 
@@ -119,6 +146,9 @@ public class TagService {
     }
 
     var savedTag = repository.save(entity);
+    entityCacheEvictor.evict(Tag.class, savedTag.getId());
+    searchIndexService.refresh(SearchEntityType.TAG, savedTag.getId());
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.TAG, savedTag.getId()));
     return dbMapper.toTagDto(savedTag);
   }
 
@@ -149,6 +179,65 @@ public class TagService {
         .map(dbMapper::toTagDto);
   }
 
+  /**
+   * Stream all non-deleted tags as shallow DTOs (relation lists left empty) over a database cursor.
+   * Entities are detached once mapped, so memory use does not grow with the number of rows.
+   *
+   * @param action consumer of each tag DTO, called inside this read-only transaction
+   */
+  public void streamAll(@NonNull Consumer<TagDto> action) {
+    try (var rows = repository.streamByDeletedAtIsNull()) {
+      rows.forEach(entity -> {
+        action.accept(dbMapper.toTagShallowDto(entity));
+        entityManager.detach(entity);
+      });
+    }
+  }
+
+  /**
+   * List tags with paging and optional filtering without computing a total count.
+   *
+   * @param pageable paging/sorting configuration
+   * @param filter filter criteria (nullable)
+   *
+   * @return slice of tag DTOs
+   */
+  @NonNull
+  public Slice<TagDto> listSlice(@NonNull Pageable pageable, TagFilter filter) {
+    var spec = Objects.requireNonNull(TagSpecifications.build(filter), "Specification must not be null");
+    return JpaTools.findSlice(entityManager, Tag.class, spec, pageable)
+        .map(dbMapper::toTagDto);
+  }
+
+  /**
+   * Estimate number of non-deleted tags from planner statistics.
+   * Falls back to an exact count when the table has not been analyzed yet.
+   *
+   * @return estimated count
+   */
+  public long estimateCount() {
+    return JpaTools.estimateCount(entityManager, Tag.class,
+        Objects.requireNonNull(TagSpecifications.build(null), "Specification must not be null"));
+  }
+
+  /**
+   * Scroll tags with keyset pagination and optional filtering.
+   *
+   * @param position scroll position (keyset) to continue from
+   * @param size maximum number of items in the window
+   * @param sort sorting configuration; non-null properties only (the id is appended as tie-breaker)
+   * @param filter filter criteria (nullable)
+   *
+   * @return window of tag DTOs
+   */
+  @NonNull
+  public Window<TagDto> scroll(@NonNull ScrollPosition position, int size, @NonNull Sort sort, TagFilter filter) {
+    var spec = Objects.requireNonNull(TagSpecifications.build(filter), "Specification must not be null");
+    var keysetSort = JpaTools.keysetSort(Tag.class, sort);
+    Window<Tag> window = repository.findBy(spec, q -> q.sortBy(keysetSort).limit(size).scroll(position));
+    return window.map(dbMapper::toTagDto);
+  }
+
   /**
    * Soft delete tag by id.
    *
@@ -160,6 +249,9 @@ public class TagService {
     dbValidator.validateCanDeletedEntity(entity, "Tag");
     UUID entityId = Objects.requireNonNull(entity.getId(), "Tag id must not be null");
     repository.softDelete(entityId);
+    entityCacheEvictor.evict(Tag.class, entityId);
+    searchIndexService.refresh(SearchEntityType.TAG, entityId);
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.TAG, entityId));
   }
 
   /**
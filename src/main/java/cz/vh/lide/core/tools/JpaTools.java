@@ -1,16 +1,46 @@
 package cz.vh.lide.core.tools;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
 import cz.vh.lide.db.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class JpaTools {
 
+  private static final Map<String, Boolean> NOT_NULL_PATHS = new ConcurrentHashMap<>();
+
+  /** Live rows from planner statistics: reltuples scaled by the null fraction of deleted_at; -1 when never analyzed. */
+  private static final String ESTIMATE_ACTIVE_SQL = """
+      select case when c.reltuples < 0 then -1
+                  else (c.reltuples * coalesce(s.null_frac, 1))::bigint end
+        from pg_class c
+        left join pg_stats s on s.schemaname = current_schema()
+                            and s.tablename = :table
+                            and s.attname = 'deleted_at'
+       where c.oid = to_regclass(:table)
+      """;
+
   /**
    * Safely links a child entity to its owner by setting the owner on the child and
    * adding the child to the owner's collection if present and not already contained.
@@ -62,4 +92,169 @@ public class JpaTools {
       rightList.add(left);
     }
   }
+
+  /**
+   * Loads one page of entities matching a specification without running a count query.
+   * Fetches {@code pageSize + 1} rows to detect whether a next slice exists.
+   *
+   * @param entityManager entity manager
+   * @param type          entity class
+   * @param spec          filter specification
+   * @param pageable      paging/sorting configuration
+   * @param <T>           entity type
+   *
+   * @return slice of entities
+   */
+  public static <T> Slice<T> findSlice(
+      @NonNull EntityManager entityManager,
+      @NonNull Class<T> type,
+      @NonNull Specification<T> spec,
+      @NonNull Pageable pageable) {
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createQuery(type);
+    var root = query.from(type);
+    var predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.select(root);
+    if (pageable.getSort().isSorted()) {
+      query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+    }
+
+    var typedQuery = entityManager.createQuery(query);
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+    }
+    typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+    typedQuery.setMaxResults(pageable.getPageSize() + 1);
+
+    List<T> content = typedQuery.getResultList();
+    boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+  }
+
+  /**
+   * Estimates the number of rows matching the "not deleted" specification of a soft-deletable entity
+   * from planner statistics (no table scan). Falls back to an exact count when the table has not been
+   * analyzed yet.
+   *
+   * @param entityManager entity manager
+   * @param type          entity class mapped with {@code @Table} and a {@code deleted_at} column
+   * @param activeSpec    specification of non-deleted rows, used for the exact fallback
+   * @param <T>           entity type
+   *
+   * @return estimated count
+   */
+  public static <T> long estimateCount(
+      @NonNull EntityManager entityManager,
+      @NonNull Class<T> type,
+      @NonNull Specification<T> activeSpec) {
+    long estimate = estimateActiveRows(entityManager, tableName(type));
+    if (estimate >= 0) {
+      return estimate;
+    }
+    var cb = entityManager.getCriteriaBuilder();
+    var query = cb.createQuery(Long.class);
+    var root = query.from(type);
+    var predicate = activeSpec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.select(cb.count(root));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  /**
+   * Estimates the number of non-deleted rows of a table from planner statistics.
+   *
+   * @param entityManager entity manager
+   * @param table         table name in the current schema
+   *
+   * @return estimated count; -1 when the table was never analyzed
+   */
+  public static long estimateActiveRows(@NonNull EntityManager entityManager, @NonNull String table) {
+    var result = entityManager.createNativeQuery(ESTIMATE_ACTIVE_SQL)
+        .setParameter("table", table)
+        .getResultList();
+    return result.isEmpty() ? -1 : ((Number) result.get(0)).longValue();
+  }
+
+  private static String tableName(Class<?> type) {
+    var table = type.getAnnotation(Table.class);
+    if (table == null || table.name().isEmpty()) {
+      throw new IllegalStateException("Entity " + type.getSimpleName() + " has no @Table name");
+    }
+    return table.name();
+  }
+
+  /**
+   * Validates a sort for keyset (cursor) scrolling and appends {@code id} as the final tie-breaker.
+   * <p>
+   * Keyset predicates ({@code col > :last}) never match NULL, so a nullable sort property would
+   * silently skip rows; only properties mapped as non-null ({@code @Id},
+   * {@code @Column(nullable = false)}, through {@code @JoinColumn(nullable = false)} associations)
+   * are accepted.
+   *
+   * @param type entity class
+   * @param sort requested sort
+   *
+   * @return sort ending with {@code id}
+   *
+   * @throws IllegalArgumentException when a property is unknown or nullable
+   */
+  @NonNull
+  public static Sort keysetSort(@NonNull Class<?> type, @NonNull Sort sort) {
+    var orders = new ArrayList<Sort.Order>();
+    boolean hasId = false;
+    for (var order : sort) {
+      var property = order.getProperty();
+      boolean notNull = NOT_NULL_PATHS.computeIfAbsent(type.getName() + "#" + property,
+          key -> isNotNullPath(type, property));
+      if (!notNull) {
+        throw new IllegalArgumentException(
+            "Sort property '" + property + "' is nullable or unknown and cannot be used with cursor pagination");
+      }
+      orders.add(order);
+      hasId |= "id".equals(property);
+    }
+    if (!hasId) {
+      orders.add(Sort.Order.asc("id"));
+    }
+    return Sort.by(orders);
+  }
+
+  private static boolean isNotNullPath(Class<?> type, String path) {
+    var current = type;
+    var segments = path.split("\\.");
+    for (int i = 0; i < segments.length; i++) {
+      var field = findField(current, segments[i]);
+      if (field == null) {
+        return false;
+      }
+      boolean last = i == segments.length - 1;
+      if (last) {
+        var column = field.getAnnotation(Column.class);
+        return field.isAnnotationPresent(Id.class) || (column != null && !column.nullable());
+      }
+      var manyToOne = field.getAnnotation(ManyToOne.class);
+      var joinColumn = field.getAnnotation(JoinColumn.class);
+      if (manyToOne == null || (manyToOne.optional() && (joinColumn == null || joinColumn.nullable()))) {
+        return false;
+      }
+      current = field.getType();
+    }
+    return false;
+  }
+
+  private static Field findField(Class<?> type, String name) {
+    for (var c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      try {
+        return c.getDeclaredField(name);
+      } catch (NoSuchFieldException e) {
+        // continue with the superclass
+      }
+    }
+    return null;
+  }
 }
@@ -19,6 +19,8 @@ import lombok.Setter;
  * <p>
  * Includes a UUID primary key, creation/update timestamps managed automatically,
  * and an optional deletion timestamp for soft-delete tracking.
+ * The stored timestamps are overwritten by a database trigger with the database clock at the time
+ * of the write (changelogs 008, 010); the lifecycle hooks only fill the in-memory values.
  * </p>
  */
 @MappedSuperclass
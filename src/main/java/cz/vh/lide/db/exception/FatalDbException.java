@@ -6,4 +6,8 @@ public class FatalDbException extends FatalException {
   public FatalDbException(String message) {
     super(message);
   }
+
+  public FatalDbException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
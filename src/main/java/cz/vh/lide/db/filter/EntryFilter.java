@@ -1,16 +1,22 @@
 package cz.vh.lide.db.filter;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class EntryFilter {
+  /** Matches when either title or content contains the text. */
+  private String textContains;
   private String type;
   private String titleContains;
   private String contentContains;
   private Instant occurredFrom;
   private Instant occurredTo;
   private Boolean includeDeleted;
+  /** Restricts the result to these ids (e.g. hits of the local search index); empty matches nothing. */
+  private Collection<UUID> ids;
 }
@@ -1,12 +1,16 @@
 package cz.vh.lide.db.filter;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class PersonFilter {
+  /** Matches when any of first name, last name, nickname, email or phone contains the text. */
+  private String textContains;
   private String firstNameContains;
   private String lastNameContains;
   private String nicknameContains;
@@ -15,4 +19,6 @@ public class PersonFilter {
   private LocalDate bornFrom;
   private LocalDate bornTo;
   private Boolean includeDeleted;
+  /** Restricts the result to these ids (e.g. hits of the local search index); empty matches nothing. */
+  private Collection<UUID> ids;
 }
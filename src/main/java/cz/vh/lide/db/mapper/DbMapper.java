@@ -51,6 +51,28 @@ public interface DbMapper {
   @Mapping(target = "mediaEntries", qualifiedByName = "mediaEntryShallowList")
   MediaDto toMediaDto(Media entity);
 
+  @Named("entryShallow")
+  @Mapping(target = "entryTags", ignore = true)
+  @Mapping(target = "personEntries", ignore = true)
+  @Mapping(target = "mediaEntries", ignore = true)
+  EntryDto toEntryShallowDto(Entry entity);
+
+  @Named("personShallow")
+  @Mapping(target = "personEntries", ignore = true)
+  @Mapping(target = "personTags", ignore = true)
+  @Mapping(target = "relationsOut", ignore = true)
+  @Mapping(target = "relationsIn", ignore = true)
+  PersonDto toPersonShallowDto(Person entity);
+
+  @Named("tagShallow")
+  @Mapping(target = "entryTags", ignore = true)
+  @Mapping(target = "personTags", ignore = true)
+  TagDto toTagShallowDto(Tag entity);
+
+  @Named("mediaShallow")
+  @Mapping(target = "mediaEntries", ignore = true)
+  MediaDto toMediaShallowDto(Media entity);
+
   @Named("entryTagShallow")
   @Mapping(target = "entry", ignore = true)
   @Mapping(target = "tag", ignore = true)
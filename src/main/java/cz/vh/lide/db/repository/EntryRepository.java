@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,7 @@ import cz.vh.lide.db.entity.Entry;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface EntryRepository extends JpaRepository<Entry, UUID>, JpaSpecificationExecutor<Entry> {
   /**
@@ -34,11 +38,21 @@ public interface EntryRepository extends JpaRepository<Entry, UUID>, JpaSpecific
   @NonNull
   Page<Entry> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream all Entry rows not marked as deleted.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Entry> streamByDeletedAtIsNull();
+
   /**
    * Soft delete Entry by id.
    */
   @Modifying
   @Transactional
-  @Query("update Entry p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update Entry p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
@@ -2,7 +2,10 @@ package cz.vh.lide.db.repository;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -10,6 +13,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -70,11 +74,33 @@ public interface MediaEntryRepository extends JpaRepository<MediaEntry, UUID>, J
   @NonNull
   Page<MediaEntry> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream non-deleted MediaEntry links of a entry with their non-deleted media fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from MediaEntry l join fetch l.media x where l.entry.id = :entryId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<MediaEntry> streamWithMediaByEntryId(@Param("entryId") @NonNull UUID entryId);
+
+  /**
+   * Stream non-deleted MediaEntry links of a media with their non-deleted entry fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from MediaEntry l join fetch l.entry x where l.media.id = :mediaId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<MediaEntry> streamWithEntryByMediaId(@Param("mediaId") @NonNull UUID mediaId);
+
   /**
    * Soft delete MediaEntry by id.
    */
   @Modifying
   @Transactional
-  @Query("update MediaEntry p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update MediaEntry p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,13 +9,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import cz.vh.lide.db.entity.Media;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface MediaRepository extends JpaRepository<Media, UUID>, JpaSpecificationExecutor<Media> {
   /**
@@ -22,6 +27,13 @@ public interface MediaRepository extends JpaRepository<Media, UUID>, JpaSpecific
   @NonNull
   Optional<Media> findById(@NonNull UUID id);
 
+  /**
+   * Find Media rows by ids; results are kept in the Hibernate query cache and the rows in the entity cache.
+   */
+  @NonNull
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Media> findAllById(@NonNull Iterable<UUID> ids);
+
   /**
    * Pagable find all Entries not marked as deleted.
    */
@@ -34,11 +46,22 @@ public interface MediaRepository extends JpaRepository<Media, UUID>, JpaSpecific
   @NonNull
   Page<Media> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream all Media rows not marked as deleted.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Media> streamByDeletedAtIsNull();
+
   /**
    * Soft delete Media by id.
+   * Bypasses the persistence context; callers evict the second-level cache entry (core.service.EntityCacheEvictor).
    */
   @Modifying
   @Transactional
-  @Query("update Media p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update Media p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,7 @@ import cz.vh.lide.db.entity.PersonEntry;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PersonEntryRepository extends JpaRepository<PersonEntry, UUID>, JpaSpecificationExecutor<PersonEntry> {
   /**
@@ -76,11 +80,33 @@ public interface PersonEntryRepository extends JpaRepository<PersonEntry, UUID>,
   @NonNull
   Page<PersonEntry> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream non-deleted PersonEntry links of a person with their non-deleted entry fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from PersonEntry l join fetch l.entry x where l.person.id = :personId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<PersonEntry> streamWithEntryByPersonId(@Param("personId") @NonNull UUID personId);
+
+  /**
+   * Stream non-deleted PersonEntry links of a entry with their non-deleted person fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from PersonEntry l join fetch l.person x where l.entry.id = :entryId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<PersonEntry> streamWithPersonByEntryId(@Param("entryId") @NonNull UUID entryId);
+
   /**
    * Soft delete PersonEntry by id.
    */
   @Modifying
   @Transactional
-  @Query("update PersonEntry p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update PersonEntry p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,7 @@ import cz.vh.lide.db.entity.PersonRelation;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PersonRelationsRepository extends JpaRepository<PersonRelation, UUID>, JpaSpecificationExecutor<PersonRelation> {
   /**
@@ -79,11 +83,31 @@ public interface PersonRelationsRepository extends JpaRepository<PersonRelation,
   @NonNull
   Page<PersonRelation> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream non-deleted outgoing relations of a person.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<PersonRelation> streamByFromPersonIdAndDeletedAtIsNull(@NonNull UUID fromPersonId);
+
+  /**
+   * Stream non-deleted incoming relations of a person.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<PersonRelation> streamByToPersonIdAndDeletedAtIsNull(@NonNull UUID toPersonId);
+
   /**
    * Soft delete PersonRelation by id.
    */
   @Modifying
   @Transactional
-  @Query("update PersonRelation p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update PersonRelation p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
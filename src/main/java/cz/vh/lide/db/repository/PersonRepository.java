@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,13 +9,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import cz.vh.lide.db.entity.Person;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PersonRepository extends JpaRepository<Person, UUID>, JpaSpecificationExecutor<Person> {
   /**
@@ -22,6 +27,13 @@ public interface PersonRepository extends JpaRepository<Person, UUID>, JpaSpecif
   @NonNull
   Optional<Person> findById(@NonNull UUID id);
 
+  /**
+   * Find Person rows by ids; results are kept in the Hibernate query cache and the rows in the entity cache.
+   */
+  @NonNull
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Person> findAllById(@NonNull Iterable<UUID> ids);
+
   /**
    * Pagable find all persons not marked as deleted.
    */
@@ -34,11 +46,22 @@ public interface PersonRepository extends JpaRepository<Person, UUID>, JpaSpecif
   @NonNull
   Page<Person> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream all Person rows not marked as deleted.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Person> streamByDeletedAtIsNull();
+
   /**
    * Soft delete person by id.
+   * Bypasses the persistence context; callers evict the second-level cache entry (core.service.EntityCacheEvictor).
    */
   @Modifying
   @Transactional
-  @Query("update Person p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update Person p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,7 @@ import cz.vh.lide.db.entity.PersonTag;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface PersonTagRepository extends JpaRepository<PersonTag, UUID>, JpaSpecificationExecutor<PersonTag> {
   /**
@@ -70,11 +74,33 @@ public interface PersonTagRepository extends JpaRepository<PersonTag, UUID>, Jpa
   @NonNull
   Page<PersonTag> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream non-deleted PersonTag links of a person with their non-deleted tag fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from PersonTag l join fetch l.tag x where l.person.id = :personId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<PersonTag> streamWithTagByPersonId(@Param("personId") @NonNull UUID personId);
+
+  /**
+   * Stream non-deleted PersonTag links of a tag with their non-deleted person fetched.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select l from PersonTag l join fetch l.person x where l.tag.id = :tagId and l.deletedAt is null and x.deletedAt is null order by l.createdAt, l.id")
+  Stream<PersonTag> streamWithPersonByTagId(@Param("tagId") @NonNull UUID tagId);
+
   /**
    * Soft delete PersonTag by id.
    */
   @Modifying
   @Transactional
-  @Query("update PersonTag p set p.deletedAt = current_timestamp where p.id = :id and p.deletedAt is null")
+  @Query("update PersonTag p set p.deletedAt = current_timestamp, p.updatedAt = current_timestamp where p.id = :id and p.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
\ No newline at end of file
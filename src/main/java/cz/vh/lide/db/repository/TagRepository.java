@@ -1,5 +1,7 @@
 package cz.vh.lide.db.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.lang.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
@@ -7,13 +9,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import cz.vh.lide.db.entity.Tag;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface TagRepository extends JpaRepository<Tag, UUID>, JpaSpecificationExecutor<Tag> {
   /**
@@ -22,6 +27,13 @@ public interface TagRepository extends JpaRepository<Tag, UUID>, JpaSpecificatio
   @NonNull
   Optional<Tag> findById(@NonNull UUID id);
 
+  /**
+   * Find Tag rows by ids; results are kept in the Hibernate query cache and the rows in the entity cache.
+   */
+  @NonNull
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+  List<Tag> findAllById(@NonNull Iterable<UUID> ids);
+
   /**
    * Pagable find all persons not marked as deleted.
    */
@@ -34,11 +46,22 @@ public interface TagRepository extends JpaRepository<Tag, UUID>, JpaSpecificatio
   @NonNull
   Page<Tag> findByDeletedAtIsNotNull(@NonNull Pageable pageable);
 
+  /**
+   * Stream all Tag rows not marked as deleted.
+   * Cursor-backed; consume inside a transaction and close the stream.
+   */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Tag> streamByDeletedAtIsNull();
+
   /**
    * Soft delete tag by id.
+   * Bypasses the persistence context; callers evict the second-level cache entry (core.service.EntityCacheEvictor).
    */
   @Modifying
   @Transactional
-  @Query("update Tag t set t.deletedAt = current_timestamp where t.id = :id and t.deletedAt is null")
+  @Query("update Tag t set t.deletedAt = current_timestamp, t.updatedAt = current_timestamp where t.id = :id and t.deletedAt is null")
   int softDelete(@Param("id") @NonNull UUID id);
 }
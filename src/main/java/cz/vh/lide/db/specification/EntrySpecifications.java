@@ -17,18 +17,25 @@ public final class EntrySpecifications {
 
     Specification<Entry> spec = Specification.where(null);
 
+    if (filter.getTextContains() != null && !filter.getTextContains().isBlank()) {
+      String value = LikePatterns.containsPattern(filter.getTextContains());
+      spec = spec.and((root, query, cb) -> cb.or(
+          LikePatterns.containsIgnoreCase(cb, root.get("title"), value),
+          LikePatterns.containsIgnoreCase(cb, root.get("content"), value)));
+    }
+
     if (filter.getType() != null && !filter.getType().isBlank()) {
       spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), filter.getType()));
     }
 
     if (filter.getTitleContains() != null && !filter.getTitleContains().isBlank()) {
-      String value = "%" + filter.getTitleContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("title")), value));
+      String value = LikePatterns.containsPattern(filter.getTitleContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("title"), value));
     }
 
     if (filter.getContentContains() != null && !filter.getContentContains().isBlank()) {
-      String value = "%" + filter.getContentContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("content")), value));
+      String value = LikePatterns.containsPattern(filter.getContentContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("content"), value));
     }
 
     if (filter.getOccurredFrom() != null) {
@@ -39,6 +46,11 @@ public final class EntrySpecifications {
       spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("occurredAt"), filter.getOccurredTo()));
     }
 
+    if (filter.getIds() != null) {
+      var ids = filter.getIds();
+      spec = spec.and((root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+    }
+
     if (filter.getIncludeDeleted() == null || !filter.getIncludeDeleted()) {
       spec = spec.and(notDeleted());
     }
@@ -0,0 +1,46 @@
+package cz.vh.lide.db.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Case-insensitive substring matching shared by the `*Contains` filters.
+ */
+public final class LikePatterns {
+
+  /** Escape character of the patterns built by {@link #containsPattern(String)}, passed to LIKE explicitly. */
+  public static final char ESCAPE = '\\';
+
+  private LikePatterns() {
+  }
+
+  /**
+   * Builds a case-insensitive `%value%` LIKE pattern with `%`, `_` and the escape character escaped.
+   *
+   * @param raw user input
+   *
+   * @return lower-cased pattern for {@link #containsIgnoreCase}
+   */
+  public static String containsPattern(String raw) {
+    String escaped = raw.trim().toLowerCase()
+        .replace(String.valueOf(ESCAPE), String.valueOf(ESCAPE) + ESCAPE)
+        .replace("%", ESCAPE + "%")
+        .replace("_", ESCAPE + "_");
+    return "%" + escaped + "%";
+  }
+
+  /**
+   * `lower(column) LIKE pattern ESCAPE '\'`; served by the GIN trigram indexes on `lower(column)`
+   * where they exist (changelog 005).
+   *
+   * @param cb criteria builder
+   * @param column text column
+   * @param pattern pattern from {@link #containsPattern(String)}
+   *
+   * @return predicate
+   */
+  public static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> column, String pattern) {
+    return cb.like(cb.lower(column), pattern, ESCAPE);
+  }
+}
@@ -26,13 +26,13 @@ public final class MediaSpecifications {
     }
 
     if (filter.getTitleContains() != null && !filter.getTitleContains().isBlank()) {
-      String value = "%" + filter.getTitleContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("title")), value));
+      String value = LikePatterns.containsPattern(filter.getTitleContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("title"), value));
     }
 
     if (filter.getUriContains() != null && !filter.getUriContains().isBlank()) {
-      String value = "%" + filter.getUriContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("uri")), value));
+      String value = LikePatterns.containsPattern(filter.getUriContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("uri"), value));
     }
 
     if (filter.getTakenFrom() != null) {
@@ -17,29 +17,39 @@ public final class PersonSpecifications {
 
     Specification<Person> spec = Specification.where(null);
 
+    if (filter.getTextContains() != null && !filter.getTextContains().isBlank()) {
+      String value = LikePatterns.containsPattern(filter.getTextContains());
+      spec = spec.and((root, query, cb) -> cb.or(
+          LikePatterns.containsIgnoreCase(cb, root.get("firstName"), value),
+          LikePatterns.containsIgnoreCase(cb, root.get("lastName"), value),
+          LikePatterns.containsIgnoreCase(cb, root.get("nickname"), value),
+          LikePatterns.containsIgnoreCase(cb, root.get("email"), value),
+          LikePatterns.containsIgnoreCase(cb, root.get("phone"), value)));
+    }
+
     if (filter.getFirstNameContains() != null && !filter.getFirstNameContains().isBlank()) {
-      String value = "%" + filter.getFirstNameContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("firstName")), value));
+      String value = LikePatterns.containsPattern(filter.getFirstNameContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("firstName"), value));
     }
 
     if (filter.getLastNameContains() != null && !filter.getLastNameContains().isBlank()) {
-      String value = "%" + filter.getLastNameContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("lastName")), value));
+      String value = LikePatterns.containsPattern(filter.getLastNameContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("lastName"), value));
     }
 
     if (filter.getNicknameContains() != null && !filter.getNicknameContains().isBlank()) {
-      String value = "%" + filter.getNicknameContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("nickname")), value));
+      String value = LikePatterns.containsPattern(filter.getNicknameContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("nickname"), value));
     }
 
     if (filter.getPhoneContains() != null && !filter.getPhoneContains().isBlank()) {
-      String value = "%" + filter.getPhoneContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("phone")), value));
+      String value = LikePatterns.containsPattern(filter.getPhoneContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("phone"), value));
     }
 
     if (filter.getEmailContains() != null && !filter.getEmailContains().isBlank()) {
-      String value = "%" + filter.getEmailContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("email")), value));
+      String value = LikePatterns.containsPattern(filter.getEmailContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("email"), value));
     }
 
     if (filter.getBornFrom() != null) {
@@ -50,6 +60,11 @@ public final class PersonSpecifications {
       spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("birthDate"), filter.getBornTo()));
     }
 
+    if (filter.getIds() != null) {
+      var ids = filter.getIds();
+      spec = spec.and((root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids));
+    }
+
     if (filter.getIncludeDeleted() == null || !filter.getIncludeDeleted()) {
       spec = spec.and(notDeleted());
     }
@@ -18,8 +18,8 @@ public final class TagSpecifications {
     Specification<Tag> spec = Specification.where(null);
 
     if (filter.getNameContains() != null && !filter.getNameContains().isBlank()) {
-      String value = "%" + filter.getNameContains().trim().toLowerCase() + "%";
-      spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("name")), value));
+      String value = LikePatterns.containsPattern(filter.getNameContains());
+      spec = spec.and((root, query, cb) -> LikePatterns.containsIgnoreCase(cb, root.get("name"), value));
     }
 
     if (filter.getIncludeDeleted() == null || !filter.getIncludeDeleted()) {
@@ -0,0 +1,35 @@
+package cz.vh.lide.ws.config;
+
+import cz.vh.lide.core.metrics.ObservedCalls;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes every controller method as {@code lide.controller{controller, method, error}}.
+ *
+ * - With tracing enabled this is the span below the HTTP server span (http.server.requests), carrying the
+ *   entity ids of path variables and bodies (see ObservedCalls), above the service and repository spans.
+ * - Streaming responses (NDJSON, SSE) are observed until the handler returns, not until the stream ends.
+ */
+@Aspect
+@Component
+public class ControllerObservationAspect {
+
+  public static final String METRIC = "lide.controller";
+
+  private final ObservationRegistry registry;
+
+  public ControllerObservationAspect(ObservationRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Around("execution(public * cz.vh.lide.ws.controller..*(..)) "
+      + "&& @within(org.springframework.web.bind.annotation.RestController)")
+  public Object observe(ProceedingJoinPoint call) throws Throwable {
+    return ObservedCalls.observe(registry, METRIC, "controller",
+        call.getSignature().getDeclaringType().getSimpleName(), call);
+  }
+}
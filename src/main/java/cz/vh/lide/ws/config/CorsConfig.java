@@ -35,6 +35,6 @@ public class CorsConfig implements WebMvcConfigurer {
       mapping.allowedOrigins("http://localhost:5173", "http://localhost:5174")
           .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
     }
-    mapping.allowCredentials(true).allowedHeaders("*").maxAge(3600);
+    mapping.allowCredentials(true).allowedHeaders("*").exposedHeaders(SqlStatementHeaderAdvice.HEADER).maxAge(3600);
   }
 }
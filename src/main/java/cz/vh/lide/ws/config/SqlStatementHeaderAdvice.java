@@ -0,0 +1,46 @@
+package cz.vh.lide.ws.config;
+
+import cz.vh.lide.core.metrics.SqlStatementCounter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the number of JDBC statements executed so far by the request as the
+ * {@code X-SQL-Statements} response header (counted by SqlStatementMetricsFilter).
+ *
+ * - Only active with `app.sql.statements-header.enabled=true` (on by default in the dev profile).
+ * - The header is written just before the body, so only responses with a body carry it.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "app.sql.statements-header.enabled", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+  public static final String HEADER = "X-SQL-Statements";
+
+  private final SqlStatementCounter counter;
+
+  public SqlStatementHeaderAdvice(SqlStatementCounter counter) {
+    this.counter = counter;
+  }
+
+  @Override
+  public boolean supports(@NonNull MethodParameter returnType,
+      @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType, @NonNull MediaType contentType,
+      @NonNull Class<? extends HttpMessageConverter<?>> converterType, @NonNull ServerHttpRequest request,
+      @NonNull ServerHttpResponse response) {
+    counter.currentCount().ifPresent(count -> response.getHeaders().set(HEADER, String.valueOf(count)));
+    return body;
+  }
+}
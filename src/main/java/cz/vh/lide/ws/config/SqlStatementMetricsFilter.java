@@ -0,0 +1,105 @@
+package cz.vh.lide.ws.config;
+
+import cz.vh.lide.core.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of JDBC statements per API request as
+ * {@code lide.http.sql.statements{method, uri, status}} and reports requests over the statement budget.
+ *
+ * - {@code uri} is the matched route template (e.g. /api/person/{id}), not the raw path.
+ * - Hibernate and JdbcTemplate statements are counted at the DataSource, including parallel read
+ *   branches (see SqlStatementCounter).
+ * - A request over `app.sql.budget.max-statements`, or repeating one statement at least
+ *   `app.sql.budget.repeat-threshold` times (N+1 suspect), is logged as a warning with the repeated SQL and
+ *   counted in {@code lide.http.sql.budget.exceeded{method, uri}}. 0 disables the check.
+ */
+@Component
+@Slf4j
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+  public static final String METRIC = "lide.http.sql.statements";
+  public static final String EXCEEDED_METRIC = "lide.http.sql.budget.exceeded";
+
+  private static final int MAX_SQL_LENGTH = 200;
+
+  private final SqlStatementCounter counter;
+  private final MeterRegistry registry;
+  private final int budget;
+  private final int repeatThreshold;
+
+  public SqlStatementMetricsFilter(SqlStatementCounter counter, MeterRegistry registry,
+      @Value("${app.sql.budget.max-statements:20}") int budget,
+      @Value("${app.sql.budget.repeat-threshold:10}") int repeatThreshold) {
+    this.counter = counter;
+    this.registry = registry;
+    this.budget = budget;
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+  }
+
+  @Override
+  protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+      @NonNull FilterChain chain) throws ServletException, IOException {
+    try (var scope = counter.open()) {
+      chain.doFilter(request, response);
+      // async responses (SSE) finish later; their statements are not attributable to this request
+      if (!request.isAsyncStarted()) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(METRIC)
+            .description("JDBC statements per API request")
+            .baseUnit("statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .tag("status", String.valueOf(response.getStatus()))
+            .register(registry)
+            .record(scope.count());
+        checkBudget(request, uri, scope);
+      }
+    }
+  }
+
+  private void checkBudget(HttpServletRequest request, String uri, SqlStatementCounter.Scope scope) {
+    var repeated = repeatThreshold > 0 ? scope.repeated(repeatThreshold) : List.<SqlStatementCounter.Repeat>of();
+    boolean overBudget = budget > 0 && scope.count() > budget;
+    if (!overBudget && repeated.isEmpty()) {
+      return;
+    }
+    Counter.builder(EXCEEDED_METRIC)
+        .description("API requests over the SQL statement budget or with repeated statements (N+1)")
+        .tag("method", request.getMethod())
+        .tag("uri", uri)
+        .register(registry)
+        .increment();
+    if (log.isWarnEnabled()) {
+      log.warn("SQL budget: {} {} ({}) executed {} statements (budget {}){}", request.getMethod(), uri,
+          request.getRequestURI(), scope.count(), budget, repeated.stream()
+              .map(r -> r.count() + "x " + abbreviate(r.sql()))
+              .collect(Collectors.joining("\n\t", repeated.isEmpty() ? "" : "; repeated:\n\t", "")));
+    }
+  }
+
+  private static String abbreviate(String sql) {
+    return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+  }
+}
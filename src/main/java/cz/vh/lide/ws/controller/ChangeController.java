@@ -0,0 +1,41 @@
+package cz.vh.lide.ws.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import cz.vh.lide.core.service.ChangeFeedService;
+import cz.vh.lide.ws.dto.ChangeDtos.ChangeFeed;
+
+/**
+ * REST controller for the incremental change feed used by client sync.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+  private final ChangeFeedService changeFeedService;
+
+  /**
+   * Creates the controller with required services.
+   *
+   * @param changeFeedService change feed service
+   */
+  public ChangeController(ChangeFeedService changeFeedService) {
+    this.changeFeedService = changeFeedService;
+  }
+
+  /**
+   * Returns created, updated and soft-deleted rows of all tables after a token.
+   *
+   * @param since token from the previous response ({@code next}); omit for a full initial sync
+   * @param limit maximum number of changes (1..5000)
+   *
+   * @return changes in modification order, the next token and whether more changes are waiting
+   */
+  @GetMapping
+  public ResponseEntity<ChangeFeed> changes(
+      @RequestParam(required = false) String since,
+      @RequestParam(defaultValue = "500") int limit) {
+    return ResponseEntity.ok(changeFeedService.changes(since, limit));
+  }
+}
@@ -1,17 +1,29 @@
 package cz.vh.lide.ws.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Validator;
 
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.core.service.BulkWriteService;
 import cz.vh.lide.core.service.EntryService;
+import cz.vh.lide.core.service.ResourceVersionService;
+import cz.vh.lide.db.dto.EntryDto;
 import cz.vh.lide.db.filter.EntryFilter;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.CountStrategy;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
+import cz.vh.lide.ws.dto.BulkDtos.BulkItem;
+import cz.vh.lide.ws.dto.BulkDtos.BulkResult;
 import cz.vh.lide.ws.dto.EntryDtos.EntryCreate;
 import cz.vh.lide.ws.dto.EntryDtos.EntryUpdate;
 import cz.vh.lide.ws.dto.EntryDtos.EntryView;
@@ -29,14 +41,34 @@ import java.util.UUID;
 public class EntryController {
 
   private final EntryService entryService;
+  private final BulkWriteService bulkWriteService;
+  private final Validator validator;
+  private final StreamingResponses streamingResponses;
+  private final ResourceVersionService resourceVersionService;
+  private final String countStrategy;
 
   /**
    * Creates the controller with required services.
    *
    * @param entryService entry service
+   * @param bulkWriteService bulk create/update service
+   * @param validator Bean Validation validator for bulk items
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param resourceVersionService version lookups for conditional GETs
+   * @param countStrategy default total-count strategy for paged lists (exact, none, estimate)
    */
-  public EntryController(EntryService entryService) {
+  public EntryController(EntryService entryService,
+      BulkWriteService bulkWriteService,
+      Validator validator,
+      StreamingResponses streamingResponses,
+      ResourceVersionService resourceVersionService,
+      @Value("${app.pagination.count-strategy:exact}") String countStrategy) {
     this.entryService = entryService;
+    this.bulkWriteService = bulkWriteService;
+    this.validator = validator;
+    this.streamingResponses = streamingResponses;
+    this.resourceVersionService = resourceVersionService;
+    this.countStrategy = countStrategy;
   }
 
   /**
@@ -53,6 +85,16 @@ public class EntryController {
     return ResponseEntity.ok(items);
   }
 
+  /**
+   * Streams all entries as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @return streamed entries
+   */
+  @GetMapping(produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> stream() {
+    return streamingResponses.ndjson(sink -> entryService.streamAll(dto -> sink.accept(WsMapper.toEntryView(dto))));
+  }
+
   /**
    * Lists entries with pagination, optional search, and sorting.
    *
@@ -60,6 +102,7 @@ public class EntryController {
    * @param page page index (0-based)
    * @param size page size
    * @param sort sort parameters (field,dir)
+   * @param count total-count strategy (exact, none, estimate); defaults to `app.pagination.count-strategy`
    *
    * @return list of entries with pagination headers
    */
@@ -68,29 +111,57 @@ public class EntryController {
       @RequestParam(required = false) String q,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(required = false) List<String> sort) {
+      @RequestParam(required = false) List<String> sort,
+      @RequestParam(required = false) String count) {
     var pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), ControllerTools.parseSort(sort));
-    EntryFilter filter = null;
-    if (q != null && !q.isBlank()) {
-      filter = EntryFilter.builder()
-          .titleContains(q)
-          .contentContains(q)
-          .build();
+    var filter = toFilter(q);
+    var strategy = CountStrategy.resolve(count, countStrategy);
+    if (strategy != CountStrategy.EXACT) {
+      var sliceRes = entryService.listSlice(pageable, filter).map(WsMapper::toEntryView);
+      Long estimate = strategy == CountStrategy.ESTIMATE && filter == null ? entryService.estimateCount() : null;
+      var headers = ControllerTools.buildPaginationHeaders(sliceRes, size, estimate);
+      return ResponseEntity.ok().headers(headers).body(sliceRes.getContent());
     }
     var pageRes = entryService.list(pageable, filter).map(WsMapper::toEntryView);
     var headers = ControllerTools.buildPaginationHeaders(pageRes, size);
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists entries with keyset (cursor) pagination, optional search, and sorting.
+   *
+   * @param q search query (title/content)
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of entries with cursor headers
+   */
+  @GetMapping(params = {"cursor", "!page"})
+  public ResponseEntity<List<EntryView>> scroll(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var window = entryService.scroll(ControllerTools.parseCursor(cursor), Math.max(1, size),
+        ControllerTools.parseSort(sort), toFilter(q)).map(WsMapper::toEntryView);
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Gets a single entry by id.
    *
    * @param id entry id
+   * @param request current request (`If-None-Match` / `If-Modified-Since`)
    *
    * @return entry view
    */
   @GetMapping("/{id}")
-  public ResponseEntity<EntryView> get(@PathVariable UUID id) {
+  public ResponseEntity<EntryView> get(@PathVariable UUID id, WebRequest request) {
+    if (ControllerTools.checkNotModified(request, resourceVersionService.entity(EntityKind.ENTRY, id))) {
+      return null;
+    }
     return ResponseEntity.ok(WsMapper.toEntryView(entryService.get(id)));
   }
 
@@ -110,6 +181,23 @@ public class EntryController {
       .body(WsMapper.toEntryView(created));
   }
 
+  /**
+   * Creates or updates many entries in one request.
+   * Items without {@code id} are created (including bindings), items with {@code id} update scalar fields.
+   *
+   * @param items items to write, at most {@value BulkWriteService#MAX_ITEMS}
+   *
+   * @return per-item results in request order
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkResult> bulk(@RequestBody List<BulkItem<EntryCreate>> items) {
+    var rejected = ControllerTools.validateItems(validator, items);
+    var dtos = items.stream()
+        .map(item -> item == null || item.data() == null ? null : toEntryDto(item))
+        .toList();
+    return ResponseEntity.ok(bulkWriteService.writeEntries(dtos, rejected));
+  }
+
   /**
    * Updates an entry by id.
    *
@@ -137,4 +225,19 @@ public class EntryController {
     entryService.softDelete(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static EntryFilter toFilter(String q) {
+    if (q == null || q.isBlank()) {
+      return null;
+    }
+    return EntryFilter.builder()
+        .textContains(q)
+        .build();
+  }
+
+  private static EntryDto toEntryDto(BulkItem<EntryCreate> item) {
+    var dto = WsMapper.toEntryDto(item.data());
+    dto.setId(item.id());
+    return dto;
+  }
 }
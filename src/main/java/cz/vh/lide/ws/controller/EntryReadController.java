@@ -1,5 +1,9 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.service.EntryReadQueryService;
+import cz.vh.lide.core.service.ReadQueryMode;
+import cz.vh.lide.core.service.ResourceVersionService;
+import cz.vh.lide.ws.controller.tools.ControllerTools;
 import cz.vh.lide.ws.dto.EntryDetailDtos.EntryDetailView;
 import cz.vh.lide.ws.dto.EntryDetailDtos.MediaWithLink;
 import cz.vh.lide.ws.dto.EntryDetailDtos.PersonWithRole;
@@ -7,9 +11,11 @@ import cz.vh.lide.ws.dto.TagDtos.TagView;
 import cz.vh.lide.db.entity.*;
 import cz.vh.lide.db.repository.*;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
@@ -18,10 +24,20 @@ import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
+/**
+ * REST controller for the aggregated entry read view.
+ * <p>
+ * The assembly strategy is selected by {@code app.read.entry-detail-mode}
+ * ({@code projection} by default, {@code legacy} for the repository fan-out, {@code parallel}
+ * for concurrent sub-queries).
+ */
 @RestController
 @RequestMapping("/api/entryread")
 public class EntryReadController {
 
+    private final EntryReadQueryService entryReadQueryService;
+    private final ReadQueryMode mode;
+
     private final EntryRepository entryRepo;
     private final EntryTagRepository entryTagRepo;
     private final TagRepository tagRepo;
@@ -32,14 +48,35 @@ public class EntryReadController {
     private final MediaEntryRepository mediaEntryRepo;
     private final MediaRepository mediaRepo;
 
+    private final ResourceVersionService resourceVersionService;
+
+    /**
+     * Creates the controller with required dependencies.
+     *
+     * @param entryReadQueryService read-model query for entry detail
+     * @param mode assembly strategy for the detail view
+     * @param entryRepo entry repository (legacy mode)
+     * @param entryTagRepo entry-tag repository (legacy mode)
+     * @param tagRepo tag repository (legacy mode)
+     * @param personEntryRepo person-entry repository (legacy mode)
+     * @param personRepo person repository (legacy mode)
+     * @param mediaEntryRepo media-entry repository (legacy mode)
+     * @param mediaRepo media repository (legacy mode)
+     * @param resourceVersionService version lookups for conditional GETs
+     */
     public EntryReadController(
+            EntryReadQueryService entryReadQueryService,
+            @Value("${app.read.entry-detail-mode:projection}") ReadQueryMode mode,
             EntryRepository entryRepo,
             EntryTagRepository entryTagRepo,
             TagRepository tagRepo,
             PersonEntryRepository personEntryRepo,
             PersonRepository personRepo,
             MediaEntryRepository mediaEntryRepo,
-            MediaRepository mediaRepo) {
+            MediaRepository mediaRepo,
+            ResourceVersionService resourceVersionService) {
+        this.entryReadQueryService = entryReadQueryService;
+        this.mode = mode;
         this.entryRepo = entryRepo;
         this.entryTagRepo = entryTagRepo;
         this.tagRepo = tagRepo;
@@ -47,12 +84,52 @@ public class EntryReadController {
         this.personRepo = personRepo;
         this.mediaEntryRepo = mediaEntryRepo;
         this.mediaRepo = mediaRepo;
+        this.resourceVersionService = resourceVersionService;
     }
 
+    /**
+     * Loads the aggregated entry view. Answers 304 when the client's {@code ETag} still matches
+     * the version of the entry and its links, without assembling the view.
+     *
+     * @param entryId entry id
+     * @param request current request ({@code If-None-Match} / {@code If-Modified-Since})
+     *
+     * @return entry view
+     */
     @GetMapping("/{entryId}")
-    public ResponseEntity<?> detail(@PathVariable UUID entryId) {
-                var id = java.util.Objects.requireNonNull(entryId, "entryId");
-                var e = entryRepo.findById(id)
+    public ResponseEntity<EntryDetailView> detail(@PathVariable UUID entryId, WebRequest request) {
+        var id = java.util.Objects.requireNonNull(entryId, "entryId");
+        // the version is read before the view, so the ETag never describes a newer state than the body
+        var version = resourceVersionService.entryRead(id);
+        if (ControllerTools.checkNotModified(request, version)) {
+            return null;
+        }
+        if (mode == ReadQueryMode.LEGACY) {
+            return ResponseEntity.ok(legacyDetail(id));
+        }
+        var view = mode == ReadQueryMode.PARALLEL
+                ? entryReadQueryService.findParallel(id, version.orElse(null))
+                : entryReadQueryService.find(id, version.orElse(null));
+        return view
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Entry not found"));
+    }
+
+    /**
+     * Loads aggregated entry views for many ids at once (e.g. for list pages).
+     * Always uses the read-model projection regardless of the detail mode.
+     *
+     * @param ids entry ids, at most {@value EntryReadQueryService#MAX_BATCH_SIZE}
+     *
+     * @return views in request order; missing or deleted ids are omitted
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<EntryDetailView>> batch(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(entryReadQueryService.findAll(java.util.Objects.requireNonNull(ids, "ids")));
+    }
+
+    private EntryDetailView legacyDetail(UUID id) {
+        var e = entryRepo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Entry not found"));
         if (e.getDeletedAt() != null) {
             throw new ResponseStatusException(NOT_FOUND, "Entry not found");
@@ -125,8 +202,8 @@ public class EntryReadController {
                 })
                 .toList();
 
-        return ResponseEntity.ok(new EntryDetailView(
+        return new EntryDetailView(
                 e.getId(), e.getType(), e.getTitle(), e.getContent(), e.getOccurredAt(),
-                tags, persons, media));
+                tags, persons, media);
     }
 }
@@ -1,19 +1,26 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.db.entity.Entry;
 import cz.vh.lide.db.entity.EntryTag;
 import cz.vh.lide.db.entity.Tag;
 import cz.vh.lide.db.repository.EntryRepository;
 import cz.vh.lide.db.repository.EntryTagRepository;
 import cz.vh.lide.db.repository.TagRepository;
+import cz.vh.lide.db.filter.EntryTagFilter;
+import cz.vh.lide.db.specification.EntryTagSpecifications;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.EntryDtos.EntryView;
 import cz.vh.lide.ws.dto.TagDtos.TagView;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
@@ -34,6 +41,8 @@ public class EntryTagController {
   private final EntryTagRepository entryTagRepository;
   private final EntryRepository entryRepository;
   private final TagRepository tagRepository;
+  private final StreamingResponses streamingResponses;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the controller with required repositories.
@@ -41,13 +50,19 @@ public class EntryTagController {
    * @param entryTagRepository entry-tag repository
    * @param entryRepository entry repository
    * @param tagRepository tag repository
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param eventPublisher publisher of link change events (read-model cache invalidation)
    */
   public EntryTagController(EntryTagRepository entryTagRepository,
       EntryRepository entryRepository,
-      TagRepository tagRepository) {
+      TagRepository tagRepository,
+      StreamingResponses streamingResponses,
+      ApplicationEventPublisher eventPublisher) {
     this.entryTagRepository = entryTagRepository;
     this.entryRepository = entryRepository;
     this.tagRepository = tagRepository;
+    this.streamingResponses = streamingResponses;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -64,6 +79,20 @@ public class EntryTagController {
     return ResponseEntity.ok(mapTags(links));
   }
 
+  /**
+   * Streams tags linked to an entry as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param entryId entry id
+   *
+   * @return streamed tags
+   */
+  @GetMapping(value = "/entry/{entryId}/tags", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamTags(@PathVariable UUID entryId) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    return streamingResponses.ndjson(() -> entryTagRepository.streamWithTagByEntryId(id),
+        l -> new TagView(l.getTag().getId(), l.getTag().getName()));
+  }
+
   /**
    * Lists tags linked to an entry with pagination and sorting.
    *
@@ -87,6 +116,32 @@ public class EntryTagController {
     return ResponseEntity.ok().headers(headers).body(mapTags(pageRes.getContent()));
   }
 
+  /**
+   * Lists tags linked to an entry with keyset (cursor) pagination and sorting.
+   *
+   * @param entryId entry id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of tags with cursor headers
+   */
+  @GetMapping(value = "/entry/{entryId}/tags", params = {"cursor", "!page"})
+  public ResponseEntity<List<TagView>> scrollTags(
+      @PathVariable UUID entryId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, EntryTag.class);
+    var window = entryTagRepository.findBy(
+        EntryTagSpecifications.build(EntryTagFilter.builder().entryId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapTags(window.getContent()));
+  }
+
   /**
    * Lists entries linked to a tag without pagination.
    *
@@ -101,6 +156,22 @@ public class EntryTagController {
     return ResponseEntity.ok(mapEntries(links));
   }
 
+  /**
+   * Streams entries linked to a tag as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param tagId tag id
+   *
+   * @return streamed entries
+   */
+  @GetMapping(value = "/tag/{tagId}/entries", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamEntries(@PathVariable UUID tagId) {
+    var id = Objects.requireNonNull(tagId, "tagId");
+    return streamingResponses.ndjson(() -> entryTagRepository.streamWithEntryByTagId(id), l -> {
+      var e = l.getEntry();
+      return new EntryView(e.getId(), e.getType(), e.getTitle(), e.getContent(), e.getOccurredAt());
+    });
+  }
+
   /**
    * Lists entries linked to a tag with pagination and sorting.
    *
@@ -124,6 +195,32 @@ public class EntryTagController {
     return ResponseEntity.ok().headers(headers).body(mapEntries(pageRes.getContent()));
   }
 
+  /**
+   * Lists entries linked to a tag with keyset (cursor) pagination and sorting.
+   *
+   * @param tagId tag id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of entries with cursor headers
+   */
+  @GetMapping(value = "/tag/{tagId}/entries", params = {"cursor", "!page"})
+  public ResponseEntity<List<EntryView>> scrollEntries(
+      @PathVariable UUID tagId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(tagId, "tagId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, EntryTag.class);
+    var window = entryTagRepository.findBy(
+        EntryTagSpecifications.build(EntryTagFilter.builder().tagId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapEntries(window.getContent()));
+  }
+
   /**
     * Adds a tag to an entry (creates a new link even if a deleted link exists).
    *
@@ -152,6 +249,7 @@ public class EntryTagController {
     link.setEntry(entry);
     link.setTag(tag);
     entryTagRepository.save(link);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.ENTRY_TAG, link.getId()));
 
     return ResponseEntity.noContent().build();
   }
@@ -172,6 +270,7 @@ public class EntryTagController {
     var link = entryTagRepository.findByEntryIdAndTagId(eId, tId)
         .orElseThrow(() -> new IllegalArgumentException("EntryTag link not found"));
     entryTagRepository.softDelete(Objects.requireNonNull(link.getId(), "link id"));
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.ENTRY_TAG, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
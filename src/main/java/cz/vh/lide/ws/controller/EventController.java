@@ -0,0 +1,47 @@
+package cz.vh.lide.ws.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import cz.vh.lide.ws.controller.tools.EventStreams;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * REST controller for the Server-Sent Events change stream.
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+  private final EventStreams eventStreams;
+
+  /**
+   * Creates the controller with required services.
+   *
+   * @param eventStreams SSE subscription hub
+   */
+  public EventController(EventStreams eventStreams) {
+    this.eventStreams = eventStreams;
+  }
+
+  /**
+   * Opens a stream of committed changes (`event: change`, JSON `ChangeNotice` data).
+   *
+   * @param persons person read views of interest (e.g. open detail pages); all changes when both filters are omitted
+   * @param entries entry detail views of interest
+   *
+   * @return SSE stream
+   */
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter events(
+      @RequestParam(required = false) List<UUID> persons,
+      @RequestParam(required = false) List<UUID> entries) {
+    return eventStreams.subscribe(
+        persons == null ? Set.of() : Set.copyOf(persons),
+        entries == null ? Set.of() : Set.copyOf(entries));
+  }
+}
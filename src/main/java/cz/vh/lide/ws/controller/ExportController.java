@@ -0,0 +1,58 @@
+package cz.vh.lide.ws.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import cz.vh.lide.core.service.DataFormat;
+import cz.vh.lide.core.service.ExportService;
+
+/**
+ * REST controller for streaming dataset exports.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+  private final ExportService exportService;
+
+  /**
+   * Creates the controller with required services.
+   *
+   * @param exportService streaming export service
+   */
+  public ExportController(ExportService exportService) {
+    this.exportService = exportService;
+  }
+
+  /**
+   * Streams a dataset as NDJSON or CSV in the format accepted by {@code POST /api/import}.
+   * The download runs as an async request bounded by {@code spring.mvc.async.request-timeout}
+   * ({@code MVC_ASYNC_TIMEOUT}, 30 min).
+   *
+   * @param dataset {@code persons}, {@code entries}, {@code media}, {@code tags}, {@code links} or {@code all}
+   * @param format {@code ndjson} (default) or {@code csv}
+   * @param section single record type within the dataset (required for CSV of {@code links}/{@code all})
+   *
+   * @return streamed file download
+   */
+  @GetMapping("/{dataset}")
+  public ResponseEntity<StreamingResponseBody> export(
+      @PathVariable String dataset,
+      @RequestParam(required = false) String format,
+      @RequestParam(required = false) String section) {
+    var dataFormat = DataFormat.fromCode(format);
+    var types = exportService.resolve(dataset, dataFormat, section);
+    var fileName = (types.size() == 1 ? types.get(0) : dataset) + "." + dataFormat.extension();
+
+    StreamingResponseBody body = out -> exportService.write(types, dataFormat, out);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(dataFormat.mediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(fileName).build().toString())
+        .body(body);
+  }
+}
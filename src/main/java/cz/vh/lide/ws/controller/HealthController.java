@@ -1,13 +0,0 @@
-package cz.vh.lide.ws.controller;
-
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-@RestController
-public class HealthController {
-
-  @GetMapping("/api/health")
-  public String health() {
-    return "OK";
-  }
-}
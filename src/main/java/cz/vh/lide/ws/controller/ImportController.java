@@ -0,0 +1,77 @@
+package cz.vh.lide.ws.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import cz.vh.lide.core.service.DataFormat;
+import cz.vh.lide.core.service.ImportJobRegistry;
+import cz.vh.lide.core.service.ImportService;
+import cz.vh.lide.ws.dto.ImportDtos.ImportJobView;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * REST controller for streaming graph imports and their progress.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+  private final ImportService importService;
+  private final ImportJobRegistry jobRegistry;
+
+  /**
+   * Creates the controller with required services.
+   *
+   * @param importService streaming import service
+   * @param jobRegistry registry of running and finished import jobs
+   */
+  public ImportController(ImportService importService, ImportJobRegistry jobRegistry) {
+    this.importService = importService;
+    this.jobRegistry = jobRegistry;
+  }
+
+  /**
+   * Imports an NDJSON (all record types) or CSV (one record type per upload) stream.
+   * The request returns when the import finishes; pass {@code jobId} to poll progress meanwhile.
+   *
+   * @param body upload stream
+   * @param contentType {@code application/x-ndjson} or {@code text/csv}
+   * @param jobId client-chosen job id for progress polling (generated when omitted)
+   * @param section record type of a CSV upload (e.g. {@code person}, {@code person_tag})
+   *
+   * @return final job state with per-type written counts and skipped records
+   */
+  @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+  public ResponseEntity<ImportJobView> importStream(
+      InputStream body,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      @RequestParam(required = false) UUID jobId,
+      @RequestParam(required = false) String section) {
+    var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(DataFormat.CSV.mediaType()))
+        ? DataFormat.CSV
+        : DataFormat.NDJSON;
+    var job = importService.importStream(body, format, section, jobId != null ? jobId : UUID.randomUUID());
+    return ResponseEntity.ok(job.toView());
+  }
+
+  /**
+   * Returns the progress of a running or recently finished import.
+   *
+   * @param jobId job id
+   *
+   * @return job state
+   */
+  @GetMapping("/{jobId}")
+  public ResponseEntity<ImportJobView> status(@PathVariable UUID jobId) {
+    return jobRegistry.find(jobId)
+        .map(job -> ResponseEntity.ok(job.toView()))
+        .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Import job not found"));
+  }
+}
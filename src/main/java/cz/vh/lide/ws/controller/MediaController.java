@@ -1,17 +1,24 @@
 package cz.vh.lide.ws.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.service.MediaService;
+import cz.vh.lide.core.service.ResourceVersionService;
 import cz.vh.lide.db.filter.MediaFilter;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.CountStrategy;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.MediaDtos.MediaCreate;
 import cz.vh.lide.ws.dto.MediaDtos.MediaUpdate;
 import cz.vh.lide.ws.dto.MediaDtos.MediaView;
@@ -29,14 +36,26 @@ import java.util.UUID;
 public class MediaController {
 
   private final MediaService mediaService;
+  private final StreamingResponses streamingResponses;
+  private final ResourceVersionService resourceVersionService;
+  private final String countStrategy;
 
   /**
    * Creates the controller with required services.
    *
    * @param mediaService media service
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param resourceVersionService version lookups for conditional GETs
+   * @param countStrategy default total-count strategy for paged lists (exact, none, estimate)
    */
-  public MediaController(MediaService mediaService) {
+  public MediaController(MediaService mediaService,
+      StreamingResponses streamingResponses,
+      ResourceVersionService resourceVersionService,
+      @Value("${app.pagination.count-strategy:exact}") String countStrategy) {
     this.mediaService = mediaService;
+    this.streamingResponses = streamingResponses;
+    this.resourceVersionService = resourceVersionService;
+    this.countStrategy = countStrategy;
   }
 
   /**
@@ -53,6 +72,16 @@ public class MediaController {
     return ResponseEntity.ok(items);
   }
 
+  /**
+   * Streams all media as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @return streamed media
+   */
+  @GetMapping(produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> stream() {
+    return streamingResponses.ndjson(sink -> mediaService.streamAll(dto -> sink.accept(WsMapper.toMediaView(dto))));
+  }
+
   /**
    * Lists media with pagination, optional search, and sorting.
    *
@@ -60,6 +89,7 @@ public class MediaController {
    * @param page page index (0-based)
    * @param size page size
    * @param sort sort parameters (field,dir)
+   * @param count total-count strategy (exact, none, estimate); defaults to `app.pagination.count-strategy`
    *
    * @return list of media with pagination headers
    */
@@ -68,29 +98,57 @@ public class MediaController {
       @RequestParam(required = false) String q,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(required = false) List<String> sort) {
+      @RequestParam(required = false) List<String> sort,
+      @RequestParam(required = false) String count) {
     var pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), ControllerTools.parseSort(sort));
-    MediaFilter filter = null;
-    if (q != null && !q.isBlank()) {
-        filter = MediaFilter.builder()
-          .titleContains(q)
-          .uriContains(q)
-          .build();
+    var filter = toFilter(q);
+    var strategy = CountStrategy.resolve(count, countStrategy);
+    if (strategy != CountStrategy.EXACT) {
+      var sliceRes = mediaService.listSlice(pageable, filter).map(WsMapper::toMediaView);
+      Long estimate = strategy == CountStrategy.ESTIMATE && filter == null ? mediaService.estimateCount() : null;
+      var headers = ControllerTools.buildPaginationHeaders(sliceRes, size, estimate);
+      return ResponseEntity.ok().headers(headers).body(sliceRes.getContent());
     }
     var pageRes = mediaService.list(pageable, filter).map(WsMapper::toMediaView);
     var headers = ControllerTools.buildPaginationHeaders(pageRes, size);
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists media with keyset (cursor) pagination, optional search, and sorting.
+   *
+   * @param q search query (title, note, uri)
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of media with cursor headers
+   */
+  @GetMapping(params = {"cursor", "!page"})
+  public ResponseEntity<List<MediaView>> scroll(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var window = mediaService.scroll(ControllerTools.parseCursor(cursor), Math.max(1, size),
+        ControllerTools.parseSort(sort), toFilter(q)).map(WsMapper::toMediaView);
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Gets a single media item by id.
    *
    * @param id media id
+   * @param request current request (`If-None-Match` / `If-Modified-Since`)
    *
    * @return media view
    */
   @GetMapping("/{id}")
-  public ResponseEntity<MediaView> get(@PathVariable UUID id) {
+  public ResponseEntity<MediaView> get(@PathVariable UUID id, WebRequest request) {
+    if (ControllerTools.checkNotModified(request, resourceVersionService.entity(EntityKind.MEDIA, id))) {
+      return null;
+    }
     return ResponseEntity.ok(WsMapper.toMediaView(mediaService.get(id)));
   }
 
@@ -137,4 +195,14 @@ public class MediaController {
     mediaService.softDelete(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static MediaFilter toFilter(String q) {
+    if (q == null || q.isBlank()) {
+      return null;
+    }
+    return MediaFilter.builder()
+        .titleContains(q)
+        .uriContains(q)
+        .build();
+  }
 }
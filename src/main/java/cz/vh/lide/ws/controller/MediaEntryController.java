@@ -1,20 +1,27 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.db.entity.Entry;
 import cz.vh.lide.db.entity.Media;
 import cz.vh.lide.db.entity.MediaEntry;
 import cz.vh.lide.db.repository.EntryRepository;
 import cz.vh.lide.db.repository.MediaEntryRepository;
 import cz.vh.lide.db.repository.MediaRepository;
+import cz.vh.lide.db.filter.MediaEntryFilter;
+import cz.vh.lide.db.specification.MediaEntrySpecifications;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.MediaEntryDtos.EntryWithLink;
 import cz.vh.lide.ws.dto.MediaEntryDtos.MediaEntryUpsert;
 import cz.vh.lide.ws.dto.MediaEntryDtos.MediaWithLink;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
@@ -35,6 +42,8 @@ public class MediaEntryController {
   private final MediaEntryRepository mediaEntryRepository;
   private final MediaRepository mediaRepository;
   private final EntryRepository entryRepository;
+  private final StreamingResponses streamingResponses;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the controller with required repositories.
@@ -42,13 +51,19 @@ public class MediaEntryController {
    * @param mediaEntryRepository media-entry repository
    * @param mediaRepository media repository
    * @param entryRepository entry repository
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param eventPublisher publisher of link change events (read-model cache invalidation)
    */
   public MediaEntryController(MediaEntryRepository mediaEntryRepository,
       MediaRepository mediaRepository,
-      EntryRepository entryRepository) {
+      EntryRepository entryRepository,
+      StreamingResponses streamingResponses,
+      ApplicationEventPublisher eventPublisher) {
     this.mediaEntryRepository = mediaEntryRepository;
     this.mediaRepository = mediaRepository;
     this.entryRepository = entryRepository;
+    this.streamingResponses = streamingResponses;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -65,6 +80,23 @@ public class MediaEntryController {
     return ResponseEntity.ok(mapMedia(links));
   }
 
+  /**
+   * Streams media linked to an entry as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param entryId entry id
+   *
+   * @return streamed media with link data
+   */
+  @GetMapping(value = "/entry/{entryId}/media", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamMedia(@PathVariable UUID entryId) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    return streamingResponses.ndjson(() -> mediaEntryRepository.streamWithMediaByEntryId(id), l -> {
+      var m = l.getMedia();
+      return new MediaWithLink(m.getId(), l.getEntry().getId(), m.getMediaType(), m.getMimeType(),
+          m.getUri(), m.getTitle(), m.getNote(), m.getTakenAt(), l.getCaption(), l.getSortOrder());
+    });
+  }
+
   /**
    * Lists media linked to an entry (pagination + sort).
    *
@@ -88,6 +120,32 @@ public class MediaEntryController {
     return ResponseEntity.ok().headers(headers).body(mapMedia(pageRes.getContent()));
   }
 
+  /**
+   * Lists media linked to an entry (keyset cursor pagination + sort).
+   *
+   * @param entryId entry id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of media with link data and cursor headers
+   */
+  @GetMapping(value = "/entry/{entryId}/media", params = {"cursor", "!page"})
+  public ResponseEntity<List<MediaWithLink>> scrollMedia(
+      @PathVariable UUID entryId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, MediaEntry.class);
+    var window = mediaEntryRepository.findBy(
+        MediaEntrySpecifications.build(MediaEntryFilter.builder().entryId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapMedia(window.getContent()));
+  }
+
   /**
    * Lists entries linked to media (no pagination).
    *
@@ -102,6 +160,23 @@ public class MediaEntryController {
     return ResponseEntity.ok(mapEntries(links));
   }
 
+  /**
+   * Streams entries linked to a media as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param mediaId media id
+   *
+   * @return streamed entries with link data
+   */
+  @GetMapping(value = "/media/{mediaId}/entries", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamEntries(@PathVariable UUID mediaId) {
+    var id = Objects.requireNonNull(mediaId, "mediaId");
+    return streamingResponses.ndjson(() -> mediaEntryRepository.streamWithEntryByMediaId(id), l -> {
+      var e = l.getEntry();
+      return new EntryWithLink(e.getId(), l.getMedia().getId(), e.getType(), e.getTitle(),
+          e.getContent(), e.getOccurredAt(), l.getCaption(), l.getSortOrder());
+    });
+  }
+
   /**
    * Lists entries linked to media (pagination + sort).
    *
@@ -125,6 +200,32 @@ public class MediaEntryController {
     return ResponseEntity.ok().headers(headers).body(mapEntries(pageRes.getContent()));
   }
 
+  /**
+   * Lists entries linked to media (keyset cursor pagination + sort).
+   *
+   * @param mediaId media id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of entries with link data and cursor headers
+   */
+  @GetMapping(value = "/media/{mediaId}/entries", params = {"cursor", "!page"})
+  public ResponseEntity<List<EntryWithLink>> scrollEntries(
+      @PathVariable UUID mediaId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(mediaId, "mediaId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, MediaEntry.class);
+    var window = mediaEntryRepository.findBy(
+        MediaEntrySpecifications.build(MediaEntryFilter.builder().mediaId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapEntries(window.getContent()));
+  }
+
   /**
    * Adds media to an entry (updates active link, creates new if only deleted exists).
    *
@@ -150,6 +251,7 @@ public class MediaEntryController {
       link.setCaption(caption);
       link.setSortOrder(sortOrder);
       mediaEntryRepository.save(link);
+      eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.MEDIA_ENTRY, link.getId()));
       return ResponseEntity.noContent().build();
     }
 
@@ -164,6 +266,7 @@ public class MediaEntryController {
     link.setCaption(caption);
     link.setSortOrder(sortOrder);
     mediaEntryRepository.save(link);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.MEDIA_ENTRY, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
@@ -189,6 +292,7 @@ public class MediaEntryController {
     link.setCaption(req.caption());
     link.setSortOrder(req.sortOrder());
     mediaEntryRepository.save(link);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.MEDIA_ENTRY, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
@@ -208,6 +312,7 @@ public class MediaEntryController {
     var link = mediaEntryRepository.findByEntryIdAndMediaIdAndDeletedAtIsNull(eId, mId)
         .orElseThrow(() -> new IllegalArgumentException("MediaEntry link not found"));
     mediaEntryRepository.softDelete(Objects.requireNonNull(link.getId(), "link id"));
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.MEDIA_ENTRY, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
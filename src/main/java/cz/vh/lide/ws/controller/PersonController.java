@@ -1,17 +1,29 @@
 package cz.vh.lide.ws.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Validator;
 
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.core.service.BulkWriteService;
 import cz.vh.lide.core.service.PersonService;
+import cz.vh.lide.core.service.ResourceVersionService;
+import cz.vh.lide.db.dto.PersonDto;
 import cz.vh.lide.db.filter.PersonFilter;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.CountStrategy;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
+import cz.vh.lide.ws.dto.BulkDtos.BulkItem;
+import cz.vh.lide.ws.dto.BulkDtos.BulkResult;
 import cz.vh.lide.ws.dto.PersonDtos.PersonCreate;
 import cz.vh.lide.ws.dto.PersonDtos.PersonUpdate;
 import cz.vh.lide.ws.dto.PersonDtos.PersonView;
@@ -29,14 +41,34 @@ import java.util.UUID;
 public class PersonController {
 
   private final PersonService personService;
+  private final BulkWriteService bulkWriteService;
+  private final Validator validator;
+  private final StreamingResponses streamingResponses;
+  private final ResourceVersionService resourceVersionService;
+  private final String countStrategy;
 
   /**
    * Creates the controller with required services.
    *
    * @param personService person service
+   * @param bulkWriteService bulk create/update service
+   * @param validator Bean Validation validator for bulk items
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param resourceVersionService version lookups for conditional GETs
+   * @param countStrategy default total-count strategy for paged lists (exact, none, estimate)
    */
-  public PersonController(PersonService personService) {
+  public PersonController(PersonService personService,
+      BulkWriteService bulkWriteService,
+      Validator validator,
+      StreamingResponses streamingResponses,
+      ResourceVersionService resourceVersionService,
+      @Value("${app.pagination.count-strategy:exact}") String countStrategy) {
     this.personService = personService;
+    this.bulkWriteService = bulkWriteService;
+    this.validator = validator;
+    this.streamingResponses = streamingResponses;
+    this.resourceVersionService = resourceVersionService;
+    this.countStrategy = countStrategy;
   }
 
   /**
@@ -53,6 +85,16 @@ public class PersonController {
     return ResponseEntity.ok(items);
   }
 
+  /**
+   * Streams all persons as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @return streamed persons
+   */
+  @GetMapping(produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> stream() {
+    return streamingResponses.ndjson(sink -> personService.streamAll(dto -> sink.accept(WsMapper.toPersonView(dto))));
+  }
+
   /**
    * Lists persons with pagination, optional search, and sorting.
    *
@@ -60,6 +102,7 @@ public class PersonController {
    * @param page page index (0-based)
    * @param size page size
    * @param sort sort parameters (field,dir)
+   * @param count total-count strategy (exact, none, estimate); defaults to `app.pagination.count-strategy`
    *
    * @return list of persons with pagination headers
    */
@@ -68,32 +111,57 @@ public class PersonController {
       @RequestParam(required = false) String q,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(required = false) List<String> sort) {
+      @RequestParam(required = false) List<String> sort,
+      @RequestParam(required = false) String count) {
     var pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), ControllerTools.parseSort(sort));
-    PersonFilter filter = null;
-    if (q != null && !q.isBlank()) {
-      filter = PersonFilter.builder()
-          .firstNameContains(q)
-          .lastNameContains(q)
-          .nicknameContains(q)
-          .emailContains(q)
-          .phoneContains(q)
-          .build();
+    var filter = toFilter(q);
+    var strategy = CountStrategy.resolve(count, countStrategy);
+    if (strategy != CountStrategy.EXACT) {
+      var sliceRes = personService.listSlice(pageable, filter).map(WsMapper::toPersonView);
+      Long estimate = strategy == CountStrategy.ESTIMATE && filter == null ? personService.estimateCount() : null;
+      var headers = ControllerTools.buildPaginationHeaders(sliceRes, size, estimate);
+      return ResponseEntity.ok().headers(headers).body(sliceRes.getContent());
     }
     var pageRes = personService.list(pageable, filter).map(WsMapper::toPersonView);
     var headers = ControllerTools.buildPaginationHeaders(pageRes, size);
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists persons with keyset (cursor) pagination, optional search, and sorting.
+   *
+   * @param q search query (name, nickname, email, phone)
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of persons with cursor headers
+   */
+  @GetMapping(params = {"cursor", "!page"})
+  public ResponseEntity<List<PersonView>> scroll(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var window = personService.scroll(ControllerTools.parseCursor(cursor), Math.max(1, size),
+        ControllerTools.parseSort(sort), toFilter(q)).map(WsMapper::toPersonView);
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Gets a single person by id.
    *
    * @param id person id
+   * @param request current request (`If-None-Match` / `If-Modified-Since`)
    *
    * @return person view
    */
   @GetMapping("/{id}")
-  public ResponseEntity<PersonView> get(@PathVariable UUID id) {
+  public ResponseEntity<PersonView> get(@PathVariable UUID id, WebRequest request) {
+    if (ControllerTools.checkNotModified(request, resourceVersionService.entity(EntityKind.PERSON, id))) {
+      return null;
+    }
     return ResponseEntity.ok(WsMapper.toPersonView(personService.get(id)));
   }
 
@@ -113,6 +181,23 @@ public class PersonController {
       .body(WsMapper.toPersonView(created));
   }
 
+  /**
+   * Creates or updates many persons in one request.
+   * Items without {@code id} are created (including bindings), items with {@code id} update scalar fields.
+   *
+   * @param items items to write, at most {@value BulkWriteService#MAX_ITEMS}
+   *
+   * @return per-item results in request order
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkResult> bulk(@RequestBody List<BulkItem<PersonCreate>> items) {
+    var rejected = ControllerTools.validateItems(validator, items);
+    var dtos = items.stream()
+        .map(item -> item == null || item.data() == null ? null : toPersonDto(item))
+        .toList();
+    return ResponseEntity.ok(bulkWriteService.writePersons(dtos, rejected));
+  }
+
   /**
    * Updates a person by id.
    *
@@ -140,4 +225,19 @@ public class PersonController {
     personService.softDelete(id);
     return ResponseEntity.noContent().build();
   }
-}
\ No newline at end of file
+
+  private static PersonFilter toFilter(String q) {
+    if (q == null || q.isBlank()) {
+      return null;
+    }
+    return PersonFilter.builder()
+        .textContains(q)
+        .build();
+  }
+
+  private static PersonDto toPersonDto(BulkItem<PersonCreate> item) {
+    var dto = WsMapper.toPersonDto(item.data());
+    dto.setId(item.id());
+    return dto;
+  }
+}
@@ -1,5 +1,7 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.tools.StringNormalization;
 import cz.vh.lide.db.entity.Entry;
 import cz.vh.lide.db.entity.Person;
@@ -7,14 +9,19 @@ import cz.vh.lide.db.entity.PersonEntry;
 import cz.vh.lide.db.repository.EntryRepository;
 import cz.vh.lide.db.repository.PersonEntryRepository;
 import cz.vh.lide.db.repository.PersonRepository;
+import cz.vh.lide.db.filter.PersonEntryFilter;
+import cz.vh.lide.db.specification.PersonEntrySpecifications;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.PersonEntryDtos.EntryWithRole;
 import cz.vh.lide.ws.dto.PersonEntryDtos.PersonWithRole;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
@@ -35,6 +42,8 @@ public class PersonEntryController {
   private final PersonEntryRepository personEntryRepository;
   private final PersonRepository personRepository;
   private final EntryRepository entryRepository;
+  private final StreamingResponses streamingResponses;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the controller with required repositories.
@@ -42,13 +51,19 @@ public class PersonEntryController {
    * @param personEntryRepository person-entry repository
    * @param personRepository person repository
    * @param entryRepository entry repository
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param eventPublisher publisher of link change events (read-model cache invalidation)
    */
   public PersonEntryController(PersonEntryRepository personEntryRepository,
       PersonRepository personRepository,
-      EntryRepository entryRepository) {
+      EntryRepository entryRepository,
+      StreamingResponses streamingResponses,
+      ApplicationEventPublisher eventPublisher) {
     this.personEntryRepository = personEntryRepository;
     this.personRepository = personRepository;
     this.entryRepository = entryRepository;
+    this.streamingResponses = streamingResponses;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -65,6 +80,22 @@ public class PersonEntryController {
     return ResponseEntity.ok(mapEntries(links));
   }
 
+  /**
+   * Streams entries linked to a person as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param personId person id
+   *
+   * @return streamed entries with roles
+   */
+  @GetMapping(value = "/person/{personId}/entries", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamEntries(@PathVariable UUID personId) {
+    var id = Objects.requireNonNull(personId, "personId");
+    return streamingResponses.ndjson(() -> personEntryRepository.streamWithEntryByPersonId(id), l -> {
+      var e = l.getEntry();
+      return new EntryWithRole(e.getId(), e.getType(), e.getTitle(), e.getContent(), e.getOccurredAt(), l.getRole());
+    });
+  }
+
   /**
    * Lists entries linked to a person with roles (pagination + sort).
    *
@@ -88,6 +119,32 @@ public class PersonEntryController {
     return ResponseEntity.ok().headers(headers).body(mapEntries(pageRes.getContent()));
   }
 
+  /**
+   * Lists entries linked to a person with roles (keyset cursor pagination + sort).
+   *
+   * @param personId person id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of entries with roles and cursor headers
+   */
+  @GetMapping(value = "/person/{personId}/entries", params = {"cursor", "!page"})
+  public ResponseEntity<List<EntryWithRole>> scrollEntries(
+      @PathVariable UUID personId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(personId, "personId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonEntry.class);
+    var window = personEntryRepository.findBy(
+        PersonEntrySpecifications.build(PersonEntryFilter.builder().personId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapEntries(window.getContent()));
+  }
+
   /**
    * Lists persons linked to an entry with roles (no pagination).
    *
@@ -102,6 +159,23 @@ public class PersonEntryController {
     return ResponseEntity.ok(mapPersons(links));
   }
 
+  /**
+   * Streams persons linked to an entry as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param entryId entry id
+   *
+   * @return streamed persons with roles
+   */
+  @GetMapping(value = "/entry/{entryId}/persons", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamPersons(@PathVariable UUID entryId) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    return streamingResponses.ndjson(() -> personEntryRepository.streamWithPersonByEntryId(id), l -> {
+      var p = l.getPerson();
+      return new PersonWithRole(p.getId(), p.getFirstName(), p.getLastName(), p.getNickname(),
+          p.getBirthDate(), p.getPhone(), p.getEmail(), p.getNote(), l.getRole());
+    });
+  }
+
   /**
    * Lists persons linked to an entry with roles (pagination + sort).
    *
@@ -125,6 +199,32 @@ public class PersonEntryController {
     return ResponseEntity.ok().headers(headers).body(mapPersons(pageRes.getContent()));
   }
 
+  /**
+   * Lists persons linked to an entry with roles (keyset cursor pagination + sort).
+   *
+   * @param entryId entry id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of persons with roles and cursor headers
+   */
+  @GetMapping(value = "/entry/{entryId}/persons", params = {"cursor", "!page"})
+  public ResponseEntity<List<PersonWithRole>> scrollPersons(
+      @PathVariable UUID entryId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(entryId, "entryId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonEntry.class);
+    var window = personEntryRepository.findBy(
+        PersonEntrySpecifications.build(PersonEntryFilter.builder().entryId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapPersons(window.getContent()));
+  }
+
   /**
    * Adds a person-entry link (creates a new link even if a deleted link exists).
    *
@@ -162,6 +262,7 @@ public class PersonEntryController {
     link.setEntry(entry);
     link.setRole(roleValue);
     personEntryRepository.save(link);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON_ENTRY, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
@@ -189,6 +290,7 @@ public class PersonEntryController {
     var link = personEntryRepository.findByPersonIdAndEntryIdAndRoleAndDeletedAtIsNull(pId, eId, roleValue)
         .orElseThrow(() -> new IllegalArgumentException("PersonEntry link not found"));
     personEntryRepository.softDelete(Objects.requireNonNull(link.getId(), "link id"));
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.PERSON_ENTRY, link.getId()));
 
     return ResponseEntity.noContent().build();
   }
@@ -230,10 +332,12 @@ public class PersonEntryController {
     if (existingNewRole.isPresent()) {
       // If new role already exists, just delete the old one
       personEntryRepository.softDelete(Objects.requireNonNull(link.getId(), "link id"));
+      eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.PERSON_ENTRY, link.getId()));
     } else {
       // Update the role
       link.setRole(newRoleValue);
       personEntryRepository.save(link);
+      eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON_ENTRY, link.getId()));
     }
 
     return ResponseEntity.noContent().build();
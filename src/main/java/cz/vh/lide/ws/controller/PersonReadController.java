@@ -1,150 +1,81 @@
 package cz.vh.lide.ws.controller;
 
-import cz.vh.lide.ws.dto.PersonReadDtos.EntryWithRole;
+import cz.vh.lide.core.service.PersonReadQueryService;
+import cz.vh.lide.core.service.ReadQueryMode;
+import cz.vh.lide.core.service.ResourceVersionService;
+import cz.vh.lide.ws.controller.tools.ControllerTools;
 import cz.vh.lide.ws.dto.PersonReadDtos.PersonReadView;
-import cz.vh.lide.ws.dto.PersonReadDtos.PersonRelationView;
-import cz.vh.lide.ws.dto.TagDtos.TagView;
-import cz.vh.lide.db.entity.*;
-import cz.vh.lide.db.repository.*;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
+/**
+ * REST controller for the aggregated person read view.
+ */
 @RestController
 @RequestMapping("/api/personread")
 public class PersonReadController {
 
-    private final PersonRepository personRepo;
-
-    private final PersonTagRepository personTagRepo;
-    private final TagRepository tagRepo;
-
-    private final PersonEntryRepository personEntryRepo;
-    private final EntryRepository entryRepo;
-
-    private final PersonRelationsRepository personRelationRepo;
-
-    public PersonReadController(
-            PersonRepository personRepo,
-            PersonTagRepository personTagRepo,
-            TagRepository tagRepo,
-            PersonEntryRepository personEntryRepo,
-            EntryRepository entryRepo,
-            PersonRelationsRepository personRelationRepo) {
-        this.personRepo = personRepo;
-        this.personTagRepo = personTagRepo;
-        this.tagRepo = tagRepo;
-        this.personEntryRepo = personEntryRepo;
-        this.entryRepo = entryRepo;
-        this.personRelationRepo = personRelationRepo;
+    private final PersonReadQueryService personReadQueryService;
+    private final ResourceVersionService resourceVersionService;
+    private final ReadQueryMode mode;
+
+    /**
+     * Creates the controller with required dependencies.
+     *
+     * @param personReadQueryService read-model query for person detail
+     * @param resourceVersionService version lookups for conditional GETs
+     * @param mode assembly strategy for the detail view ({@code legacy} falls back to the projection)
+     */
+    public PersonReadController(PersonReadQueryService personReadQueryService,
+            ResourceVersionService resourceVersionService,
+            @Value("${app.read.person-detail-mode:projection}") ReadQueryMode mode) {
+        this.personReadQueryService = personReadQueryService;
+        this.resourceVersionService = resourceVersionService;
+        this.mode = mode;
     }
 
+    /**
+     * Loads the aggregated person view. Answers 304 when the client's {@code ETag} still matches
+     * the version of the person and its links, without assembling the view.
+     *
+     * @param personId person id
+     * @param request current request ({@code If-None-Match} / {@code If-Modified-Since})
+     *
+     * @return person view
+     */
     @GetMapping("/{personId}")
-    public ResponseEntity<?> detail(@PathVariable UUID personId) {
-                var id = java.util.Objects.requireNonNull(personId, "personId");
-                var p = personRepo.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Person not found"));
-        if (p.getDeletedAt() != null) {
-            throw new ResponseStatusException(NOT_FOUND, "Person not found");
+    public ResponseEntity<PersonReadView> detail(@PathVariable UUID personId, WebRequest request) {
+        var id = Objects.requireNonNull(personId, "personId");
+        // the version is read before the view, so the ETag never describes a newer state than the body
+        var version = resourceVersionService.personRead(id);
+        if (ControllerTools.checkNotModified(request, version)) {
+            return null;
         }
-
-        // TAGS
-        var tagLinks = personTagRepo.findByPersonId(id, Pageable.unpaged())
-                .stream().filter(l -> l.getDeletedAt() == null).toList();
-        var tagIds = tagLinks.stream().map(l -> l.getTag().getId()).toList();
-
-        var tags = tagRepo.findAllById(java.util.Objects.requireNonNull(tagIds)).stream()
-                .filter(t -> t.getDeletedAt() == null)
-                .map(t -> new TagView(t.getId(), t.getName()))
-                .toList();
-
-        // ENTRIES + ROLE
-        var peLinks = personEntryRepo.findByPersonId(id, Pageable.unpaged())
-                .stream().filter(l -> l.getDeletedAt() == null).toList();
-        var entryIds = peLinks.stream().map(l -> l.getEntry().getId()).toList();
-
-        var entriesById = entryRepo.findAllById(java.util.Objects.requireNonNull(entryIds)).stream()
-                .filter(e -> e.getDeletedAt() == null)
-                .collect(Collectors.toMap(e -> e.getId(), Function.identity()));
-
-        var entries = peLinks.stream()
-                                .filter(l -> entriesById.containsKey(l.getEntry().getId()))
-                .map(l -> {
-                                        var e = entriesById.get(l.getEntry().getId());
-                    return new EntryWithRole(
-                            e.getId(),
-                            e.getType(),
-                            e.getTitle(),
-                            e.getContent(),
-                            e.getOccurredAt(),
-                            l.getRole());
-                })
-                .toList();
-
-        // RELATIONS (out + in)
-        var relOut = personRelationRepo.findByFromPersonId(id, Pageable.unpaged())
-                .stream().filter(r -> r.getDeletedAt() == null).toList();
-        var relIn = personRelationRepo.findByToPersonId(id, Pageable.unpaged())
-                .stream().filter(r -> r.getDeletedAt() == null).toList();
-
-        // načteme “druhé strany” kvůli jménu
-        var otherIds = new HashSet<UUID>();
-        relOut.forEach(r -> otherIds.add(r.getToPerson().getId()));
-        relIn.forEach(r -> otherIds.add(r.getFromPerson().getId()));
-
-        var otherPersonsById = personRepo.findAllById(java.util.Objects.requireNonNull(otherIds)).stream()
-                .filter(x -> x.getDeletedAt() == null)
-                .collect(Collectors.toMap(x -> x.getId(), Function.identity()));
-
-        var outViews = relOut.stream()
-                .map(r -> toRelationView(r, otherPersonsById.get(r.getToPerson().getId())))
-                .toList();
-
-        var inViews = relIn.stream()
-                .map(r -> toRelationView(r, otherPersonsById.get(r.getFromPerson().getId())))
-                .toList();
-
-        return ResponseEntity.ok(new PersonReadView(
-                p.getId(),
-                p.getFirstName(),
-                p.getLastName(),
-                p.getNickname(),
-                p.getBirthDate(),
-                p.getPhone(),
-                p.getEmail(),
-                p.getNote(),
-                tags,
-                entries,
-                outViews,
-                inViews));
+        var view = mode == ReadQueryMode.PARALLEL
+                ? personReadQueryService.findParallel(id, version.orElse(null))
+                : personReadQueryService.find(id, version.orElse(null));
+        return view
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Person not found"));
     }
 
-        private PersonRelationView toRelationView(PersonRelation r, Person other) {
-        String display = null;
-        if (other != null) {
-            display = ((other.getFirstName() == null ? "" : other.getFirstName()) + " " +
-                    (other.getLastName() == null ? "" : other.getLastName()))
-                    .trim();
-            if (display.isBlank())
-                display = other.getNickname();
-        }
-
-        return new PersonRelationView(
-                r.getId(),
-                r.getFromPerson().getId(),
-                r.getToPerson().getId(),
-                r.getType(),
-                r.getNote(),
-                r.getValidFrom(),
-                r.getValidTo(),
-                display);
+    /**
+     * Loads aggregated person views for many ids at once (e.g. for list pages).
+     *
+     * @param ids person ids, at most {@value PersonReadQueryService#MAX_BATCH_SIZE}
+     *
+     * @return views in request order; missing or deleted ids are omitted
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PersonReadView>> batch(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(personReadQueryService.findAll(Objects.requireNonNull(ids, "ids")));
     }
 }
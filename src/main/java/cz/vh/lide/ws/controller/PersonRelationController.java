@@ -1,21 +1,29 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.core.service.PersonRelationService;
 import cz.vh.lide.core.tools.StringNormalization;
 import cz.vh.lide.db.dto.PersonDto;
 import cz.vh.lide.db.dto.PersonRelationDto;
+import cz.vh.lide.db.entity.PersonRelation;
 import cz.vh.lide.db.repository.PersonRelationsRepository;
+import cz.vh.lide.db.filter.PersonRelationFilter;
+import cz.vh.lide.db.specification.PersonRelationSpecifications;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.PersonRelationDtos.RelationCreate;
 import cz.vh.lide.ws.dto.PersonRelationDtos.RelationUpdate;
 import cz.vh.lide.ws.dto.PersonRelationDtos.RelationView;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
@@ -33,17 +41,25 @@ public class PersonRelationController {
 
   private final PersonRelationService personRelationService;
   private final PersonRelationsRepository personRelationsRepository;
+  private final StreamingResponses streamingResponses;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the controller with required services.
    *
    * @param personRelationService person relation service
    * @param personRelationsRepository person relation repository
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param eventPublisher publisher of link change events (read-model cache invalidation)
    */
   public PersonRelationController(PersonRelationService personRelationService,
-      PersonRelationsRepository personRelationsRepository) {
+      PersonRelationsRepository personRelationsRepository,
+      StreamingResponses streamingResponses,
+      ApplicationEventPublisher eventPublisher) {
     this.personRelationService = personRelationService;
     this.personRelationsRepository = personRelationsRepository;
+    this.streamingResponses = streamingResponses;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -63,6 +79,21 @@ public class PersonRelationController {
     return ResponseEntity.ok(relations);
   }
 
+  /**
+   * Streams outgoing relations for a person as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param personId person id
+   *
+   * @return streamed relations
+   */
+  @GetMapping(value = "/from/{personId}", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamFrom(@PathVariable UUID personId) {
+    var id = Objects.requireNonNull(personId, "personId");
+    return streamingResponses.ndjson(() -> personRelationsRepository.streamByFromPersonIdAndDeletedAtIsNull(id),
+        r -> new RelationView(r.getId(), r.getFromPerson().getId(), r.getToPerson().getId(),
+            r.getType(), r.getNote(), r.getValidFrom(), r.getValidTo()));
+  }
+
   /**
    * Lists outgoing relations for a person (pagination + sort).
    *
@@ -88,6 +119,34 @@ public class PersonRelationController {
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists outgoing relations for a person (keyset cursor pagination + sort).
+   *
+   * @param personId person id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of relations with cursor headers
+   */
+  @GetMapping(value = "/from/{personId}", params = {"cursor", "!page"})
+  public ResponseEntity<List<RelationView>> scrollFrom(
+      @PathVariable UUID personId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(personId, "personId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonRelation.class);
+    var window = personRelationsRepository.findBy(
+        PersonRelationSpecifications.build(PersonRelationFilter.builder().fromPersonId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)))
+        .map(r -> new RelationView(r.getId(), r.getFromPerson().getId(), r.getToPerson().getId(),
+            r.getType(), r.getNote(), r.getValidFrom(), r.getValidTo()));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Lists incoming relations for a person (no pagination).
    *
@@ -105,6 +164,21 @@ public class PersonRelationController {
     return ResponseEntity.ok(relations);
   }
 
+  /**
+   * Streams incoming relations for a person as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param personId person id
+   *
+   * @return streamed relations
+   */
+  @GetMapping(value = "/to/{personId}", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamTo(@PathVariable UUID personId) {
+    var id = Objects.requireNonNull(personId, "personId");
+    return streamingResponses.ndjson(() -> personRelationsRepository.streamByToPersonIdAndDeletedAtIsNull(id),
+        r -> new RelationView(r.getId(), r.getFromPerson().getId(), r.getToPerson().getId(),
+            r.getType(), r.getNote(), r.getValidFrom(), r.getValidTo()));
+  }
+
   /**
    * Lists incoming relations for a person (pagination + sort).
    *
@@ -130,6 +204,34 @@ public class PersonRelationController {
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists incoming relations for a person (keyset cursor pagination + sort).
+   *
+   * @param personId person id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of relations with cursor headers
+   */
+  @GetMapping(value = "/to/{personId}", params = {"cursor", "!page"})
+  public ResponseEntity<List<RelationView>> scrollTo(
+      @PathVariable UUID personId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(personId, "personId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonRelation.class);
+    var window = personRelationsRepository.findBy(
+        PersonRelationSpecifications.build(PersonRelationFilter.builder().toPersonId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)))
+        .map(r -> new RelationView(r.getId(), r.getFromPerson().getId(), r.getToPerson().getId(),
+            r.getType(), r.getNote(), r.getValidFrom(), r.getValidTo()));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Creates a new person relation.
    *
@@ -199,6 +301,7 @@ public class PersonRelationController {
     relation.setValidTo(req.validTo());
     
     var updated = personRelationsRepository.save(relation);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON_RELATION, updated.getId()));
     return ResponseEntity.ok(new RelationView(updated.getId(),
         updated.getFromPerson() != null ? updated.getFromPerson().getId() : null,
         updated.getToPerson() != null ? updated.getToPerson().getId() : null,
@@ -1,19 +1,26 @@
 package cz.vh.lide.ws.controller;
 
+import cz.vh.lide.core.event.EntityChangedEvent;
+import cz.vh.lide.core.event.EntityKind;
 import cz.vh.lide.db.entity.Person;
 import cz.vh.lide.db.entity.PersonTag;
 import cz.vh.lide.db.entity.Tag;
 import cz.vh.lide.db.repository.PersonRepository;
 import cz.vh.lide.db.repository.PersonTagRepository;
 import cz.vh.lide.db.repository.TagRepository;
+import cz.vh.lide.db.filter.PersonTagFilter;
+import cz.vh.lide.db.specification.PersonTagSpecifications;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.PersonDtos.PersonView;
 import cz.vh.lide.ws.dto.TagDtos.TagView;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
@@ -34,6 +41,8 @@ public class PersonTagController {
   private final PersonTagRepository personTagRepository;
   private final PersonRepository personRepository;
   private final TagRepository tagRepository;
+  private final StreamingResponses streamingResponses;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Creates the controller with required repositories.
@@ -41,13 +50,19 @@ public class PersonTagController {
    * @param personTagRepository person-tag repository
    * @param personRepository person repository
    * @param tagRepository tag repository
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param eventPublisher publisher of link change events (read-model cache invalidation)
    */
   public PersonTagController(PersonTagRepository personTagRepository,
       PersonRepository personRepository,
-      TagRepository tagRepository) {
+      TagRepository tagRepository,
+      StreamingResponses streamingResponses,
+      ApplicationEventPublisher eventPublisher) {
     this.personTagRepository = personTagRepository;
     this.personRepository = personRepository;
     this.tagRepository = tagRepository;
+    this.streamingResponses = streamingResponses;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -64,6 +79,20 @@ public class PersonTagController {
     return ResponseEntity.ok(mapTags(links));
   }
 
+  /**
+   * Streams tags linked to a person as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param personId person id
+   *
+   * @return streamed tags
+   */
+  @GetMapping(value = "/person/{personId}/tags", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamTags(@PathVariable UUID personId) {
+    var id = Objects.requireNonNull(personId, "personId");
+    return streamingResponses.ndjson(() -> personTagRepository.streamWithTagByPersonId(id),
+        l -> new TagView(l.getTag().getId(), l.getTag().getName()));
+  }
+
   /**
    * Lists tags linked to a person with pagination and sorting.
    *
@@ -87,6 +116,32 @@ public class PersonTagController {
     return ResponseEntity.ok().headers(headers).body(mapTags(pageRes.getContent()));
   }
 
+  /**
+   * Lists tags linked to a person with keyset (cursor) pagination and sorting.
+   *
+   * @param personId person id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of tags with cursor headers
+   */
+  @GetMapping(value = "/person/{personId}/tags", params = {"cursor", "!page"})
+  public ResponseEntity<List<TagView>> scroll(
+      @PathVariable UUID personId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(personId, "personId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonTag.class);
+    var window = personTagRepository.findBy(
+        PersonTagSpecifications.build(PersonTagFilter.builder().personId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapTags(window.getContent()));
+  }
+
   /**
    * Lists persons linked to a tag without pagination.
    *
@@ -101,6 +156,23 @@ public class PersonTagController {
     return ResponseEntity.ok(mapPersons(links));
   }
 
+  /**
+   * Streams persons linked to a tag as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @param tagId tag id
+   *
+   * @return streamed persons
+   */
+  @GetMapping(value = "/tag/{tagId}/persons", produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamPersonsByTag(@PathVariable UUID tagId) {
+    var id = Objects.requireNonNull(tagId, "tagId");
+    return streamingResponses.ndjson(() -> personTagRepository.streamWithPersonByTagId(id), l -> {
+      var p = l.getPerson();
+      return new PersonView(p.getId(), p.getFirstName(), p.getLastName(), p.getNickname(),
+          p.getBirthDate(), p.getPhone(), p.getEmail(), p.getNote());
+    });
+  }
+
   /**
    * Lists persons linked to a tag with pagination and sorting.
    *
@@ -124,6 +196,32 @@ public class PersonTagController {
     return ResponseEntity.ok().headers(headers).body(mapPersons(pageRes.getContent()));
   }
 
+  /**
+   * Lists persons linked to a tag with keyset (cursor) pagination and sorting.
+   *
+   * @param tagId tag id
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of persons with cursor headers
+   */
+  @GetMapping(value = "/tag/{tagId}/persons", params = {"cursor", "!page"})
+  public ResponseEntity<List<PersonView>> scrollPersonsByTag(
+      @PathVariable UUID tagId,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var id = Objects.requireNonNull(tagId, "tagId");
+    var keysetSort = ControllerTools.parseKeysetSort(sort, PersonTag.class);
+    var window = personTagRepository.findBy(
+        PersonTagSpecifications.build(PersonTagFilter.builder().tagId(id).build()),
+        q -> q.sortBy(keysetSort).limit(Math.max(1, size))
+            .scroll(ControllerTools.parseCursor(cursor)));
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(mapPersons(window.getContent()));
+  }
+
   /**
    * Adds a tag to a person (creates a new link even if a deleted link exists).
    *
@@ -152,6 +250,7 @@ public class PersonTagController {
     link.setPerson(person);
     link.setTag(tag);
     personTagRepository.save(link);
+    eventPublisher.publishEvent(EntityChangedEvent.saved(EntityKind.PERSON_TAG, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
@@ -171,6 +270,7 @@ public class PersonTagController {
     var link = personTagRepository.findByPersonIdAndTagIdAndDeletedAtIsNull(pId, tId)
         .orElseThrow(() -> new IllegalArgumentException("PersonTag link not found"));
     personTagRepository.softDelete(Objects.requireNonNull(link.getId(), "link id"));
+    eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityKind.PERSON_TAG, link.getId()));
     return ResponseEntity.noContent().build();
   }
 
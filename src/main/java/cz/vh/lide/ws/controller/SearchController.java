@@ -0,0 +1,50 @@
+package cz.vh.lide.ws.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import cz.vh.lide.core.service.SearchEntityType;
+import cz.vh.lide.core.service.SearchService;
+import cz.vh.lide.ws.dto.SearchDtos.SearchHit;
+
+import java.util.List;
+
+/**
+ * REST controller for the global search across persons, entries, media and tags.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+  private final SearchService searchService;
+
+  /**
+   * Creates the controller with required services.
+   *
+   * @param searchService global search service
+   */
+  public SearchController(SearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  /**
+   * Runs one ranked full-text search over all entity types.
+   *
+   * @param q search query; every word must match as a prefix
+   * @param limit maximum number of hits (1..100)
+   * @param types entity types to search (person, entry, media, tag); all when omitted
+   *
+   * @return hits ordered by relevance, with highlighted snippets
+   */
+  @GetMapping
+  public ResponseEntity<List<SearchHit>> search(
+      @RequestParam String q,
+      @RequestParam(defaultValue = "20") int limit,
+      @RequestParam(required = false) List<String> types) {
+    var selected = types == null ? List.<SearchEntityType>of() : types.stream()
+        .filter(t -> !t.isBlank())
+        .map(SearchEntityType::fromCode)
+        .toList();
+    return ResponseEntity.ok(searchService.search(q, selected, limit));
+  }
+}
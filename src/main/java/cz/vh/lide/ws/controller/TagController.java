@@ -1,17 +1,24 @@
 package cz.vh.lide.ws.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import cz.vh.lide.core.event.EntityKind;
+import cz.vh.lide.core.service.ResourceVersionService;
 import cz.vh.lide.core.service.TagService;
 import cz.vh.lide.db.filter.TagFilter;
 import cz.vh.lide.ws.controller.tools.ControllerTools;
+import cz.vh.lide.ws.controller.tools.CountStrategy;
+import cz.vh.lide.ws.controller.tools.StreamingResponses;
 import cz.vh.lide.ws.dto.TagDtos.TagCreate;
 import cz.vh.lide.ws.dto.TagDtos.TagUpdate;
 import cz.vh.lide.ws.dto.TagDtos.TagView;
@@ -29,14 +36,26 @@ import java.util.UUID;
 public class TagController {
 
   private final TagService tagService;
+  private final StreamingResponses streamingResponses;
+  private final ResourceVersionService resourceVersionService;
+  private final String countStrategy;
 
   /**
    * Creates the controller with required services.
    *
    * @param tagService tag service
+   * @param streamingResponses NDJSON streaming helper for unpaged lists
+   * @param resourceVersionService version lookups for conditional GETs
+   * @param countStrategy default total-count strategy for paged lists (exact, none, estimate)
    */
-  public TagController(TagService tagService) {
+  public TagController(TagService tagService,
+      StreamingResponses streamingResponses,
+      ResourceVersionService resourceVersionService,
+      @Value("${app.pagination.count-strategy:exact}") String countStrategy) {
     this.tagService = tagService;
+    this.streamingResponses = streamingResponses;
+    this.resourceVersionService = resourceVersionService;
+    this.countStrategy = countStrategy;
   }
 
   /**
@@ -53,6 +72,16 @@ public class TagController {
     return ResponseEntity.ok(items);
   }
 
+  /**
+   * Streams all tags as NDJSON, one object per line ({@code Accept: application/x-ndjson}).
+   *
+   * @return streamed tags
+   */
+  @GetMapping(produces = StreamingResponses.NDJSON)
+  public ResponseEntity<StreamingResponseBody> stream() {
+    return streamingResponses.ndjson(sink -> tagService.streamAll(dto -> sink.accept(WsMapper.toTagView(dto))));
+  }
+
   /**
    * Lists tags with pagination, optional search, and sorting.
    *
@@ -60,6 +89,7 @@ public class TagController {
    * @param page page index (0-based)
    * @param size page size
    * @param sort sort parameters (field,dir)
+   * @param count total-count strategy (exact, none, estimate); defaults to `app.pagination.count-strategy`
    *
    * @return list of tags with pagination headers
    */
@@ -68,28 +98,57 @@ public class TagController {
       @RequestParam(required = false) String q,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(required = false) List<String> sort) {
+      @RequestParam(required = false) List<String> sort,
+      @RequestParam(required = false) String count) {
     var pageable = PageRequest.of(Math.max(0, page), Math.max(1, size), ControllerTools.parseSort(sort));
-    TagFilter filter = null;
-    if (q != null && !q.isBlank()) {
-      filter = TagFilter.builder()
-          .nameContains(q)
-          .build();
+    var filter = toFilter(q);
+    var strategy = CountStrategy.resolve(count, countStrategy);
+    if (strategy != CountStrategy.EXACT) {
+      var sliceRes = tagService.listSlice(pageable, filter).map(WsMapper::toTagView);
+      Long estimate = strategy == CountStrategy.ESTIMATE && filter == null ? tagService.estimateCount() : null;
+      var headers = ControllerTools.buildPaginationHeaders(sliceRes, size, estimate);
+      return ResponseEntity.ok().headers(headers).body(sliceRes.getContent());
     }
     var pageRes = tagService.list(pageable, filter).map(WsMapper::toTagView);
     var headers = ControllerTools.buildPaginationHeaders(pageRes, size);
     return ResponseEntity.ok().headers(headers).body(pageRes.getContent());
   }
 
+  /**
+   * Lists tags with keyset (cursor) pagination, optional search, and sorting.
+   *
+   * @param q search query (name)
+   * @param cursor opaque cursor from `X-Next-Cursor` (empty for the first window)
+   * @param size window size
+   * @param sort sort parameters (field,dir); keep them stable between requests
+   *
+   * @return list of tags with cursor headers
+   */
+  @GetMapping(params = {"cursor", "!page"})
+  public ResponseEntity<List<TagView>> scroll(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "") String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) List<String> sort) {
+    var window = tagService.scroll(ControllerTools.parseCursor(cursor), Math.max(1, size),
+        ControllerTools.parseSort(sort), toFilter(q)).map(WsMapper::toTagView);
+    var headers = ControllerTools.buildPaginationHeaders(window, size);
+    return ResponseEntity.ok().headers(headers).body(window.getContent());
+  }
+
   /**
    * Gets a single tag by id.
    *
    * @param id tag id
+   * @param request current request (`If-None-Match` / `If-Modified-Since`)
    *
    * @return tag view
    */
   @GetMapping("/{id}")
-  public ResponseEntity<TagView> get(@PathVariable UUID id) {
+  public ResponseEntity<TagView> get(@PathVariable UUID id, WebRequest request) {
+    if (ControllerTools.checkNotModified(request, resourceVersionService.entity(EntityKind.TAG, id))) {
+      return null;
+    }
     return ResponseEntity.ok(WsMapper.toTagView(tagService.get(id)));
   }
 
@@ -136,4 +195,13 @@ public class TagController {
     tagService.softDelete(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static TagFilter toFilter(String q) {
+    if (q == null || q.isBlank()) {
+      return null;
+    }
+    return TagFilter.builder()
+        .nameContains(q)
+        .build();
+  }
 }
@@ -1,10 +1,32 @@
 package cz.vh.lide.ws.controller.tools;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import cz.vh.lide.core.service.ResourceVersionService.Version;
+import cz.vh.lide.core.tools.JpaTools;
+import cz.vh.lide.ws.dto.BulkDtos.BulkItem;
+import jakarta.validation.Validator;
 import org.springframework.lang.NonNull;
 import lombok.experimental.UtilityClass;
 
@@ -13,6 +35,17 @@ import lombok.experimental.UtilityClass;
  */
 @UtilityClass
 public final class ControllerTools {
+
+  /** Response header carrying the planner estimate of the total count. */
+  public static final String TOTAL_COUNT_ESTIMATE_HEADER = "X-Total-Count-Estimate";
+
+  /** Response header carrying the opaque cursor of the next window. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+  private static final TypeReference<LinkedHashMap<String, List<String>>> CURSOR_TYPE = new TypeReference<>() {
+  };
+
   /**
    * Builds pagination headers (`X-Total-Count`, `Link`) from a page result.
    *
@@ -55,6 +88,155 @@ public final class ControllerTools {
     return headers;
   }
 
+  /**
+   * Builds pagination headers for a slice (no exact total): `Link` with `first`/`prev`/`next`
+   * and optionally `X-Total-Count-Estimate`.
+   *
+   * @param sliceRes slice result
+   * @param size requested page size
+   * @param estimatedTotal planner estimate of the total count (nullable)
+   *
+   * @return HTTP headers with pagination metadata
+   */
+  public static HttpHeaders buildPaginationHeaders(@NonNull Slice<?> sliceRes, int size, Long estimatedTotal) {
+    int number = sliceRes.getNumber();
+    var headers = new HttpHeaders();
+    if (estimatedTotal != null) {
+      headers.add(TOTAL_COUNT_ESTIMATE_HEADER, String.valueOf(estimatedTotal));
+    }
+    StringBuilder link = new StringBuilder();
+    var base = ServletUriComponentsBuilder.fromCurrentRequest();
+    if (number > 0) {
+      var firstUri = base.replaceQueryParam("page", 0).replaceQueryParam("size", size).toUriString();
+      link.append("<").append(firstUri).append(">; rel=\"first\"");
+      var prevUri = base.replaceQueryParam("page", number - 1).replaceQueryParam("size", size).toUriString();
+      link.append(", <").append(prevUri).append(">; rel=\"prev\"");
+    }
+    if (sliceRes.hasNext()) {
+      if (link.length() > 0) link.append(", ");
+      var nextUri = base.replaceQueryParam("page", number + 1).replaceQueryParam("size", size).toUriString();
+      link.append("<").append(nextUri).append(">; rel=\"next\"");
+    }
+    if (link.length() > 0) headers.add("Link", link.toString());
+    return headers;
+  }
+
+  /**
+   * Builds cursor pagination headers (`X-Next-Cursor`, `Link`) from a keyset window.
+   *
+   * @param window window result
+   * @param size requested window size
+   *
+   * @return HTTP headers with cursor metadata (no total count is computed)
+   */
+  public static HttpHeaders buildPaginationHeaders(@NonNull Window<?> window, int size) {
+    var headers = new HttpHeaders();
+    if (!window.hasNext() || window.isEmpty()) {
+      return headers;
+    }
+    var next = encodeCursor(window.positionAt(window.size() - 1));
+    headers.add(NEXT_CURSOR_HEADER, next);
+    var nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("cursor", next)
+        .replaceQueryParam("size", size)
+        .toUriString();
+    headers.add("Link", "<" + nextUri + ">; rel=\"next\"");
+    return headers;
+  }
+
+  /**
+   * Parses an opaque cursor produced by {@link #encodeCursor(ScrollPosition)}.
+   *
+   * @param cursor cursor value; blank starts from the beginning
+   *
+   * @return keyset scroll position
+   */
+  @NonNull
+  public static ScrollPosition parseCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      var json = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+      Map<String, List<String>> encoded = CURSOR_MAPPER.readValue(json, CURSOR_TYPE);
+      var keys = new LinkedHashMap<String, Object>();
+      encoded.forEach((property, value) -> keys.put(property, decodeKey(value)));
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | JsonProcessingException | java.time.DateTimeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * Encodes a keyset scroll position into an opaque, URL-safe cursor.
+   *
+   * @param position position of the last element of a window
+   *
+   * @return cursor value
+   */
+  @NonNull
+  public static String encodeCursor(@NonNull ScrollPosition position) {
+    if (!(position instanceof KeysetScrollPosition keyset)) {
+      throw new IllegalArgumentException("Only keyset positions can be encoded as cursor");
+    }
+    var encoded = new LinkedHashMap<String, List<String>>();
+    keyset.getKeys().forEach((property, value) -> encoded.put(property, encodeKey(value)));
+    try {
+      var json = CURSOR_MAPPER.writeValueAsBytes(encoded);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot encode cursor", e);
+    }
+  }
+
+  private static List<String> encodeKey(Object value) {
+    return switch (value) {
+      // keyset sorts only allow non-null properties (JpaTools.keysetSort)
+      case null -> throw new IllegalStateException("Cursor key must not be null");
+      case UUID u -> List.of("u", u.toString());
+      case String str -> List.of("s", str);
+      case Instant i -> List.of("t", i.toString());
+      case LocalDate d -> List.of("d", d.toString());
+      case Integer i -> List.of("i", i.toString());
+      case Long l -> List.of("l", l.toString());
+      case Boolean b -> List.of("b", b.toString());
+      default -> throw new IllegalArgumentException(
+          "Unsupported cursor key type: " + value.getClass().getSimpleName());
+    };
+  }
+
+  private static Object decodeKey(List<String> value) {
+    if (value == null || value.size() != 2) {
+      throw new IllegalArgumentException("Invalid cursor key");
+    }
+    var raw = value.get(1);
+    return switch (value.get(0)) {
+      case "u" -> UUID.fromString(raw);
+      case "s" -> raw;
+      case "t" -> Instant.parse(raw);
+      case "d" -> LocalDate.parse(raw);
+      case "i" -> Integer.valueOf(raw);
+      case "l" -> Long.valueOf(raw);
+      case "b" -> Boolean.valueOf(raw);
+      default -> throw new IllegalArgumentException("Invalid cursor key type");
+    };
+  }
+
+  /**
+   * Evaluates `If-None-Match` / `If-Modified-Since` against a resource version and sets the
+   * `ETag` and `Last-Modified` response headers.
+   *
+   * @param request current request
+   * @param version version of the requested resource; empty skips the check (e.g. not found)
+   *
+   * @return true when the client copy is current and the handler must return without a body (304)
+   */
+  public static boolean checkNotModified(@NonNull WebRequest request, @NonNull Optional<Version> version) {
+    return version
+        .map(v -> request.checkNotModified(v.etag(), v.updatedAt().toEpochMilli()))
+        .orElse(false);
+  }
+
   /**
    * Parses Spring `Sort` from request parameters.
    *
@@ -87,4 +269,49 @@ public final class ControllerTools {
     }
     return Sort.by(orders);
   }
+
+  /**
+   * Parses a sort for cursor pagination: only non-null properties of the entity are accepted and
+   * {@code id} is appended as the final tie-breaker (see JpaTools.keysetSort).
+   *
+   * @param sortParams list of `field,dir` values (dir is `asc`/`desc`)
+   * @param entityType entity class the window is read from
+   *
+   * @return keyset sort
+   *
+   * @throws IllegalArgumentException when a property is nullable or unknown (400)
+   */
+  @NonNull
+  public static Sort parseKeysetSort(List<String> sortParams, @NonNull Class<?> entityType) {
+    return JpaTools.keysetSort(entityType, parseSort(sortParams));
+  }
+
+  /**
+   * Validates bulk items with Bean Validation, one error message per invalid item.
+   *
+   * @param validator Bean Validation validator
+   * @param items bulk items (the {@code data} part is validated)
+   * @param <T> item data type
+   *
+   * @return error messages by item index; items without entry are valid
+   */
+  public static <T> Map<Integer, String> validateItems(@NonNull Validator validator,
+      @NonNull List<BulkItem<T>> items) {
+    var rejected = new HashMap<Integer, String>();
+    for (int i = 0; i < items.size(); i++) {
+      var item = items.get(i);
+      if (item == null || item.data() == null) {
+        rejected.put(i, "Item data must not be null");
+        continue;
+      }
+      var violations = validator.validate(item.data());
+      if (!violations.isEmpty()) {
+        rejected.put(i, violations.stream()
+            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; ")));
+      }
+    }
+    return rejected;
+  }
 }
@@ -0,0 +1,41 @@
+package cz.vh.lide.ws.controller.tools;
+
+import java.util.Locale;
+
+/**
+ * How paged list endpoints report the total number of items.
+ */
+public enum CountStrategy {
+
+  /** Exact `count(*)` over the filtered specification, reported as `X-Total-Count`. */
+  EXACT,
+
+  /** No count query; a `Slice` is returned with `first`/`prev`/`next` links only. */
+  NONE,
+
+  /**
+   * Planner estimate from `pg_class.reltuples` for unfiltered lists, reported as
+   * `X-Total-Count-Estimate`; filtered lists behave like {@link #NONE}.
+   */
+  ESTIMATE;
+
+  /**
+   * Resolves the strategy from a request parameter, falling back to the configured default.
+   *
+   * @param value request value (`exact`, `none`, `estimate`; case-insensitive, nullable)
+   * @param defaultValue configured default (same format)
+   *
+   * @return resolved strategy
+   */
+  public static CountStrategy resolve(String value, String defaultValue) {
+    var raw = value != null && !value.isBlank() ? value : defaultValue;
+    if (raw == null || raw.isBlank()) {
+      return EXACT;
+    }
+    try {
+      return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported count strategy: " + raw);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package cz.vh.lide.ws.controller.tools;
+
+import cz.vh.lide.core.event.ReadViewsChangedEvent;
+import cz.vh.lide.ws.dto.EventDtos.ChangeNotice;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events hub pushing committed entity changes to {@code /api/events} subscribers.
+ * <p>
+ * Subscriptions are async servlet requests, so an idle connection holds no thread. After a write
+ * commits, the affected read views arrive already resolved ({@link ReadViewsChangedEvent}, one
+ * fan-out lookup per change shared with the read-model cache) and the notices are queued per
+ * subscriber. Each subscriber has at most one virtual thread draining its queue, so a slow client
+ * neither blocks the writer nor other clients, the number of sending threads is bounded by the
+ * number of streams, and notices arrive in commit order. A subscriber with more than
+ * {@value #MAX_PENDING} unsent events is disconnected; the client (EventSource) reconnects and
+ * reloads. A comment line is sent every {@code app.events.heartbeat} to keep proxies from closing
+ * idle streams.
+ */
+@Component
+public class EventStreams implements DisposableBean {
+
+  /** SSE event name of change notices. */
+  public static final String CHANGE_EVENT = "change";
+
+  /** Unsent events per subscriber before it is disconnected as too slow. */
+  static final int MAX_PENDING = 256;
+
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofVirtual().name("sse-heartbeat").factory());
+  private final long timeoutMillis;
+
+  /**
+   * Creates the hub with required dependencies.
+   *
+   * @param timeout lifetime of one stream; clients (EventSource) reconnect afterwards
+   * @param heartbeatInterval interval of keep-alive comments
+   */
+  public EventStreams(@Value("${app.events.timeout:30m}") Duration timeout,
+      @Value("${app.events.heartbeat:25s}") Duration heartbeatInterval) {
+    this.timeoutMillis = timeout.toMillis();
+    long interval = Math.max(1, heartbeatInterval.toMillis());
+    this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens a change stream.
+   *
+   * @param personIds person read views of interest; empty together with {@code entryIds} receives all changes
+   * @param entryIds entry detail views of interest
+   *
+   * @return emitter bound to the response
+   */
+  @NonNull
+  public SseEmitter subscribe(@NonNull Set<UUID> personIds, @NonNull Set<UUID> entryIds) {
+    var emitter = new SseEmitter(timeoutMillis);
+    var subscription = new Subscription(emitter, personIds, entryIds);
+    emitter.onCompletion(() -> subscriptions.remove(subscription));
+    emitter.onError(e -> subscriptions.remove(subscription));
+    emitter.onTimeout(emitter::complete);
+    subscriptions.add(subscription);
+    // commits the response headers so the client sees an open stream right away
+    subscription.enqueue(SseEmitter.event().comment("connected"));
+    return emitter;
+  }
+
+  /**
+   * Number of open streams.
+   *
+   * @return subscriber count
+   */
+  public int subscriberCount() {
+    return subscriptions.size();
+  }
+
+  /**
+   * Queues a committed change for the interested subscribers.
+   *
+   * @param affected change with the views displaying the changed rows (delivered after commit)
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onReadViewsChanged(@NonNull ReadViewsChangedEvent affected) {
+    for (var subscription : subscriptions) {
+      var notice = subscription.notice(affected);
+      if (notice != null) {
+        subscription.enqueue(SseEmitter.event().name(CHANGE_EVENT).data(notice, MediaType.APPLICATION_JSON));
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    heartbeat.shutdownNow();
+    executor.shutdownNow();
+    subscriptions.forEach(subscription -> subscription.emitter.complete());
+    subscriptions.clear();
+  }
+
+  private void sendHeartbeat() {
+    for (var subscription : subscriptions) {
+      subscription.enqueue(SseEmitter.event().comment("keep-alive"));
+    }
+  }
+
+  /**
+   * One open stream with its view filter and queue of unsent events.
+   */
+  private final class Subscription {
+
+    private final SseEmitter emitter;
+    private final Set<UUID> personIds;
+    private final Set<UUID> entryIds;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(MAX_PENDING);
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private Subscription(SseEmitter emitter, Set<UUID> personIds, Set<UUID> entryIds) {
+      this.emitter = emitter;
+      this.personIds = Set.copyOf(personIds);
+      this.entryIds = Set.copyOf(entryIds);
+    }
+
+    /** Queues an event and starts the drain thread unless one is running. */
+    void enqueue(SseEmitter.SseEventBuilder event) {
+      if (!pending.offer(event)) {
+        // client does not keep up; it reconnects and reloads
+        subscriptions.remove(this);
+        pending.clear();
+        emitter.complete();
+        return;
+      }
+      if (draining.compareAndSet(false, true)) {
+        executor.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      do {
+        SseEmitter.SseEventBuilder event;
+        while ((event = pending.poll()) != null) {
+          try {
+            emitter.send(event);
+          } catch (IOException | IllegalStateException e) {
+            // client went away or the stream already completed
+            subscriptions.remove(this);
+            pending.clear();
+          }
+        }
+        draining.set(false);
+        // an event queued after the last poll but before the flag was reset is drained here
+      } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /** Builds the notice for this subscriber, or null when the change does not concern it. */
+    ChangeNotice notice(ReadViewsChangedEvent affected) {
+      var event = affected.change();
+      var kind = event.kind().table();
+      var ids = List.copyOf(event.ids());
+      if (affected.all()) {
+        return new ChangeNotice(kind, ids, event.deleted(), List.of(), List.of(), true);
+      }
+      if (personIds.isEmpty() && entryIds.isEmpty()) {
+        return new ChangeNotice(kind, ids, event.deleted(),
+            List.copyOf(affected.personIds()), List.copyOf(affected.entryIds()), false);
+      }
+      var persons = affected.personIds().stream().filter(personIds::contains).toList();
+      var entries = affected.entryIds().stream().filter(entryIds::contains).toList();
+      if (persons.isEmpty() && entries.isEmpty()) {
+        return null;
+      }
+      return new ChangeNotice(kind, ids, event.deleted(), persons, entries, false);
+    }
+  }
+}
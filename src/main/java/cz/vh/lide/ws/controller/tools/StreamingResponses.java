@@ -0,0 +1,132 @@
+package cz.vh.lide.ws.controller.tools;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Builds NDJSON streaming responses for unpaged list endpoints.
+ * <p>
+ * Items are written one JSON object per line while the source is iterated, so neither the
+ * rows nor the rendered body are collected in memory. Clients opt in with
+ * {@code Accept: application/x-ndjson}; the plain JSON array variants stay unchanged.
+ * <p>
+ * The body is written as an async request, bounded by {@code spring.mvc.async.request-timeout}
+ * ({@code MVC_ASYNC_TIMEOUT}, 30 min) like the dataset export; the container default (30 s) would
+ * truncate large lists without an error in the body.
+ */
+@Component
+public class StreamingResponses {
+
+  /** NDJSON media type used by the streaming list variants. */
+  public static final String NDJSON = "application/x-ndjson";
+
+  /** Rows read from a cursor between persistence context clears. */
+  private static final int CLEAR_INTERVAL = 500;
+
+  private final ObjectWriter writer;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Creates the helper with required dependencies.
+   *
+   * @param objectMapper application mapper used to render items
+   * @param entityManager JPA entity manager, cleared periodically while streaming cursors
+   * @param transactionManager transaction manager; cursors need an open transaction
+   */
+  public StreamingResponses(@NonNull ObjectMapper objectMapper,
+      @NonNull EntityManager entityManager,
+      @NonNull PlatformTransactionManager transactionManager) {
+    this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Streams items pushed by a source (typically a transactional service method) as NDJSON.
+   *
+   * @param source producer of the response items
+   * @param <T> item type
+   *
+   * @return streaming NDJSON response
+   */
+  @NonNull
+  public <T> ResponseEntity<StreamingResponseBody> ndjson(@NonNull ItemSource<T> source) {
+    StreamingResponseBody body = out -> {
+      try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        source.forEach(item -> {
+          try {
+            writer.writeValue(generator, item);
+            generator.writeRaw('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(NDJSON))
+        .body(body);
+  }
+
+  /**
+   * Streams the rows of a cursor-backed repository query as NDJSON. The query runs in a
+   * read-only transaction on the streaming thread and the persistence context is cleared every
+   * {@value #CLEAR_INTERVAL} rows.
+   *
+   * @param rows opens the repository stream
+   * @param mapper maps a row to its response item
+   * @param <E> entity type
+   * @param <T> item type
+   *
+   * @return streaming NDJSON response
+   */
+  @NonNull
+  public <E, T> ResponseEntity<StreamingResponseBody> ndjson(@NonNull Supplier<Stream<E>> rows,
+      @NonNull Function<E, T> mapper) {
+    return ndjson(sink -> transactionTemplate.executeWithoutResult(status -> {
+      try (var stream = rows.get()) {
+        var iterator = stream.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+          sink.accept(mapper.apply(iterator.next()));
+          if (++count % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+          }
+        }
+      }
+    }));
+  }
+
+  /**
+   * Producer of streamed items; pushes every item to the sink before returning.
+   *
+   * @param <T> item type
+   */
+  @FunctionalInterface
+  public interface ItemSource<T> {
+    void forEach(Consumer<T> sink);
+  }
+}
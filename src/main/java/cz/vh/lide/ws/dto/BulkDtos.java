@@ -0,0 +1,25 @@
+package cz.vh.lide.ws.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public final class BulkDtos {
+
+  private BulkDtos() {
+  }
+
+  public enum BulkStatus {
+    CREATED,
+    UPDATED,
+    FAILED
+  }
+
+  public record BulkItem<T>(UUID id, T data) {
+  }
+
+  public record BulkItemResult(int index, BulkStatus status, UUID id, String error) {
+  }
+
+  public record BulkResult(int created, int updated, int failed, List<BulkItemResult> items) {
+  }
+}
@@ -0,0 +1,34 @@
+package cz.vh.lide.ws.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class ChangeDtos {
+
+  private ChangeDtos() {
+  }
+
+  /**
+   * One changed row.
+   *
+   * @param type record type (table name, e.g. {@code person}, {@code person_tag})
+   * @param id row id
+   * @param operation {@code created}, {@code updated} or {@code deleted}
+   * @param updatedAt modification time the feed is ordered by
+   * @param data row fields in the export record format; null for deleted rows
+   */
+  public record Change(String type, UUID id, String operation, Instant updatedAt, Map<String, String> data) {
+  }
+
+  /**
+   * One page of the change feed.
+   *
+   * @param changes changes ordered by modification time
+   * @param next token to pass as {@code since} in the next request
+   * @param hasMore whether more changes are available right away
+   */
+  public record ChangeFeed(List<Change> changes, String next, boolean hasMore) {
+  }
+}
@@ -0,0 +1,24 @@
+package cz.vh.lide.ws.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public final class EventDtos {
+
+  private EventDtos() {
+  }
+
+  /**
+   * Committed change pushed to {@code /api/events} subscribers.
+   *
+   * @param kind changed record type (table name, e.g. {@code person}, {@code person_tag})
+   * @param ids changed row ids (empty for bulk imports)
+   * @param deleted whether the rows were soft-deleted
+   * @param personViews person read views ({@code /api/personread/{id}}) showing the changed rows
+   * @param entryViews entry detail views ({@code /api/entryread/{id}}) showing the changed rows
+   * @param all whether every view may have changed (bulk imports); reload everything
+   */
+  public record ChangeNotice(String kind, List<UUID> ids, boolean deleted,
+      List<UUID> personViews, List<UUID> entryViews, boolean all) {
+  }
+}
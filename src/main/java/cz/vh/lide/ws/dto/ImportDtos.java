@@ -0,0 +1,23 @@
+package cz.vh.lide.ws.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class ImportDtos {
+
+  private ImportDtos() {
+  }
+
+  public enum ImportState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  public record ImportJobView(UUID jobId, ImportState state, Instant startedAt, Instant finishedAt,
+      long recordsRead, long recordsSkipped, Map<String, Long> written, Map<String, Long> notWritten,
+      List<String> errors) {
+  }
+}
@@ -0,0 +1,12 @@
+package cz.vh.lide.ws.dto;
+
+import java.util.UUID;
+
+public final class SearchDtos {
+
+  private SearchDtos() {
+  }
+
+  public record SearchHit(String type, UUID id, String title, String snippet, double rank) {
+  }
+}
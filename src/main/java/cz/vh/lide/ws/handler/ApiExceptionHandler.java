@@ -1,6 +1,7 @@
 package cz.vh.lide.ws.handler;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,6 +24,16 @@ public class ApiExceptionHandler {
     return pd;
   }
 
+  @ExceptionHandler(QueryTimeoutException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ProblemDetail handleTimeout(QueryTimeoutException ex) {
+    ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+    pd.setTitle("Service Unavailable");
+    pd.setDetail(ex.getMessage());
+    pd.setType(Objects.requireNonNull(URI.create("https://example.local/problems/timeout")));
+    return pd;
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ProblemDetail handleBadRequest(IllegalArgumentException ex) {
     String msg = ex.getMessage() == null ? "" : ex.getMessage();
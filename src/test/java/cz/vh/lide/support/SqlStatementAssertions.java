@@ -0,0 +1,62 @@
+package cz.vh.lide.support;
+
+import cz.vh.lide.core.metrics.SqlStatementCounter;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Statement budget assertions for MockMvc tests: counts every JDBC statement a request executes
+ * (Hibernate and JdbcTemplate, including parallel read branches) with SqlStatementCounter.
+ * <p>
+ * Usage in a {@code @SpringBootTest @AutoConfigureMockMvc} test:
+ * <pre>{@code
+ * var sql = new SqlStatementAssertions(mockMvc, counter);
+ * sql.assertStatements(get("/api/persons?page=0&size=20"), 3).andExpect(status().isOk());
+ * }</pre>
+ */
+public final class SqlStatementAssertions {
+
+  /** Executions of one SQL text from which the failure message lists it as repeated (N+1 suspect). */
+  private static final int REPEAT_THRESHOLD = 2;
+
+  private final MockMvc mockMvc;
+  private final SqlStatementCounter counter;
+
+  /**
+   * Creates the helper.
+   *
+   * @param mockMvc MockMvc of the test context
+   * @param counter statement counter bean of the test context
+   */
+  public SqlStatementAssertions(@NonNull MockMvc mockMvc, @NonNull SqlStatementCounter counter) {
+    this.mockMvc = mockMvc;
+    this.counter = counter;
+  }
+
+  /**
+   * Performs the request and fails when it executes more than {@code max} statements.
+   *
+   * @param request request to perform
+   * @param max most statements allowed
+   *
+   * @return result actions for further expectations
+   *
+   * @throws AssertionError when the request exceeds the budget; the message lists repeated SQL
+   */
+  @NonNull
+  public ResultActions assertStatements(@NonNull RequestBuilder request, int max) throws Exception {
+    try (var scope = counter.open()) {
+      var result = mockMvc.perform(request);
+      if (scope.count() > max) {
+        throw new AssertionError("Expected at most %d SQL statements but %d were executed%s".formatted(
+            max, scope.count(), scope.repeated(REPEAT_THRESHOLD).stream()
+                .map(r -> r.count() + "x " + r.sql())
+                .collect(Collectors.joining("\n\t", "; repeated:\n\t", ""))));
+      }
+      return result;
+    }
+  }
+}
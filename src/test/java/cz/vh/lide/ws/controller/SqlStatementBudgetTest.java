@@ -0,0 +1,62 @@
+package cz.vh.lide.ws.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import cz.vh.lide.core.metrics.SqlStatementCounter;
+import cz.vh.lide.support.SqlStatementAssertions;
+import java.util.List;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * SQL statement budgets of the main read endpoints (same default budget as loadtest QueryBudgetCheck).
+ * Needs the PostgreSQL database of the dev profile, so it only runs when {@code DB_URL} is set.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "DB_URL", matches = ".+")
+class SqlStatementBudgetTest {
+
+  private static final int BUDGET = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private SqlStatementCounter counter;
+
+  private SqlStatementAssertions sql;
+
+  @BeforeEach
+  void setUp() {
+    sql = new SqlStatementAssertions(mockMvc, counter);
+  }
+
+  @Test
+  void listEndpointsStayWithinBudget() throws Exception {
+    for (var path : List.of("/api/persons?page=0&size=20", "/api/entries?page=0&size=20",
+        "/api/tags?page=0&size=20", "/api/media?page=0&size=20")) {
+      sql.assertStatements(get(path), BUDGET).andExpect(status().isOk());
+    }
+  }
+
+  @Test
+  void personEndpointsStayWithinBudget() throws Exception {
+    var body = mockMvc.perform(get("/api/persons?page=0&size=1")).andReturn().getResponse().getContentAsString();
+    List<String> ids = JsonPath.read(body, "$[*].id");
+    Assumptions.assumeFalse(ids.isEmpty(), "no persons in the database");
+
+    sql.assertStatements(get("/api/persons/" + ids.get(0)), BUDGET).andExpect(status().isOk());
+    sql.assertStatements(get("/api/personread/" + ids.get(0)), BUDGET).andExpect(status().isOk());
+    sql.assertStatements(get("/api/personstags/person/" + ids.get(0) + "/tags?page=0&size=20"), BUDGET)
+        .andExpect(status().isOk());
+  }
+}